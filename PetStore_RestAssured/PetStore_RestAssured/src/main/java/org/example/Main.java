@@ -1,17 +1,66 @@
 package org.example;
 
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import org.example.cache.ResponseCache;
+import org.example.client.ConnectionPool;
+import org.example.client.PetstoreClient;
+import org.example.load.LoadProfile;
+import org.example.load.LoadReport;
+import org.example.load.LoadRunner;
+import org.example.load.Scenarios;
+import org.example.seed.Seeder;
+import org.example.server.PetstoreServer;
+
+import java.util.Map;
+
+/**
+ * Load-runner entry point. Replays the functional scenarios against a Petstore at a target request rate, e.g.
+ * <pre>
+ * java org.example.Main --base-uri=http://localhost:8080/ --rate=500 --ramp-up=10 --duration=60 --mix=pet=5,order=3,user=2
+ * </pre>
+ * Without {@code --base-uri} the load goes to an in-process {@link PetstoreServer} started for the run.
+ * {@code --seed-users=N}, {@code --seed-pets=N} and {@code --seed-orders=N} first fill the store through the
+ * {@link Seeder}, with IDs from 3 billion up. {@code --cache-entries=N} puts a {@link ResponseCache} of that size in
+ * front of the {@code GET}s, e.g. for a read-heavy {@code --mix=find=9,pet=1}, and prints its hit rate at the end.
+ */
 public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = LoadRunner.parseArgs(args);
+        LoadProfile profile = LoadProfile.fromArgs(options, Scenarios.byName());
+        PetstoreServer embedded = options.containsKey("base-uri") ? null : PetstoreServer.start();
+        String baseUri = embedded == null ? options.get("base-uri") : embedded.baseUri();
+        try {
+            ResponseCache cache = new ResponseCache(Integer.parseInt(options.getOrDefault("cache-entries", "0")),
+                    Long.getLong(ResponseCache.MAX_BYTES_PROPERTY, 16 * 1024 * 1024), Long.getLong(ResponseCache.TTL_MILLIS_PROPERTY, 5000));
+            PetstoreClient client = new PetstoreClient(baseUri, ConnectionPool.shared().javaHttpClient(), cache);
+            seed(client, options);
+            System.out.printf("Running %.0f req/s against %s (ramp-up %ss, steady state %ss)%n",
+                    profile.requestsPerSecond(), baseUri, profile.rampUp().toSeconds(), profile.steadyState().toSeconds());
+            LoadReport report = new LoadRunner(client).run(profile);
+            report.print(System.out);
+            if (cache.enabled()) {
+                System.out.println(cache);
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+    private static void seed(PetstoreClient client, Map<String, String> options) {
+        long firstId = 3_000_000_000L;
+        int users = Integer.parseInt(options.getOrDefault("seed-users", "0"));
+        int pets = Integer.parseInt(options.getOrDefault("seed-pets", "0"));
+        int orders = Integer.parseInt(options.getOrDefault("seed-orders", "0"));
+        Seeder seeder = Seeder.fromSystemProperties(client);
+        if (users > 0) {
+            System.out.println(seeder.users(firstId, users));
+        }
+        if (pets > 0) {
+            System.out.println(seeder.pets(firstId, pets));
+        }
+        if (orders > 0) {
+            System.out.println(seeder.orders(firstId, orders, firstId, pets));
         }
     }
-}
\ No newline at end of file
+}
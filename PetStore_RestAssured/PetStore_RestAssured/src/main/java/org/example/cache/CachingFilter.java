@@ -0,0 +1,87 @@
+package org.example.cache;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.example.timing.EndpointTemplates;
+
+import java.util.Map;
+
+/**
+ * RestAssured filter in front of a {@link ResponseCache}: {@code GET}s are answered from the cache or revalidated,
+ * and every other request invalidates the resource family it writes to. It passes everything through when the
+ * cache is disabled. Add it first, before the {@code RequestTimer}, so the latency report only holds round-trips.
+ */
+public class CachingFilter implements Filter {
+
+    private static CachingFilter shared;
+
+    private final ResponseCache cache;
+
+    public CachingFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the filter over {@link ResponseCache#shared()}.
+     */
+    public static synchronized CachingFilter shared() {
+        if (shared == null) {
+            shared = new CachingFilter(ResponseCache.shared());
+        }
+        return shared;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        if (!cache.enabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String method = requestSpec.getMethod();
+        String path = EndpointTemplates.pathAndQuery(requestSpec);
+        if (!ResponseCache.cacheable(method)) {
+            try {
+                return ctx.next(requestSpec, responseSpec);
+            } finally {
+                cache.invalidate(path);
+            }
+        }
+
+        String key = ResponseCache.key(method, path);
+        ResponseCache.Entry entry = cache.fresh(key);
+        if (entry != null) {
+            return cached(entry, "cached");
+        }
+        long version = cache.version();
+        entry = cache.stale(key);
+        if (entry != null) {
+            for (Map.Entry<String, String> validator : entry.validators().entrySet()) {
+                requestSpec.header(validator.getKey(), validator.getValue());
+            }
+        }
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (entry != null && response.getStatusCode() == 304) {
+            cache.revalidated(entry);
+            return cached(entry, "revalidated");
+        }
+        cache.store(key, version, response.getStatusCode(), response::getHeader, response.asByteArray());
+        return response;
+    }
+
+    private static Response cached(ResponseCache.Entry entry, String how) {
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(200)
+                .setStatusLine("HTTP/1.1 200 OK")
+                .setHeaders(new Headers(new Header("X-Petstore-Cache", how)))
+                .setBody(entry.body());
+        if (entry.contentType() != null) {
+            builder.setContentType(entry.contentType());
+        }
+        return builder.build();
+    }
+}
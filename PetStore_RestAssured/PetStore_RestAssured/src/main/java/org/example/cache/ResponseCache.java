@@ -0,0 +1,316 @@
+package org.example.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Opt-in client-side cache for {@code GET} responses, shared by the RestAssured suites ({@link CachingFilter}) and
+ * the {@code PetstoreClient} of the load runner. Entries are keyed on method, path and query and hold the status,
+ * content type, body and validators of a {@code 200} response.
+ *
+ * <p>An entry is served without a round-trip while it is younger than the time-to-live (or the response's
+ * {@code Cache-Control: max-age}). After that it is revalidated with {@code If-None-Match} / {@code If-Modified-Since}
+ * when the response carried an {@code ETag} or {@code Last-Modified}; a {@code 304} refreshes it. Eviction is least
+ * recently used and bounded by both entry count and body bytes.
+ *
+ * <p>Any other method invalidates the whole resource family it writes to: {@code POST /pet} or {@code DELETE /pet/1}
+ * drop {@code /pet/1} as well as {@code /pet/findByStatus}. Pet writes also drop the {@code store} family, since
+ * {@code /store/inventory} counts pets by status. A response fetched while a write was in flight is not stored.
+ */
+public class ResponseCache {
+
+    public static final String ENABLED_PROPERTY = "petstore.cache.enabled";
+    public static final String MAX_ENTRIES_PROPERTY = "petstore.cache.maxEntries";
+    public static final String MAX_BYTES_PROPERTY = "petstore.cache.maxBytes";
+    public static final String TTL_MILLIS_PROPERTY = "petstore.cache.ttlMillis";
+
+    private static ResponseCache shared;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong writes = new AtomicLong();
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidated = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * A cached {@code 200} response.
+     */
+    public static final class Entry {
+        final String family;
+        final String contentType;
+        final byte[] body;
+        final String etag;
+        final String lastModified;
+        final long ttlNanos;
+        volatile long storedAt;
+
+        Entry(String family, String contentType, byte[] body, String etag, String lastModified, long ttlNanos) {
+            this.family = family;
+            this.contentType = contentType;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.ttlNanos = ttlNanos;
+            this.storedAt = System.nanoTime();
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public byte[] body() {
+            return body;
+        }
+
+        /**
+         * The conditional request headers that revalidate this entry; empty when it has no validators.
+         */
+        public Map<String, String> validators() {
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (etag != null) {
+                headers.put("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                headers.put("If-Modified-Since", lastModified);
+            }
+            return headers;
+        }
+
+        boolean fresh(long now) {
+            return now - storedAt < ttlNanos;
+        }
+    }
+
+    /**
+     * @param maxEntries how many responses are kept at most; 0 disables the cache
+     * @param maxBytes   cap on the body bytes of all kept responses
+     * @param ttlMillis  how long a response is served without revalidation, unless it says otherwise
+     */
+    public ResponseCache(int maxEntries, long maxBytes, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Creates a cache configured by the {@code petstore.cache.*} system properties. It is disabled unless
+     * {@code petstore.cache.enabled} is true, and defaults to 1024 entries, 16 MiB of bodies and a 5 second TTL.
+     */
+    public static ResponseCache fromSystemProperties() {
+        return new ResponseCache(
+                Boolean.getBoolean(ENABLED_PROPERTY) ? Integer.getInteger(MAX_ENTRIES_PROPERTY, 1024) : 0,
+                Long.getLong(MAX_BYTES_PROPERTY, 16 * 1024 * 1024),
+                Long.getLong(TTL_MILLIS_PROPERTY, 5000));
+    }
+
+    /**
+     * Returns the cache shared by all suites in this JVM. When it is enabled, its statistics are printed at exit.
+     */
+    public static synchronized ResponseCache shared() {
+        if (shared == null) {
+            shared = fromSystemProperties();
+            if (shared.enabled()) {
+                ResponseCache cache = shared;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(cache), "response-cache-stats"));
+            }
+        }
+        return shared;
+    }
+
+    public boolean enabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Whether responses to the method may be cached; every other method invalidates.
+     */
+    public static boolean cacheable(String method) {
+        return method.equals("GET");
+    }
+
+    /**
+     * @param pathAndQuery the path below the API's base path, with its raw query string if there is one
+     */
+    public static String key(String method, String pathAndQuery) {
+        return method + " " + pathAndQuery;
+    }
+
+    /**
+     * Returns the entry if it can be served without a round-trip, counting a hit; otherwise {@code null}.
+     */
+    public Entry fresh(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.fresh(System.nanoTime())) {
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Returns the expired entry that can be revalidated, or {@code null} if there is none with validators.
+     */
+    public synchronized Entry stale(String key) {
+        Entry entry = entries.get(key);
+        return entry == null || (entry.etag == null && entry.lastModified == null) ? null : entry;
+    }
+
+    /**
+     * The write count to pass to {@link #store}; read it before sending the request.
+     */
+    public long version() {
+        return writes.get();
+    }
+
+    /**
+     * Records that a {@code 304} confirmed the entry and makes it fresh again.
+     */
+    public void revalidated(Entry entry) {
+        entry.storedAt = System.nanoTime();
+        revalidated.increment();
+    }
+
+    /**
+     * Records a full response and keeps it if it is a cacheable {@code 200} and no write happened since
+     * {@code version}.
+     *
+     * @param headers looks up a response header by name, returning {@code null} when it is absent
+     */
+    public void store(String key, long version, int status, Function<String, String> headers, byte[] body) {
+        misses.increment();
+        if (!enabled() || status != 200 || body.length > maxBytes) {
+            return;
+        }
+        String cacheControl = headers.apply("Cache-Control");
+        long entryTtl = ttlNanos;
+        if (cacheControl != null) {
+            for (String directive : cacheControl.toLowerCase().split(",")) {
+                directive = directive.trim();
+                if (directive.equals("no-store") || directive.equals("private")) {
+                    return;
+                }
+                if (directive.equals("no-cache")) {
+                    entryTtl = 0;
+                } else if (directive.startsWith("max-age=")) {
+                    try {
+                        entryTtl = TimeUnit.SECONDS.toNanos(Long.parseLong(directive.substring(8)));
+                    } catch (NumberFormatException e) {
+                        entryTtl = 0;
+                    }
+                }
+            }
+        }
+        String etag = headers.apply("ETag");
+        String lastModified = headers.apply("Last-Modified");
+        if (entryTtl <= 0 && etag == null && lastModified == null) {
+            return;
+        }
+        Entry entry = new Entry(family(key), headers.apply("Content-Type"), body, etag, lastModified, entryTtl);
+        synchronized (this) {
+            if (writes.get() != version) {
+                return;
+            }
+            Entry previous = entries.put(key, entry);
+            bytes += body.length - (previous == null ? 0 : previous.body.length);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().body.length;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Drops every entry of the resource families a write to the path affects.
+     */
+    public void invalidate(String pathAndQuery) {
+        String family = family(pathAndQuery);
+        synchronized (this) {
+            writes.incrementAndGet();
+            Iterator<Entry> values = entries.values().iterator();
+            while (values.hasNext()) {
+                Entry entry = values.next();
+                if (entry.family.equals(family) || (family.equals("pet") && entry.family.equals("store"))) {
+                    bytes -= entry.body.length;
+                    values.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * The first path segment, e.g. {@code pet} for {@code /pet/findByStatus?status=sold}; keys work as well.
+     */
+    static String family(String path) {
+        int start = path.indexOf('/') + 1;
+        int end = start;
+        while (end < path.length() && path.charAt(end) != '/' && path.charAt(end) != '?') {
+            end++;
+        }
+        return path.substring(start, end);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Responses served from the cache without a round-trip.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Responses served from the cache after a {@code 304}: a round-trip without the body.
+     */
+    public long revalidations() {
+        return revalidated.sum();
+    }
+
+    /**
+     * Full responses fetched from the server.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long invalidations() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Share of cacheable requests that did not need a round-trip.
+     */
+    public double hitRatio() {
+        long total = hits() + revalidations() + misses();
+        return total == 0 ? 0 : (double) hits() / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Response cache: %d hits (%.1f%%), %d revalidated, %d misses, %d evictions, %d invalidations, %d entries",
+                hits(), hitRatio() * 100, revalidations(), misses(), evictions(), invalidations(), size());
+    }
+}
@@ -0,0 +1,341 @@
+package org.example.client;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.Filter;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.DefaultedHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.example.policy.RequestTimeouts;
+import org.example.timing.ExchangeTimings;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One keep-alive connection pool shared by every RestAssured request in the JVM, instead of RestAssured's default
+ * of a new client, and so new connections, per request. Connections per route and in total are bounded, idle ones
+ * are closed in the background, and the pool counts leases, waits and how many connections were created vs. reused.
+ *
+ * <p>RestAssured's transport (Apache HttpClient 4) only speaks HTTP/1.1. The {@code http2} setting applies to the
+ * {@link java.net.http.HttpClient} handed out by {@link #javaHttpClient()} for the {@link PetstoreClient} tooling. That
+ * client is built once per pool, so all tooling traffic shares its kept-alive connections; it manages them itself, so
+ * they are neither bounded nor counted by this pool.
+ *
+ * <p>Settings come from system properties: {@code petstore.pool.maxPerRoute} (default 32),
+ * {@code petstore.pool.maxTotal} (128), {@code petstore.pool.keepAliveSeconds} (5),
+ * {@code petstore.pool.idleSeconds} (10), {@code petstore.pool.http2} (false) and
+ * {@code petstore.pool.printMetrics} (false, prints the metrics when the JVM exits).
+ *
+ * <p>The client reports the DNS, connect and time-to-first-byte phases of every exchange to {@link ExchangeTimings},
+ * and applies the connect and read timeouts a {@code ClientPolicy} set in {@link RequestTimeouts}. The read timeout
+ * covers the status line and headers; the connection's own timeout is restored before the body is read.
+ */
+@SuppressWarnings("deprecation")
+public class ConnectionPool implements AutoCloseable {
+
+    private static final DnsResolver TIMED_DNS = host -> {
+        long start = System.nanoTime();
+        try {
+            return SystemDefaultDnsResolver.INSTANCE.resolve(host);
+        } finally {
+            ExchangeTimings.dns(System.nanoTime() - start);
+        }
+    };
+
+    private static ConnectionPool shared;
+
+    private final PoolingClientConnectionManager manager;
+    private final DefaultHttpClient httpClient;
+    private final RestAssuredConfig restAssuredConfig;
+    private final Filter releaseConnections = (requestSpec, responseSpec, ctx) -> {
+        Response response = ctx.next(requestSpec, responseSpec);
+        response.asByteArray();
+        return response;
+    };
+    private final ScheduledExecutorService evictor;
+    private final HttpClient javaHttpClient;
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+
+    /**
+     * @param keepAliveSeconds how long an idle connection is kept at most; a shorter {@code Keep-Alive: timeout} of the
+     *                         server wins. Keep it below the server's own idle timeout, or pooled connections are closed
+     *                         by the server while the pool still hands them out.
+     */
+    public ConnectionPool(int maxPerRoute, int maxTotal, long keepAliveSeconds, long idleSeconds, boolean http2) {
+        this.javaHttpClient = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.manager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault(), -1, TimeUnit.MILLISECONDS, TIMED_DNS) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+                return new TimedConnectionOperator(schemeRegistry);
+            }
+        };
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        manager.setMaxTotal(maxTotal);
+
+        HttpParams params = new BasicHttpParams();
+        HttpConnectionParams.setTcpNoDelay(params, true);
+        HttpConnectionParams.setStaleCheckingEnabled(params, true);
+        this.httpClient = new DefaultHttpClient(new CountingConnectionManager(), params) {
+            @Override
+            protected HttpRequestExecutor createRequestExecutor() {
+                return new TimedRequestExecutor();
+            }
+        };
+        // retries are the ClientPolicy's business, which budgets and counts them
+        httpClient.setHttpRequestRetryHandler(new DefaultHttpRequestRetryHandler(0, false));
+        long maxKeepAliveMillis = TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            long serverMillis = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverMillis > 0 ? Math.min(serverMillis, maxKeepAliveMillis) : maxKeepAliveMillis;
+        });
+        this.restAssuredConfig = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> httpClient));
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, idleSeconds / 2);
+        evictor.scheduleAtFixedRate(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the pool shared by all suites in this JVM, creating it from the system properties on first use.
+     */
+    public static synchronized ConnectionPool shared() {
+        if (shared == null) {
+            shared = new ConnectionPool(
+                    Integer.getInteger("petstore.pool.maxPerRoute", 32),
+                    Integer.getInteger("petstore.pool.maxTotal", 128),
+                    Long.getLong("petstore.pool.keepAliveSeconds", 5),
+                    Long.getLong("petstore.pool.idleSeconds", 10),
+                    Boolean.getBoolean("petstore.pool.http2"));
+            if (Boolean.getBoolean("petstore.pool.printMetrics")) {
+                ConnectionPool pool = shared;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(pool), "connection-pool-metrics"));
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * RestAssured configuration that sends every request through this pool; pass it to
+     * {@code RequestSpecBuilder.setConfig(...)} together with the {@link #releaseConnections()} filter.
+     */
+    public RestAssuredConfig restAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * Filter to add next to {@link #restAssuredConfig()}. It reads every response body to the end, which is what
+     * returns the connection to the pool: RestAssured reads bodies lazily, so a test that only checks the status
+     * code would otherwise keep its connection leased forever.
+     */
+    public Filter releaseConnections() {
+        return releaseConnections;
+    }
+
+    /**
+     * The JDK HTTP client of this pool for {@link PetstoreClient}, speaking HTTP/2 when the pool is configured for it.
+     * Every call returns the same instance.
+     */
+    public HttpClient javaHttpClient() {
+        return javaHttpClient;
+    }
+
+    public long leases() {
+        return leases.sum();
+    }
+
+    /**
+     * Leases that found every connection of their route busy and had to wait for one to be released.
+     */
+    public long waits() {
+        return waits.sum();
+    }
+
+    public long created() {
+        return created.sum();
+    }
+
+    public long reused() {
+        return reused.sum();
+    }
+
+    public PoolStats stats() {
+        return manager.getTotalStats();
+    }
+
+    @Override
+    public String toString() {
+        PoolStats stats = stats();
+        return String.format("Connection pool: %d leases, %d waits, %d connections created, %d reused (%d leased, %d available now)",
+                leases(), waits(), created(), reused(), stats.getLeased(), stats.getAvailable());
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        manager.shutdown();
+    }
+
+    /**
+     * Reports how long opening a new connection takes; DNS is reported separately by {@link #TIMED_DNS}.
+     */
+    private static final class TimedConnectionOperator extends DefaultClientConnectionOperator {
+
+        TimedConnectionOperator(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry, TIMED_DNS);
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local, HttpContext context, HttpParams params) throws IOException {
+            int connectMillis = RequestTimeouts.connectMillis();
+            if (connectMillis > 0) {
+                HttpParams timeout = new BasicHttpParams();
+                HttpConnectionParams.setConnectionTimeout(timeout, connectMillis);
+                params = new DefaultedHttpParams(timeout, params);
+            }
+            long start = System.nanoTime();
+            try {
+                super.openConnection(connection, target, local, context, params);
+            } finally {
+                ExchangeTimings.connect(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Applies the read timeout of the current exchange until the response status line and headers have been read,
+     * then restores the connection's own timeout so it does not leak to the next exchange on the pooled connection,
+     * and marks that moment.
+     */
+    private static final class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        public HttpResponse execute(HttpRequest request, HttpClientConnection connection, HttpContext context) throws IOException, HttpException {
+            int readMillis = RequestTimeouts.readMillis();
+            if (readMillis <= 0) {
+                return super.execute(request, connection, context);
+            }
+            int previous = connection.getSocketTimeout();
+            connection.setSocketTimeout(readMillis);
+            try {
+                return super.execute(request, connection, context);
+            } finally {
+                if (connection.isOpen()) {
+                    connection.setSocketTimeout(previous);
+                }
+            }
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection connection, HttpContext context) throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, connection, context);
+            ExchangeTimings.firstByte();
+            return response;
+        }
+    }
+
+    /**
+     * Delegates to the pooling manager while counting leases. RestAssured shuts down the connection manager of
+     * clients it considers its own; that is ignored here so the pool outlives every single request.
+     */
+    private final class CountingConnectionManager implements ClientConnectionManager {
+
+        @Override
+        public SchemeRegistry getSchemeRegistry() {
+            return manager.getSchemeRegistry();
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = manager.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit) throws InterruptedException, ConnectionPoolTimeoutException {
+                    PoolStats before = manager.getStats(route);
+                    if (before.getAvailable() == 0 && before.getLeased() >= before.getMax()) {
+                        waits.increment();
+                    }
+                    ManagedClientConnection connection = request.getConnection(timeout, unit);
+                    leases.increment();
+                    if (connection.isOpen()) {
+                        reused.increment();
+                    } else {
+                        created.increment();
+                    }
+                    return connection;
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection connection, long validDuration, TimeUnit unit) {
+            manager.releaseConnection(connection, validDuration, unit);
+        }
+
+        @Override
+        public void closeIdleConnections(long idleTime, TimeUnit unit) {
+            manager.closeIdleConnections(idleTime, unit);
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+            manager.closeExpiredConnections();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+    }
+}
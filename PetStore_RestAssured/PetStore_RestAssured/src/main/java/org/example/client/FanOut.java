@@ -0,0 +1,124 @@
+package org.example.client;
+
+import org.example.validation.ResponsePlan;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Non-blocking fan-out of one {@code GET} per element, e.g. {@code /pet/findByStatus} for every status, over
+ * {@link PetstoreClient#sendAsync}. At most {@code concurrency} requests are outstanding at a time: each completion
+ * starts the next request, so no thread waits for a permit. Every response is checked as it arrives and a failed
+ * check is recorded against its element rather than stopping the others; {@link FanOutResult#assertAllPassed()}
+ * then reports them all at once.
+ */
+public class FanOut {
+
+    public static final String CONCURRENCY_PROPERTY = "petstore.fanout.concurrency";
+
+    private final PetstoreClient client;
+    private final int concurrency;
+
+    public FanOut(PetstoreClient client, int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive, was " + concurrency);
+        }
+        this.client = client;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Creates a fan-out limited by the {@code petstore.fanout.concurrency} system property, 16 by default.
+     */
+    public static FanOut fromSystemProperties(PetstoreClient client) {
+        return new FanOut(client, Integer.getInteger(CONCURRENCY_PROPERTY, 16));
+    }
+
+    /**
+     * Checks every response against the plan, which must not expect any body values.
+     */
+    public <E> CompletableFuture<FanOutResult<E>> get(List<E> elements, Function<E, String> path, ResponsePlan plan) {
+        return get(elements, path, (element, response) -> plan.check(response.statusCode(), response.body()));
+    }
+
+    /**
+     * Sends {@code GET path(element)} for every element and runs the check on each response.
+     *
+     * @param check throws an {@link AssertionError} (or any other exception) when the element's response is wrong
+     * @return completes once every element has been checked; it never completes exceptionally
+     */
+    public <E> CompletableFuture<FanOutResult<E>> get(List<E> elements, Function<E, String> path, BiConsumer<E, HttpResponse<byte[]>> check) {
+        Run<E> run = new Run<>(elements, path, check);
+        if (elements.isEmpty()) {
+            run.done.complete(new FanOutResult<>(elements, run.failures, 0));
+        }
+        for (int lane = 0; lane < Math.min(concurrency, elements.size()); lane++) {
+            run.pump();
+        }
+        return run.done;
+    }
+
+    private final class Run<E> {
+        final List<E> elements;
+        final Function<E, String> path;
+        final BiConsumer<E, HttpResponse<byte[]>> check;
+        final Throwable[] failures;
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final CompletableFuture<FanOutResult<E>> done = new CompletableFuture<>();
+        final long start = System.nanoTime();
+
+        Run(List<E> elements, Function<E, String> path, BiConsumer<E, HttpResponse<byte[]>> check) {
+            this.elements = elements;
+            this.path = path;
+            this.check = check;
+            this.failures = new Throwable[elements.size()];
+        }
+
+        /**
+         * Starts requests until one is still in flight; its completion continues the lane. Responses that are
+         * already there are handled in the loop rather than by recursion.
+         */
+        void pump() {
+            while (true) {
+                int index = next.getAndIncrement();
+                if (index >= elements.size()) {
+                    return;
+                }
+                CompletableFuture<HttpResponse<byte[]>> response;
+                try {
+                    response = client.sendAsync("GET", path.apply(elements.get(index)), null, HttpResponse.BodyHandlers.ofByteArray());
+                } catch (RuntimeException e) {
+                    response = CompletableFuture.failedFuture(e);
+                }
+                if (!response.isDone()) {
+                    response.whenComplete((result, failure) -> {
+                        complete(index, result, failure);
+                        pump();
+                    });
+                    return;
+                }
+                response.whenComplete((result, failure) -> complete(index, result, failure));
+            }
+        }
+
+        void complete(int index, HttpResponse<byte[]> response, Throwable failure) {
+            if (failure == null) {
+                try {
+                    check.accept(elements.get(index), response);
+                } catch (AssertionError | RuntimeException e) {
+                    failure = e;
+                }
+            }
+            failures[index] = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (completed.incrementAndGet() == elements.size()) {
+                done.complete(new FanOutResult<>(elements, failures, System.nanoTime() - start));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.client;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a {@link FanOut}: which elements passed their check and why the others did not.
+ */
+public class FanOutResult<E> {
+
+    private final List<E> elements;
+    private final Throwable[] failures;
+    private final long elapsedNanos;
+
+    FanOutResult(List<E> elements, Throwable[] failures, long elapsedNanos) {
+        this.elements = elements;
+        this.failures = failures;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    /**
+     * The failed elements in request order, with what went wrong for each.
+     */
+    public Map<E, Throwable> failures() {
+        Map<E, Throwable> failed = new LinkedHashMap<>();
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                failed.put(elements.get(i), failures[i]);
+            }
+        }
+        return failed;
+    }
+
+    public boolean passed() {
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * @throws AssertionError naming every failed element and its failure, which are also attached as suppressed
+     */
+    public void assertAllPassed() {
+        Map<E, Throwable> failed = failures();
+        if (failed.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+                .append(failed.size()).append(" of ").append(elements.size()).append(" requests failed:");
+        failed.forEach((element, failure) -> message.append("\n  ").append(element).append(": ")
+                .append(String.valueOf(failure.getMessage()).replace("\n", "\n    ")));
+        AssertionError error = new AssertionError(message.toString());
+        failed.values().forEach(error::addSuppressed);
+        throw error;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests, %d failed, %d ms", elements.size(), failures().size(), elapsedMillis());
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.client;
+
+import org.example.cache.ResponseCache;
+import org.example.server.PetstoreServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Thin JSON client for the Petstore v3 API used by the tooling in this project (load runner, seeders, checkers).
+ * It is thread-safe and meant to be shared: one instance keeps one connection pool for all callers.
+ *
+ * <p>With an enabled {@link ResponseCache}, {@code GET}s through {@link #send} are answered from the cache or
+ * revalidated, and every write invalidates the resource family it touches.
+ */
+public class PetstoreClient {
+
+    private final HttpClient http;
+    private final String apiRoot;
+    private final ResponseCache cache;
+
+    public PetstoreClient(String baseUri) {
+        this(baseUri, HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build());
+    }
+
+    public PetstoreClient(String baseUri, HttpClient http) {
+        this(baseUri, http, new ResponseCache(0, 0, 0));
+    }
+
+    public PetstoreClient(String baseUri, HttpClient http, ResponseCache cache) {
+        this.http = http;
+        this.apiRoot = baseUri.replaceAll("/+$", "") + PetstoreServer.BASE_PATH;
+        this.cache = cache;
+    }
+
+    public HttpResponse<String> get(String path) {
+        return send("GET", path, null);
+    }
+
+    public HttpResponse<String> post(String path, String body) {
+        return send("POST", path, body);
+    }
+
+    public HttpResponse<String> put(String path, String body) {
+        return send("PUT", path, body);
+    }
+
+    public HttpResponse<String> delete(String path) {
+        return send("DELETE", path, null);
+    }
+
+    /**
+     * Sends a request to a path below {@code /api/v3} and returns the response with its body as a string.
+     *
+     * @throws UncheckedIOException if the request cannot be sent or the response cannot be read
+     */
+    public HttpResponse<String> send(String method, String path, String body) {
+        return send(method, path, body, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Like {@link #send(String, String, String)}, with the response body read by the given handler; use
+     * {@link HttpResponse.BodyHandlers#ofByteArray()} to validate the raw bytes without decoding them first.
+     */
+    public <T> HttpResponse<T> send(String method, String path, String body, HttpResponse.BodyHandler<T> handler) {
+        try {
+            if (cache.enabled()) {
+                return sendCached(method, path, body, handler);
+            }
+            return http.send(request(method, path, body), handler);
+        } catch (IOException e) {
+            throw new UncheckedIOException(method + " " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(method + " " + path + " was interrupted", e);
+        }
+    }
+
+    /**
+     * Sends a {@code GET} whose body is read from the socket as the caller consumes the stream, for large list
+     * responses; see {@code ArrayStream}. It bypasses the response cache, which would buffer the body. The caller
+     * must close the stream.
+     *
+     * @throws UncheckedIOException if the request cannot be sent
+     */
+    public HttpResponse<InputStream> stream(String path) {
+        try {
+            return http.send(request("GET", path, (String) null), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("GET " + path + " was interrupted", e);
+        }
+    }
+
+    private <T> HttpResponse<T> sendCached(String method, String path, String body, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HttpRequest request = request(method, path, body);
+        if (!ResponseCache.cacheable(method)) {
+            try {
+                return http.send(request, handler);
+            } finally {
+                cache.invalidate(path);
+            }
+        }
+        String key = ResponseCache.key(method, path);
+        ResponseCache.Entry entry = cache.fresh(key);
+        if (entry != null) {
+            return cached(request, entry, handler);
+        }
+        long version = cache.version();
+        entry = cache.stale(key);
+        HttpRequest.Builder conditional = HttpRequest.newBuilder(request, (name, value) -> true);
+        if (entry != null) {
+            entry.validators().forEach(conditional::header);
+        }
+        HttpResponse<byte[]> response = http.send(conditional.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (entry != null && response.statusCode() == 304) {
+            cache.revalidated(entry);
+            return cached(request, entry, handler);
+        }
+        cache.store(key, version, response.statusCode(), name -> response.headers().firstValue(name).orElse(null), response.body());
+        return BufferedResponse.of(request, response.statusCode(), response.headers(), response.body(), handler);
+    }
+
+    private static <T> HttpResponse<T> cached(HttpRequest request, ResponseCache.Entry entry, HttpResponse.BodyHandler<T> handler) {
+        Map<String, List<String>> headers = entry.contentType() == null
+                ? Map.of() : Map.of("Content-Type", List.of(entry.contentType()));
+        return BufferedResponse.of(request, 200, BufferedResponse.headers(headers), entry.body(), handler);
+    }
+
+    /**
+     * Sends a request with a body that is already encoded, without blocking the caller. Failures complete the
+     * future exceptionally. Writes invalidate the cache when they complete; reads bypass it.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(String method, String path, byte[] body, HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> response = http.sendAsync(request(method, path, body == null ? null : HttpRequest.BodyPublishers.ofByteArray(body)), handler);
+        if (!cache.enabled() || ResponseCache.cacheable(method)) {
+            return response;
+        }
+        return response.whenComplete((ignored, failure) -> cache.invalidate(path));
+    }
+
+    public HttpRequest request(String method, String path, String body) {
+        return request(method, path, body == null ? null : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest request(String method, String path, HttpRequest.BodyPublisher body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(apiRoot + path))
+                .header("Accept", "application/json");
+        if (body == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json").method(method, body);
+        }
+        return builder.build();
+    }
+
+    public HttpClient http() {
+        return http;
+    }
+
+    public ResponseCache cache() {
+        return cache;
+    }
+}
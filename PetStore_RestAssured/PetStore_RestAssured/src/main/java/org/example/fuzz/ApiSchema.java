@@ -0,0 +1,337 @@
+package org.example.fuzz;
+
+import org.example.json.Json;
+import org.example.timing.EndpointTemplates;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parts of an OpenAPI 3 document (JSON) the {@link CaseGenerator} needs: every operation with its path and query
+ * parameters and its JSON request body, and the schemas they point to, with {@code $ref}s resolved. Header, cookie
+ * and non-JSON bodies are ignored.
+ *
+ * <p>{@link #bundled()} reads the Petstore v3 excerpt shipped as {@code petstore-openapi.json}; {@link #load(String)}
+ * reads any other document, such as the one a backend serves at {@code /api/v3/openapi.json}.
+ */
+public final class ApiSchema {
+
+    public static final String BUNDLED = "/petstore-openapi.json";
+
+    private static final List<String> METHODS = List.of("get", "put", "post", "delete", "patch", "head", "options");
+
+    private final Map<?, ?> document;
+    private final List<Operation> operations = new ArrayList<>();
+
+    private ApiSchema(Map<?, ?> document) {
+        this.document = document;
+        Object paths = document.get("paths");
+        if (!(paths instanceof Map)) {
+            throw new IllegalArgumentException("OpenAPI document has no paths");
+        }
+        ((Map<?, ?>) paths).forEach((path, item) -> {
+            for (String method : METHODS) {
+                Object operation = ((Map<?, ?>) item).get(method);
+                if (operation instanceof Map) {
+                    operations.add(operation(method.toUpperCase(), (String) path, (Map<?, ?>) item, (Map<?, ?>) operation));
+                }
+            }
+        });
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not an OpenAPI document in JSON
+     */
+    public static ApiSchema parse(String json) {
+        Object document = Json.parse(json);
+        if (!(document instanceof Map)) {
+            throw new IllegalArgumentException("OpenAPI document is not a JSON object");
+        }
+        return new ApiSchema((Map<?, ?>) document);
+    }
+
+    public static ApiSchema bundled() {
+        try (InputStream in = ApiSchema.class.getResourceAsStream(BUNDLED)) {
+            if (in == null) {
+                throw new IllegalStateException(BUNDLED + " is not on the classpath");
+            }
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + BUNDLED, e);
+        }
+    }
+
+    /**
+     * Reads the document from an {@code http(s)} URL or a file.
+     */
+    public static ApiSchema load(String location) {
+        try {
+            if (location.startsWith("http://") || location.startsWith("https://")) {
+                HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(location)).build(),
+                        HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("GET " + location + " answered " + response.statusCode());
+                }
+                return parse(response.body());
+            }
+            return parse(Files.readString(Path.of(location)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the OpenAPI document " + location, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reading " + location + " was interrupted", e);
+        }
+    }
+
+    public List<Operation> operations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    /**
+     * The operations whose path starts with one of the prefixes, e.g. {@code "/pet"}.
+     */
+    public List<Operation> operations(String... pathPrefixes) {
+        List<Operation> matching = new ArrayList<>();
+        for (Operation operation : operations) {
+            for (String prefix : pathPrefixes) {
+                if (operation.path().startsWith(prefix)) {
+                    matching.add(operation);
+                    break;
+                }
+            }
+        }
+        return matching;
+    }
+
+    private Operation operation(String method, String path, Map<?, ?> item, Map<?, ?> operation) {
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        for (Object list : new Object[]{item.get("parameters"), operation.get("parameters")}) {
+            if (list instanceof List) {
+                for (Object raw : (List<?>) list) {
+                    Map<?, ?> parameter = resolve(raw);
+                    String in = String.valueOf(parameter.get("in"));
+                    if (in.equals("path") || in.equals("query")) {
+                        String name = String.valueOf(parameter.get("name"));
+                        parameters.put(name, new Parameter(name, in, Boolean.TRUE.equals(parameter.get("required")) || in.equals("path"),
+                                node(parameter.get("schema"))));
+                    }
+                }
+            }
+        }
+        Node body = null;
+        Object content = resolve(operation.get("requestBody")).get("content");
+        if (content instanceof Map && ((Map<?, ?>) content).get("application/json") instanceof Map) {
+            body = node(((Map<?, ?>) ((Map<?, ?>) content).get("application/json")).get("schema"));
+        }
+        return new Operation(method, path, List.copyOf(parameters.values()), body);
+    }
+
+    private Node node(Object schema) {
+        String name = null;
+        if (schema instanceof Map && ((Map<?, ?>) schema).get("$ref") instanceof String) {
+            String ref = (String) ((Map<?, ?>) schema).get("$ref");
+            name = ref.substring(ref.lastIndexOf('/') + 1);
+        }
+        return new Node(name, resolve(schema));
+    }
+
+    /**
+     * Follows {@code $ref}s within the document; anything that is not an object resolves to an empty one.
+     */
+    private Map<?, ?> resolve(Object value) {
+        int hops = 0;
+        while (value instanceof Map && ((Map<?, ?>) value).get("$ref") instanceof String) {
+            String ref = (String) ((Map<?, ?>) value).get("$ref");
+            if (!ref.startsWith("#/") || ++hops > 32) {
+                throw new IllegalArgumentException("Unsupported $ref '" + ref + "'");
+            }
+            value = document;
+            for (String step : ref.substring(2).split("/")) {
+                value = value instanceof Map ? ((Map<?, ?>) value).get(step.replace("~1", "/").replace("~0", "~")) : null;
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("Unresolved $ref '" + ref + "'");
+            }
+        }
+        return value instanceof Map ? (Map<?, ?>) value : Map.of();
+    }
+
+    /**
+     * One operation, such as {@code POST /pet}.
+     */
+    public static final class Operation {
+        private final String method;
+        private final String path;
+        private final List<Parameter> parameters;
+        private final Node body;
+
+        Operation(String method, String path, List<Parameter> parameters, Node body) {
+            this.method = method;
+            this.path = path;
+            this.parameters = parameters;
+            this.body = body;
+        }
+
+        public String method() {
+            return method;
+        }
+
+        /**
+         * The path as written in the document, e.g. {@code /pet/{petId}}.
+         */
+        public String path() {
+            return path;
+        }
+
+        public List<Parameter> parameters() {
+            return parameters;
+        }
+
+        /**
+         * The schema of the JSON request body, or {@code null} when the operation takes none.
+         */
+        public Node body() {
+            return body;
+        }
+
+        /**
+         * The endpoint template the latency reports use, e.g. {@code GET /pet/{id}}.
+         */
+        public String endpoint() {
+            return EndpointTemplates.of(method, path);
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+    }
+
+    /**
+     * A path or query parameter.
+     */
+    public static final class Parameter {
+        private final String name;
+        private final String in;
+        private final boolean required;
+        private final Node schema;
+
+        Parameter(String name, String in, boolean required, Node schema) {
+            this.name = name;
+            this.in = in;
+            this.required = required;
+            this.schema = schema;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public boolean inPath() {
+            return in.equals("path");
+        }
+
+        public boolean required() {
+            return required;
+        }
+
+        public Node schema() {
+            return schema;
+        }
+    }
+
+    /**
+     * A schema with its {@code $ref}s resolved on demand.
+     */
+    public final class Node {
+        private final String name;
+        private final Map<?, ?> schema;
+
+        Node(String name, Map<?, ?> schema) {
+            this.name = name;
+            this.schema = schema;
+        }
+
+        /**
+         * The name of the component schema it was referenced as, e.g. {@code Pet}, or {@code null}.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * {@code object}, {@code array}, {@code string}, {@code integer}, {@code number} or {@code boolean}; a schema
+         * without a type is an object if it has properties and a string otherwise.
+         */
+        public String type() {
+            Object type = schema.get("type");
+            if (type instanceof String) {
+                return (String) type;
+            }
+            return schema.get("properties") instanceof Map ? "object" : "string";
+        }
+
+        public String format() {
+            Object format = schema.get("format");
+            return format instanceof String ? (String) format : "";
+        }
+
+        public List<?> enumValues() {
+            Object values = schema.get("enum");
+            return values instanceof List ? (List<?>) values : List.of();
+        }
+
+        public Map<String, Node> properties() {
+            Map<String, Node> properties = new LinkedHashMap<>();
+            Object raw = schema.get("properties");
+            if (raw instanceof Map) {
+                ((Map<?, ?>) raw).forEach((name, property) -> properties.put(String.valueOf(name), node(property)));
+            }
+            return properties;
+        }
+
+        public Set<String> required() {
+            Set<String> required = new LinkedHashSet<>();
+            Object raw = schema.get("required");
+            if (raw instanceof List) {
+                ((List<?>) raw).forEach(name -> required.add(String.valueOf(name)));
+            }
+            return required;
+        }
+
+        /**
+         * The schema of the elements of an array.
+         */
+        public Node items() {
+            return node(schema.get("items"));
+        }
+
+        /**
+         * {@code maxItems} of an array, or {@link Integer#MAX_VALUE} when it has none.
+         */
+        public int maxItems() {
+            Object max = schema.get("maxItems");
+            return max instanceof Number ? ((Number) max).intValue() : Integer.MAX_VALUE;
+        }
+
+        public int minItems() {
+            Object min = schema.get("minItems");
+            return min instanceof Number ? ((Number) min).intValue() : 0;
+        }
+    }
+}
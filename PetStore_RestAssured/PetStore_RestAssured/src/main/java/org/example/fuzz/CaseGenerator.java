@@ -0,0 +1,464 @@
+package org.example.fuzz;
+
+import org.example.json.Json;
+
+import java.math.BigInteger;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Derives negative and boundary cases from an {@link ApiSchema}. For every operation it builds a catalog of single
+ * mutations of a valid request: each body field missing, of every wrong JSON type, at the integer boundaries, with an
+ * out-of-enum value or a malformed date, arrays empty and oversized, the body truncated or not an object, and the same
+ * for the path and query parameters. Every mutation knows whether the mutated request still conforms to the schema.
+ *
+ * <p>{@link #next()} cycles through the catalog, applying each mutation to a freshly generated valid request with new
+ * IDs and values, so any number of cases can be drawn while equivalent cases keep the same mutation label. Operations
+ * whose body is not a JSON object ({@code /user/createWithList}) are left out: an accepted list creates users no case
+ * could clean up. A generator is not thread-safe.
+ */
+public final class CaseGenerator {
+
+    public static final String SEED_PROPERTY = "petstore.fuzz.seed";
+    public static final String ARRAY_SIZE_PROPERTY = "petstore.fuzz.arraySize";
+
+    private static final String[] MALFORMED_DATES = {
+            "date only", "2021-07-01",
+            "no offset", "2021-07-01T12:00:00",
+            "month 13", "2021-13-01T12:00:00Z",
+            "hour 25", "2021-07-01T25:00:00Z",
+            "February 30", "2021-02-30T12:00:00Z",
+            "US format", "07/01/2021 12:00",
+            "truncated", "2021-07-01T1",
+            "text", "tomorrow",
+            "empty", ""
+    };
+    private static final String[] BOUNDARY_DATES = {"epoch", "1970-01-01T00:00:00Z", "year 9999", "9999-12-31T23:59:59.999Z"};
+    private static final long DATE_BASE = Instant.parse("2021-07-01T00:00:00Z").getEpochSecond();
+    private static final int MAX_DEPTH = 3;
+
+    private final List<Mutation> catalog = new ArrayList<>();
+    private final LongSupplier ids;
+    private final SplittableRandom random;
+    private final int arraySize;
+    private long generated;
+
+    /**
+     * One change to a valid request of one operation.
+     */
+    private static final class Mutation {
+        final ApiSchema.Operation operation;
+        final String label;
+        final boolean valid;
+        final Consumer<Draft> change;
+        final String[] cleanup;
+
+        Mutation(ApiSchema.Operation operation, String label, boolean valid, Consumer<Draft> change, String[] cleanup) {
+            this.operation = operation;
+            this.label = label;
+            this.valid = valid;
+            this.change = change;
+            this.cleanup = cleanup;
+        }
+    }
+
+    /**
+     * A request being built: the body as a JSON tree, or a raw body replacing it, and the parameter values.
+     */
+    private static final class Draft {
+        Object body;
+        String rawBody;
+        final Map<String, List<String>> parameters = new LinkedHashMap<>();
+    }
+
+    /**
+     * @param schema     the whole schema, to find where accepted creates are deleted
+     * @param operations the operations to fuzz, e.g. {@code schema.operations("/pet")}
+     * @param ids        the IDs of generated entities, which must not collide with anyone else's
+     * @param arraySize  the length of oversized arrays
+     */
+    public CaseGenerator(ApiSchema schema, List<ApiSchema.Operation> operations, LongSupplier ids, long seed, int arraySize) {
+        this.ids = ids;
+        this.random = new SplittableRandom(seed);
+        this.arraySize = arraySize;
+        for (ApiSchema.Operation operation : operations) {
+            ApiSchema.Node body = operation.body();
+            if (body != null && !body.type().equals("object")) {
+                continue;
+            }
+            String[] cleanup = cleanup(schema, operation);
+            List<Mutation> mutations = new ArrayList<>();
+            Catalog add = (label, valid, change) -> mutations.add(new Mutation(operation, label, valid, change, cleanup));
+            add.add("valid request", true, draft -> {
+            });
+            if (body != null) {
+                objectMutations(add, body, new ArrayList<>(), 0);
+                add.add("malformed body: truncated JSON", false, draft -> {
+                    String json = Json.write(draft.body);
+                    draft.rawBody = json.substring(0, json.length() / 2);
+                });
+                add.add("malformed body: array instead of object", false, draft -> draft.rawBody = "[" + Json.write(draft.body) + "]");
+                add.add("malformed body: string instead of object", false, draft -> draft.rawBody = "\"fuzz\"");
+                add.add("malformed body: null", false, draft -> draft.rawBody = "null");
+                add.add("malformed body: empty", false, draft -> draft.rawBody = "");
+            }
+            for (ApiSchema.Parameter parameter : operation.parameters()) {
+                parameterMutations(add, parameter);
+            }
+            catalog.addAll(mutations);
+        }
+        if (catalog.isEmpty()) {
+            throw new IllegalArgumentException("No operation to fuzz");
+        }
+    }
+
+    /**
+     * Creates a generator with the {@code petstore.fuzz.seed} (42 by default) and {@code petstore.fuzz.arraySize}
+     * (1000 by default) system properties.
+     */
+    public static CaseGenerator fromSystemProperties(ApiSchema schema, List<ApiSchema.Operation> operations, LongSupplier ids) {
+        return new CaseGenerator(schema, operations, ids, Long.getLong(SEED_PROPERTY, 42), Integer.getInteger(ARRAY_SIZE_PROPERTY, 1000));
+    }
+
+    @FunctionalInterface
+    private interface Catalog {
+        void add(String label, boolean valid, Consumer<Draft> change);
+    }
+
+    /**
+     * How many distinct mutations the catalog holds.
+     */
+    public int mutations() {
+        return catalog.size();
+    }
+
+    /**
+     * The next case: the next mutation of the catalog applied to a new valid request.
+     */
+    public FuzzCase next() {
+        Mutation mutation = catalog.get((int) (generated++ % catalog.size()));
+        ApiSchema.Operation operation = mutation.operation;
+        Draft draft = new Draft();
+        if (operation.body() != null) {
+            draft.body = value(operation.body(), "");
+        }
+        for (ApiSchema.Parameter parameter : operation.parameters()) {
+            draft.parameters.put(parameter.name(), parameterValue(parameter));
+        }
+        mutation.change.accept(draft);
+        String body = operation.body() == null ? null : draft.rawBody != null ? draft.rawBody : Json.write(draft.body);
+        String[] cleanup = mutation.cleanup;
+        return new FuzzCase(operation.endpoint(), mutation.label, mutation.valid, operation.method(), path(operation, draft.parameters),
+                body, cleanup == null ? null : cleanup[0], cleanup == null ? null : cleanup[1]);
+    }
+
+    private void objectMutations(Catalog add, ApiSchema.Node object, List<Object> path, int depth) {
+        for (Map.Entry<String, ApiSchema.Node> property : object.properties().entrySet()) {
+            List<Object> at = append(path, property.getKey());
+            String label = label(at);
+            add.add("missing " + label, !object.required().contains(property.getKey()), draft -> remove(draft.body, at));
+            fieldMutations(add, property.getValue(), at, label, depth);
+        }
+    }
+
+    private void fieldMutations(Catalog add, ApiSchema.Node field, List<Object> at, String label, int depth) {
+        String type = field.type();
+        Object[] wrong = {"string", "fuzz", "integer", 42L, "number", 1.5, "boolean", true, "array", List.of("fuzz"), "object", Map.of("fuzz", 1L)};
+        for (int i = 0; i < wrong.length; i += 2) {
+            String kind = (String) wrong[i];
+            boolean compatible = kind.equals(type) || (type.equals("number") && kind.equals("integer"));
+            if (!compatible) {
+                Object value = wrong[i + 1];
+                add.add("wrong type " + label + ": " + kind, false, draft -> set(draft.body, at, value));
+            }
+        }
+        switch (type) {
+            case "integer":
+                boolean int32 = field.format().equals("int32");
+                Object[] boundaries = int32
+                        ? new Object[]{"zero", 0L, "minus one", -1L, "max int32", (long) Integer.MAX_VALUE, "min int32", (long) Integer.MIN_VALUE}
+                        : new Object[]{"zero", 0L, "minus one", -1L, "max int64", Long.MAX_VALUE, "min int64", Long.MIN_VALUE};
+                for (int i = 0; i < boundaries.length; i += 2) {
+                    Object value = boundaries[i + 1];
+                    add.add("boundary " + label + ": " + boundaries[i], true, draft -> set(draft.body, at, value));
+                }
+                Object overflow = int32 ? (Object) ((long) Integer.MAX_VALUE + 1) : BigInteger.ONE.shiftLeft(63);
+                add.add("boundary " + label + ": " + (int32 ? "int32" : "int64") + " overflow", false, draft -> set(draft.body, at, overflow));
+                break;
+            case "string":
+                stringMutations(add, field, label, false, value -> draft -> set(draft.body, at, value));
+                break;
+            case "array":
+                ApiSchema.Node items = field.items();
+                add.add("empty array " + label, field.minItems() == 0, draft -> set(draft.body, at, new ArrayList<>()));
+                add.add("oversized array " + label + ": " + arraySize + " elements", arraySize <= field.maxItems(), draft -> {
+                    List<Object> oversized = new ArrayList<>(arraySize);
+                    for (int i = 0; i < arraySize; i++) {
+                        oversized.add(value(items, String.valueOf(at.get(at.size() - 1))));
+                    }
+                    set(draft.body, at, oversized);
+                });
+                add.add("null element in " + label, false, draft -> {
+                    List<Object> withNull = new ArrayList<>();
+                    withNull.add(null);
+                    set(draft.body, at, withNull);
+                });
+                if (depth < MAX_DEPTH) {
+                    List<Object> first = append(at, 0);
+                    if (items.type().equals("object")) {
+                        objectMutations(add, items, first, depth + 1);
+                    } else {
+                        fieldMutations(add, items, first, label(first), depth + 1);
+                    }
+                }
+                break;
+            case "object":
+                if (depth < MAX_DEPTH) {
+                    objectMutations(add, field, at, depth + 1);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Enum violations, malformed and boundary dates, or empty, long and non-ASCII text, depending on the string's
+     * schema. Path parameters get no empty value, which would route the request elsewhere.
+     */
+    private void stringMutations(Catalog add, ApiSchema.Node field, String label, boolean inPath, java.util.function.Function<Object, Consumer<Draft>> setter) {
+        List<?> values = field.enumValues();
+        if (!values.isEmpty()) {
+            add.add("unknown enum value " + label, false, setter.apply("fuzz-unknown"));
+            String upper = String.valueOf(values.get(0)).toUpperCase(Locale.ROOT);
+            if (!values.contains(upper)) {
+                add.add("wrong case enum value " + label, false, setter.apply(upper));
+            }
+            if (!inPath) {
+                add.add("empty enum value " + label, false, setter.apply(""));
+            }
+        } else if (field.format().equals("date-time")) {
+            for (int i = 0; i < MALFORMED_DATES.length; i += 2) {
+                add.add("malformed date " + label + ": " + MALFORMED_DATES[i], false, setter.apply(MALFORMED_DATES[i + 1]));
+            }
+            for (int i = 0; i < BOUNDARY_DATES.length; i += 2) {
+                add.add("boundary date " + label + ": " + BOUNDARY_DATES[i], true, setter.apply(BOUNDARY_DATES[i + 1]));
+            }
+        } else {
+            if (!inPath) {
+                add.add("empty string " + label, true, setter.apply(""));
+            }
+            add.add("long string " + label, true, setter.apply("x".repeat(2048)));
+            add.add("non-ASCII string " + label, true, setter.apply("Zoë ✓ 犬"));
+        }
+    }
+
+    private void parameterMutations(Catalog add, ApiSchema.Parameter parameter) {
+        String name = parameter.name();
+        String label = (parameter.inPath() ? "path " : "query ") + name;
+        ApiSchema.Node schema = parameter.schema();
+        if (!parameter.inPath()) {
+            add.add("missing " + label, !parameter.required(), draft -> draft.parameters.remove(name));
+        }
+        switch (schema.type()) {
+            case "integer":
+            case "number":
+                boolean integral = schema.type().equals("integer");
+                add.add("wrong type " + label + ": text", false, parameter(name, "fuzz"));
+                if (integral) {
+                    add.add("wrong type " + label + ": decimal", false, parameter(name, "1.5"));
+                    add.add("boundary " + label + ": zero", true, parameter(name, "0"));
+                    add.add("boundary " + label + ": minus one", true, parameter(name, "-1"));
+                    add.add("boundary " + label + ": max int64", true, parameter(name, String.valueOf(Long.MAX_VALUE)));
+                    add.add("boundary " + label + ": min int64", true, parameter(name, String.valueOf(Long.MIN_VALUE)));
+                    add.add("boundary " + label + ": int64 overflow", false, parameter(name, BigInteger.ONE.shiftLeft(63).toString()));
+                }
+                break;
+            case "boolean":
+                add.add("wrong type " + label + ": text", false, parameter(name, "fuzz"));
+                break;
+            case "array":
+                ApiSchema.Node items = schema.items();
+                add.add("oversized array " + label + ": " + arraySize + " values", arraySize <= schema.maxItems(), draft -> {
+                    List<String> values = new ArrayList<>(arraySize);
+                    for (int i = 0; i < arraySize; i++) {
+                        values.add(String.valueOf(value(items, name)));
+                    }
+                    draft.parameters.put(name, values);
+                });
+                if (items.type().equals("string")) {
+                    stringMutations(add, items, label + " value", false, value -> parameter(name, String.valueOf(value)));
+                }
+                break;
+            default:
+                stringMutations(add, schema, label, parameter.inPath(), value -> parameter(name, String.valueOf(value)));
+                break;
+        }
+    }
+
+    private static Consumer<Draft> parameter(String name, String value) {
+        return draft -> draft.parameters.put(name, List.of(value));
+    }
+
+    /**
+     * The {@code DELETE} path prefix and response field that undo an accepted create of the operation, e.g.
+     * {@code /pet/} and {@code id} for {@code POST /pet}, or {@code null}.
+     */
+    private static String[] cleanup(ApiSchema schema, ApiSchema.Operation operation) {
+        if (!operation.method().equals("POST") || operation.body() == null) {
+            return null;
+        }
+        for (ApiSchema.Operation candidate : schema.operations()) {
+            String path = candidate.path();
+            if (candidate.method().equals("DELETE") && path.startsWith(operation.path() + "/{") && path.endsWith("}")
+                    && path.indexOf('/', operation.path().length() + 1) < 0) {
+                String parameter = path.substring(operation.path().length() + 2, path.length() - 1);
+                String field = operation.body().properties().containsKey(parameter) ? parameter : "id";
+                return new String[]{operation.path() + "/", field};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A valid value for the schema. Integer fields named {@code id} or {@code ...Id} get a fresh ID; usernames and
+     * emails are made unique with one as well. Enums always take their first value, e.g. {@code placed} for an order,
+     * so accepted creates never touch the other status totals of {@code /store/inventory} that suites pin.
+     */
+    private Object value(ApiSchema.Node node, String field) {
+        switch (node.type()) {
+            case "object":
+                Map<String, Object> object = new LinkedHashMap<>();
+                node.properties().forEach((name, property) -> object.put(name, value(property, name)));
+                return object;
+            case "array":
+                List<Object> array = new ArrayList<>();
+                int size = Math.max(1, node.minItems()) + random.nextInt(2);
+                for (int i = 0; i < size; i++) {
+                    array.add(value(node.items(), field));
+                }
+                return array;
+            case "integer":
+                return field.equals("id") || field.endsWith("Id") ? ids.getAsLong() : 1L + random.nextInt(10);
+            case "number":
+                return random.nextInt(1000) / 10.0;
+            case "boolean":
+                return random.nextBoolean();
+            default:
+                List<?> values = node.enumValues();
+                if (!values.isEmpty()) {
+                    return values.get(0);
+                }
+                if (node.format().equals("date-time")) {
+                    return Instant.ofEpochSecond(DATE_BASE + random.nextInt(365 * 24 * 3600)).toString();
+                }
+                if (field.equals("username")) {
+                    return "fuzz" + ids.getAsLong();
+                }
+                if (field.equals("email")) {
+                    return "fuzz" + ids.getAsLong() + "@example.org";
+                }
+                if (field.equals("photoUrls")) {
+                    return "https://example.org/fuzz/" + random.nextInt(1_000_000) + ".png";
+                }
+                return "fuzz-" + Long.toHexString(random.nextLong());
+        }
+    }
+
+    private List<String> parameterValue(ApiSchema.Parameter parameter) {
+        ApiSchema.Node schema = parameter.schema();
+        if (schema.type().equals("array")) {
+            List<String> values = new ArrayList<>();
+            for (Object value : (List<?>) value(schema, parameter.name())) {
+                values.add(String.valueOf(value));
+            }
+            return values;
+        }
+        String name = parameter.name();
+        if (schema.type().equals("integer") && name.toLowerCase(Locale.ROOT).endsWith("id")) {
+            return List.of(String.valueOf(ids.getAsLong()));
+        }
+        return List.of(String.valueOf(value(schema, name)));
+    }
+
+    private static String path(ApiSchema.Operation operation, Map<String, List<String>> parameters) {
+        String path = operation.path();
+        StringBuilder query = new StringBuilder();
+        for (ApiSchema.Parameter parameter : operation.parameters()) {
+            List<String> values = parameters.get(parameter.name());
+            if (values == null) {
+                continue;
+            }
+            if (parameter.inPath()) {
+                path = path.replace("{" + parameter.name() + "}", URLEncoder.encode(values.get(0), StandardCharsets.UTF_8).replace("+", "%20"));
+            } else {
+                for (String value : values) {
+                    query.append(query.length() == 0 ? '?' : '&')
+                            .append(parameter.name()).append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return path + query;
+    }
+
+    private static String label(List<Object> path) {
+        StringBuilder label = new StringBuilder();
+        for (Object step : path) {
+            if (step instanceof Integer) {
+                label.append('[').append(step).append(']');
+            } else {
+                label.append(label.length() == 0 ? "" : ".").append(step);
+            }
+        }
+        return label.toString();
+    }
+
+    private static List<Object> append(List<Object> path, Object step) {
+        List<Object> longer = new ArrayList<>(path);
+        longer.add(step);
+        return longer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void set(Object tree, List<Object> path, Object value) {
+        Object parent = parent(tree, path);
+        Object last = path.get(path.size() - 1);
+        if (parent instanceof Map) {
+            ((Map<String, Object>) parent).put((String) last, value);
+        } else if (parent instanceof List && (Integer) last < ((List<?>) parent).size()) {
+            ((List<Object>) parent).set((Integer) last, value);
+        }
+    }
+
+    private static void remove(Object tree, List<Object> path) {
+        Object parent = parent(tree, path);
+        Object last = path.get(path.size() - 1);
+        if (parent instanceof Map) {
+            ((Map<?, ?>) parent).remove(last);
+        } else if (parent instanceof List && (Integer) last < ((List<?>) parent).size()) {
+            ((List<?>) parent).remove((int) (Integer) last);
+        }
+    }
+
+    private static Object parent(Object tree, List<Object> path) {
+        Object current = tree;
+        for (int i = 0; i < path.size() - 1 && current != null; i++) {
+            Object step = path.get(i);
+            if (step instanceof Integer) {
+                current = current instanceof List && (Integer) step < ((List<?>) current).size() ? ((List<?>) current).get((Integer) step) : null;
+            } else {
+                current = current instanceof Map ? ((Map<?, ?>) current).get(step) : null;
+            }
+        }
+        return current;
+    }
+}
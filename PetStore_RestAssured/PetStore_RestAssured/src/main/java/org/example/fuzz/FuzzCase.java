@@ -0,0 +1,86 @@
+package org.example.fuzz;
+
+/**
+ * One generated request: an operation of the schema with one mutation applied to an otherwise valid request, and
+ * whether the result still conforms to the schema. A backend may accept or reject a conforming request, but must
+ * reject one that does not with a 4xx, and must answer every request without a 5xx.
+ */
+public final class FuzzCase {
+
+    private final String endpoint;
+    private final String mutation;
+    private final boolean valid;
+    private final String method;
+    private final String path;
+    private final String body;
+    private final String cleanupPath;
+    private final String cleanupField;
+
+    FuzzCase(String endpoint, String mutation, boolean valid, String method, String path, String body, String cleanupPath, String cleanupField) {
+        this.endpoint = endpoint;
+        this.mutation = mutation;
+        this.valid = valid;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+        this.cleanupPath = cleanupPath;
+        this.cleanupField = cleanupField;
+    }
+
+    /**
+     * The endpoint template, e.g. {@code POST /pet}.
+     */
+    public String endpoint() {
+        return endpoint;
+    }
+
+    /**
+     * What was changed, e.g. {@code wrong type category: string}; it names the field and the kind of value but no
+     * generated value, so equivalent cases share it.
+     */
+    public String mutation() {
+        return mutation;
+    }
+
+    /**
+     * Whether the request still conforms to the schema.
+     */
+    public boolean valid() {
+        return valid;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    /**
+     * The path below {@code /api/v3}, with its query string.
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * The request body, or {@code null}.
+     */
+    public String body() {
+        return body;
+    }
+
+    /**
+     * Where to {@code DELETE} what an accepted create made, followed by the value of {@link #cleanupField()} in the
+     * response; {@code null} when the operation creates nothing.
+     */
+    String cleanupPath() {
+        return cleanupPath;
+    }
+
+    String cleanupField() {
+        return cleanupField;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + path + " (" + mutation + ")";
+    }
+}
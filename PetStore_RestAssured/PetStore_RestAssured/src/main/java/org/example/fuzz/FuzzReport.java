@@ -0,0 +1,258 @@
+package org.example.fuzz;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * What a fuzz run found. Besides the status codes and latencies of all cases it keeps every answer that breaks the
+ * contract of a {@link FuzzCase}, deduplicated: cases with the same kind of finding, endpoint, mutation, status and
+ * error message (numbers and hex runs blanked) count towards one {@link Finding}, however many IDs and values they
+ * were generated with.
+ */
+public final class FuzzReport {
+
+    private static final int MESSAGE_LENGTH = 120;
+    private static final Pattern NUMBERS = Pattern.compile("-?[0-9a-fA-F]{6,}|-?[0-9]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * How an answer broke the contract. Server errors and missing answers fail a run; the other two are validation
+     * gaps a backend may knowingly have.
+     */
+    public enum Kind {
+        SERVER_ERROR(true),
+        NO_RESPONSE(true),
+        ACCEPTED_INVALID(false),
+        REJECTED_VALID(false);
+
+        private final boolean fatal;
+
+        Kind(boolean fatal) {
+            this.fatal = fatal;
+        }
+
+        public boolean fatal() {
+            return fatal;
+        }
+    }
+
+    /**
+     * Equivalent cases with the first of them as an example.
+     */
+    public static final class Finding {
+        private final Kind kind;
+        private final String endpoint;
+        private final String mutation;
+        private final int status;
+        private final String message;
+        private final String example;
+        private final LongAdder count = new LongAdder();
+
+        Finding(Kind kind, FuzzCase fuzz, int status, String message) {
+            this.kind = kind;
+            this.endpoint = fuzz.endpoint();
+            this.mutation = fuzz.mutation();
+            this.status = status;
+            this.message = message;
+            String example = fuzz.toString();
+            this.example = example.length() > 200 ? example.substring(0, 200) + "..." : example;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public String endpoint() {
+            return endpoint;
+        }
+
+        public String mutation() {
+            return mutation;
+        }
+
+        /**
+         * The status code, 0 when there was no response.
+         */
+        public int status() {
+            return status;
+        }
+
+        /**
+         * The start of the response body, or the exception when there was no response.
+         */
+        public String message() {
+            return message;
+        }
+
+        public String example() {
+            return example;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s x%d %s (%s) -> %d %s, e.g. %s", kind, count(), endpoint, mutation, status, message, example);
+        }
+    }
+
+    private final int mutations;
+    private final LongAdder cases = new LongAdder();
+    private final LongAdder cleanups = new LongAdder();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Map<String, Finding> findings = new ConcurrentHashMap<>();
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private volatile long elapsedNanos;
+
+    FuzzReport(int mutations) {
+        this.mutations = mutations;
+    }
+
+    void response(FuzzCase fuzz, int status, byte[] body, long nanos) {
+        record(status, nanos);
+        Kind kind = status >= 500 ? Kind.SERVER_ERROR
+                : status / 100 == 2 && !fuzz.valid() ? Kind.ACCEPTED_INVALID
+                : (status == 400 || status == 422) && fuzz.valid() ? Kind.REJECTED_VALID
+                : null;
+        if (kind != null) {
+            // an accepted body echoes the generated values, so only error messages tell findings apart
+            String message = kind == Kind.ACCEPTED_INVALID ? "" : message(new String(body, StandardCharsets.UTF_8));
+            finding(kind, fuzz, status, message);
+        }
+    }
+
+    void failure(FuzzCase fuzz, Throwable failure, long nanos) {
+        record(0, nanos);
+        Throwable cause = failure;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        finding(Kind.NO_RESPONSE, fuzz, 0, cause.getClass().getSimpleName());
+    }
+
+    void cleanup() {
+        cleanups.increment();
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    private void record(int status, long nanos) {
+        cases.increment();
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        latency.recordValue(nanos);
+    }
+
+    private void finding(Kind kind, FuzzCase fuzz, int status, String message) {
+        String signature = kind + "|" + fuzz.endpoint() + "|" + fuzz.mutation() + "|" + status + "|" + message;
+        findings.computeIfAbsent(signature, key -> new Finding(kind, fuzz, status, message)).count.increment();
+    }
+
+    private static String message(String body) {
+        String message = body.length() > MESSAGE_LENGTH ? body.substring(0, MESSAGE_LENGTH) : body;
+        return WHITESPACE.matcher(NUMBERS.matcher(message).replaceAll("#")).replaceAll(" ").trim();
+    }
+
+    public long cases() {
+        return cases.sum();
+    }
+
+    /**
+     * The size of the catalog the cases were drawn from.
+     */
+    public int mutations() {
+        return mutations;
+    }
+
+    /**
+     * How many entities accepted creates made were deleted again.
+     */
+    public long cleanups() {
+        return cleanups.sum();
+    }
+
+    /**
+     * How often each status code came back; 0 counts cases that got no response at all.
+     */
+    public Map<Integer, Long> statuses() {
+        Map<Integer, Long> copy = new TreeMap<>();
+        statuses.forEach((status, count) -> copy.put(status, count.sum()));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * The distinct findings, fatal ones first, then by how often they occurred.
+     */
+    public List<Finding> findings() {
+        List<Finding> sorted = new ArrayList<>(findings.values());
+        sorted.sort(Comparator.comparing(Finding::kind).thenComparing(Comparator.comparingLong(Finding::count).reversed())
+                .thenComparing(Finding::endpoint).thenComparing(Finding::mutation));
+        return sorted;
+    }
+
+    public List<Finding> findings(Kind kind) {
+        List<Finding> matching = new ArrayList<>();
+        for (Finding finding : findings()) {
+            if (finding.kind() == kind) {
+                matching.add(finding);
+            }
+        }
+        return matching;
+    }
+
+    public double latencyMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double casesPerSecond() {
+        long elapsed = elapsedNanos;
+        return elapsed == 0 ? 0 : cases() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    /**
+     * @throws AssertionError listing every server error and missing response
+     */
+    public void assertNoServerErrors() {
+        List<String> fatal = new ArrayList<>();
+        for (Finding finding : findings()) {
+            if (finding.kind().fatal()) {
+                fatal.add(finding.toString());
+            }
+        }
+        if (!fatal.isEmpty()) {
+            throw new AssertionError(fatal.size() + " distinct server error(s) in " + cases() + " fuzz cases, statuses "
+                    + statuses() + ":\n  " + String.join("\n  ", fatal));
+        }
+    }
+
+    public void print(PrintStream out) {
+        out.println(this);
+        for (Finding finding : findings()) {
+            out.printf("  %-16s %7d x  %-28s %-45s -> %3d %s%n", finding.kind(), finding.count(), finding.endpoint(),
+                    finding.mutation(), finding.status(), finding.message());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d cases of %d mutations, %.0f cases/s, statuses %s, p50 %.2f ms, p99 %.2f ms, max %.2f ms, "
+                        + "%d cleanup(s), %d distinct finding(s)", cases(), mutations, casesPerSecond(), statuses(),
+                latencyMillis(50), latencyMillis(99), latencyMillis(100), cleanups(), findings.size());
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.fuzz;
+
+import org.example.client.PetstoreClient;
+import org.example.validation.FieldReader;
+
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends the cases of a {@link CaseGenerator} with up to {@code maxInFlight} requests outstanding, classifying every
+ * answer into a {@link FuzzReport}. Whatever an accepted create made is deleted again before its permit is released,
+ * so a run leaves no fuzzed entities behind.
+ */
+public class FuzzRunner {
+
+    public static final String CASES_PROPERTY = "petstore.fuzz.cases";
+    public static final String MAX_IN_FLIGHT_PROPERTY = "petstore.fuzz.maxInFlight";
+
+    private final PetstoreClient client;
+    private final int maxInFlight;
+    private final int cases;
+    private final Map<String, FieldReader> readers = new ConcurrentHashMap<>();
+
+    public FuzzRunner(PetstoreClient client, int maxInFlight, int cases) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Max in flight must be positive, was " + maxInFlight);
+        }
+        if (cases <= 0) {
+            throw new IllegalArgumentException("Cases must be positive, was " + cases);
+        }
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.cases = cases;
+    }
+
+    /**
+     * Creates a runner with the {@code petstore.fuzz.maxInFlight} (64 by default) and {@code petstore.fuzz.cases}
+     * (2000 by default) system properties.
+     */
+    public static FuzzRunner fromSystemProperties(PetstoreClient client) {
+        return new FuzzRunner(client, Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, 64), Integer.getInteger(CASES_PROPERTY, 2000));
+    }
+
+    public FuzzReport run(CaseGenerator generator) throws InterruptedException {
+        FuzzReport report = new FuzzReport(generator.mutations());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        for (int i = 0; i < cases; i++) {
+            FuzzCase fuzz = generator.next();
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            try {
+                client.sendAsync(fuzz.method(), fuzz.path(), fuzz.body() == null ? null : fuzz.body().getBytes(StandardCharsets.UTF_8),
+                                HttpResponse.BodyHandlers.ofByteArray())
+                        .whenComplete((response, failure) -> {
+                            boolean cleaning = false;
+                            try {
+                                long nanos = System.nanoTime() - sent;
+                                if (failure != null) {
+                                    report.failure(fuzz, failure, nanos);
+                                } else {
+                                    report.response(fuzz, response.statusCode(), response.body(), nanos);
+                                    cleaning = response.statusCode() / 100 == 2 && cleanup(fuzz, response.body(), report, inFlight);
+                                }
+                            } finally {
+                                if (!cleaning) {
+                                    inFlight.release();
+                                }
+                            }
+                        });
+            } catch (RuntimeException e) {
+                report.failure(fuzz, e, System.nanoTime() - sent);
+                inFlight.release();
+            }
+        }
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Deletes what an accepted create made, holding on to the case's permit until the delete completes.
+     *
+     * @return whether a delete was sent, which then releases the permit
+     */
+    private boolean cleanup(FuzzCase fuzz, byte[] body, FuzzReport report, Semaphore inFlight) {
+        if (fuzz.cleanupPath() == null) {
+            return false;
+        }
+        Object key;
+        try {
+            key = readers.computeIfAbsent(fuzz.cleanupField(), FieldReader::of).read(body)[0];
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (key == null) {
+            return false;
+        }
+        String path = fuzz.cleanupPath() + URLEncoder.encode(key.toString(), StandardCharsets.UTF_8).replace("+", "%20");
+        try {
+            client.sendAsync("DELETE", path, null, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (failure == null && response.statusCode() / 100 == 2) {
+                            report.cleanup();
+                        }
+                        inFlight.release();
+                    });
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.inventory;
+
+import org.example.client.ConnectionPool;
+import org.example.client.PetstoreClient;
+import org.example.load.LoadRunner;
+import org.example.server.PetstoreServer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line entry point of the {@link InventoryChecker}, e.g.
+ * <pre>
+ * java org.example.inventory.InventoryCheck --base-uri=http://localhost:8080/ --order-ids=1-1000000 --max-in-flight=64
+ * </pre>
+ * {@code --statuses} lists the pet statuses to count ({@code available,pending,sold} by default), {@code --order-ids}
+ * the inclusive range of order IDs to probe (none by default) and {@code --fail-on-drift} turns drift into a failure.
+ * Without {@code --base-uri} it checks an in-process {@link PetstoreServer} with its sample data.
+ */
+public class InventoryCheck {
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = LoadRunner.parseArgs(args);
+        List<String> statuses = List.of(options.getOrDefault("statuses", "available,pending,sold").split(","));
+        long firstOrderId = 0;
+        long orderIds = 0;
+        if (options.containsKey("order-ids")) {
+            String[] range = options.get("order-ids").split("-", 2);
+            firstOrderId = Long.parseLong(range[0]);
+            orderIds = (range.length == 1 ? firstOrderId : Long.parseLong(range[1])) - firstOrderId + 1;
+        }
+        PetstoreServer embedded = options.containsKey("base-uri") ? null : PetstoreServer.start();
+        String baseUri = embedded == null ? options.get("base-uri") : embedded.baseUri();
+        try {
+            PetstoreClient client = new PetstoreClient(baseUri, ConnectionPool.shared().javaHttpClient());
+            int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "64"));
+            InventoryReport report = new InventoryChecker(client, maxInFlight).check(statuses, firstOrderId, orderIds);
+            report.print(System.out);
+            if (Boolean.parseBoolean(options.getOrDefault("fail-on-drift", "false")) && !report.drifts().isEmpty()) {
+                throw new IllegalStateException("Inventory drift:\n" + String.join("\n", report.drifts()));
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+}
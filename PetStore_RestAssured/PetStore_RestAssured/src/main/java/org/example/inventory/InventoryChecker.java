@@ -0,0 +1,160 @@
+package org.example.inventory;
+
+import org.example.client.PetstoreClient;
+import org.example.json.Json;
+import org.example.validation.ArrayReport;
+import org.example.validation.ArrayStream;
+import org.example.validation.FieldReader;
+import org.example.validation.ResponsePlan;
+import org.hamcrest.Matchers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reconciles {@code /store/inventory} with the pets and orders it is computed from. Pets are counted per status by
+ * streaming {@code /pet/findByStatus} for every status at once, and orders are read by probing a range of order IDs
+ * with up to {@code maxInFlight} concurrent requests, adding each order's quantity to its status. The expected count
+ * of a status is its pets plus its order quantities, which is how the in-process server computes the inventory;
+ * against a backend that counts pets only, scan no orders.
+ *
+ * <p>Memory does not grow with the number of entities: pet bodies are checked element by element, order responses are
+ * dropped once counted and all counts live in {@link StatusCounters}. The inventory is read before and after the scan,
+ * so drift caused by writes during the scan can be told apart from a real inconsistency.
+ */
+public class InventoryChecker {
+
+    private static final FieldReader ORDER = FieldReader.of("status", "quantity");
+    private static final int MAX_STATUSES = 64;
+
+    private final PetstoreClient client;
+    private final int maxInFlight;
+
+    public InventoryChecker(PetstoreClient client, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive, was " + maxInFlight);
+        }
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @param statuses     the pet statuses to count
+     * @param firstOrderId the first order ID to probe
+     * @param orderIds     how many consecutive order IDs to probe; 0 leaves orders out
+     */
+    public InventoryReport check(List<String> statuses, long firstOrderId, long orderIds) throws InterruptedException {
+        long start = System.nanoTime();
+        StatusCounters before = inventory();
+        StatusCounters pets = new StatusCounters(MAX_STATUSES);
+        StatusCounters orders = new StatusCounters(MAX_STATUSES);
+        LongAdder misfiled = new LongAdder();
+        LongAdder ordersFound = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicReference<String> lastError = new AtomicReference<>();
+
+        ExecutorService petScans = Executors.newFixedThreadPool(Math.max(1, statuses.size()), runnable -> {
+            Thread thread = new Thread(runnable, "inventory-pets");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> scans = new ArrayList<>();
+            for (String status : statuses) {
+                scans.add(petScans.submit(() -> countPets(status, pets, misfiled)));
+            }
+            countOrders(firstOrderId, orderIds, orders, ordersFound, errors, lastError);
+            for (Future<?> scan : scans) {
+                try {
+                    scan.get();
+                } catch (ExecutionException e) {
+                    errors.increment();
+                    lastError.set(String.valueOf(e.getCause()));
+                }
+            }
+        } finally {
+            petScans.shutdownNow();
+        }
+
+        StatusCounters after = inventory();
+        return new InventoryReport(before, after, pets, orders, misfiled.sum(), orderIds, ordersFound.sum(),
+                errors.sum(), lastError.get(), System.nanoTime() - start);
+    }
+
+    private void countPets(String status, StatusCounters pets, LongAdder misfiled) {
+        ResponsePlan plan = ResponsePlan.builder().body("status", Matchers.is(status)).build();
+        HttpResponse<InputStream> response = client.stream("/pet/findByStatus?status=" + URLEncoder.encode(status, StandardCharsets.UTF_8));
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET /pet/findByStatus?status=" + status + " answered " + response.statusCode());
+            }
+            ArrayReport report = ArrayStream.check(body, plan);
+            pets.add(status, report.elements());
+            misfiled.add(report.failed());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Reading the pets with status " + status + " failed", e);
+        }
+    }
+
+    private void countOrders(long firstId, long count, StatusCounters orders, LongAdder found, LongAdder errors,
+                             AtomicReference<String> lastError) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        for (long id = firstId; id < firstId + count; id++) {
+            inFlight.acquire();
+            long orderId = id;
+            client.sendAsync("GET", "/store/order/" + id, null, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, failure) -> {
+                        try {
+                            if (failure != null) {
+                                errors.increment();
+                                lastError.set("GET /store/order/" + orderId + ": " + failure);
+                            } else if (response.statusCode() == 200) {
+                                Object[] order = ORDER.read(response.body());
+                                if (order[0] != null && order[1] instanceof Number) {
+                                    orders.add(order[0].toString(), ((Number) order[1]).longValue());
+                                }
+                                found.increment();
+                            } else if (response.statusCode() != 404) {
+                                errors.increment();
+                                lastError.set("GET /store/order/" + orderId + " answered " + response.statusCode());
+                            }
+                        } catch (RuntimeException e) {
+                            errors.increment();
+                            lastError.set("GET /store/order/" + orderId + ": " + e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+        }
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    private StatusCounters inventory() {
+        HttpResponse<String> response = client.get("/store/inventory");
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /store/inventory answered " + response.statusCode());
+        }
+        StatusCounters inventory = new StatusCounters(MAX_STATUSES);
+        Object parsed = Json.parse(response.body());
+        if (!(parsed instanceof Map)) {
+            throw new IllegalStateException("GET /store/inventory did not answer a JSON object");
+        }
+        ((Map<?, ?>) parsed).forEach((status, count) -> inventory.add(String.valueOf(status), ((Number) count).longValue()));
+        return inventory;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.inventory;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of an {@link InventoryChecker} run: per status, the inventory next to the pets and order quantities that
+ * were counted, and the difference between them.
+ */
+public final class InventoryReport {
+
+    private final StatusCounters before;
+    private final StatusCounters after;
+    private final StatusCounters pets;
+    private final StatusCounters orders;
+    private final long misfiledPets;
+    private final long orderIdsScanned;
+    private final long ordersFound;
+    private final long errors;
+    private final String lastError;
+    private final long elapsedNanos;
+
+    InventoryReport(StatusCounters before, StatusCounters after, StatusCounters pets, StatusCounters orders, long misfiledPets,
+                    long orderIdsScanned, long ordersFound, long errors, String lastError, long elapsedNanos) {
+        this.before = before;
+        this.after = after;
+        this.pets = pets;
+        this.orders = orders;
+        this.misfiledPets = misfiledPets;
+        this.orderIdsScanned = orderIdsScanned;
+        this.ordersFound = ordersFound;
+        this.errors = errors;
+        this.lastError = lastError;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Every status seen in the inventory or the scan, inventory order first.
+     */
+    public List<String> statuses() {
+        Set<String> statuses = new LinkedHashSet<>();
+        statuses.addAll(List.of(after.names()));
+        statuses.addAll(List.of(pets.names()));
+        statuses.addAll(List.of(orders.names()));
+        return new ArrayList<>(statuses);
+    }
+
+    /**
+     * The inventory count read after the scan.
+     */
+    public long inventory(String status) {
+        return after.get(status);
+    }
+
+    public long pets(String status) {
+        return pets.get(status);
+    }
+
+    public long orderQuantity(String status) {
+        return orders.get(status);
+    }
+
+    /**
+     * Inventory minus counted pets and order quantities; positive when the inventory claims more than was found.
+     */
+    public long drift(String status) {
+        return after.get(status) - pets.get(status) - orders.get(status);
+    }
+
+    /**
+     * One message per status whose inventory does not match the scan.
+     */
+    public List<String> drifts() {
+        List<String> drifts = new ArrayList<>();
+        for (String status : statuses()) {
+            long drift = drift(status);
+            if (drift != 0) {
+                drifts.add(String.format("%s: inventory %d, counted %d pets + %d ordered, drift %+d",
+                        status, inventory(status), pets(status), orderQuantity(status), drift));
+            }
+        }
+        return drifts;
+    }
+
+    /**
+     * Whether the inventory was the same before and after the scan. When it was not, writes happened during the scan
+     * and drift may come from them rather than from an inconsistency.
+     */
+    public boolean stable() {
+        for (String status : statuses()) {
+            if (before.get(status) != after.get(status)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pets returned for a status they do not have.
+     */
+    public long misfiledPets() {
+        return misfiledPets;
+    }
+
+    public long ordersFound() {
+        return ordersFound;
+    }
+
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * Pets read plus order IDs probed per second.
+     */
+    public double entitiesPerSecond() {
+        long pets = 0;
+        for (String status : this.pets.names()) {
+            pets += this.pets.get(status);
+        }
+        return elapsedNanos == 0 ? 0 : (pets + orderIdsScanned) * 1e9 / elapsedNanos;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-16s %12s %12s %12s %10s%n", "status", "inventory", "pets", "ordered", "drift");
+        for (String status : statuses()) {
+            out.printf("%-16s %12d %12d %12d %+10d%n", status, inventory(status), pets(status), orderQuantity(status), drift(status));
+        }
+        out.printf("%d order IDs probed, %d orders found, %d misfiled pets, %d errors in %d ms (%.0f entities/s)%s%n",
+                orderIdsScanned, ordersFound, misfiledPets, errors, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), entitiesPerSecond(),
+                stable() ? "" : "; the inventory changed during the scan");
+        if (lastError != null) {
+            out.println("Last error: " + lastError);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.inventory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent counters keyed by status name. A status is mapped once to a small int slot and every count lives in one
+ * {@link AtomicLongArray}, so counting millions of entities allocates nothing per entity, unlike a
+ * {@code Map<String, Integer>}. Statuses are few; lookups scan the slot names, and adding a new one copies them.
+ */
+final class StatusCounters {
+
+    private final AtomicLongArray counts;
+    private volatile String[] names = new String[0];
+
+    StatusCounters(int capacity) {
+        this.counts = new AtomicLongArray(capacity);
+    }
+
+    void add(String status, long delta) {
+        counts.addAndGet(slot(status), delta);
+    }
+
+    long get(String status) {
+        String[] current = names;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(status)) {
+                return counts.get(i);
+            }
+        }
+        return 0;
+    }
+
+    String[] names() {
+        return names;
+    }
+
+    private int slot(String status) {
+        String[] current = names;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(status)) {
+                return i;
+            }
+        }
+        synchronized (this) {
+            current = names;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].equals(status)) {
+                    return i;
+                }
+            }
+            if (current.length == counts.length()) {
+                throw new IllegalStateException("More than " + counts.length() + " distinct statuses");
+            }
+            String[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = status;
+            names = grown;
+            return current.length;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.json;
+
+/**
+ * A value that serializes itself onto a {@link JsonWriter}.
+ */
+public interface JsonWritable {
+
+    void writeTo(JsonWriter out);
+
+    /**
+     * Serializes through this thread's reusable writer, copying only the finished JSON out of it.
+     */
+    default String toJson() {
+        JsonWriter out = JsonWriter.local();
+        writeTo(out);
+        return out.toString();
+    }
+
+    default byte[] toJsonBytes() {
+        JsonWriter out = JsonWriter.local();
+        writeTo(out);
+        return out.toByteArray();
+    }
+}
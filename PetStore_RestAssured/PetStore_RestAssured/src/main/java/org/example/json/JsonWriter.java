@@ -0,0 +1,294 @@
+package org.example.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming JSON writer that encodes UTF-8 straight into a growable byte buffer. The buffer is kept across
+ * {@link #reset()} calls, so a writer reused for many payloads stops allocating once it has grown to the largest one.
+ *
+ * <p>Property names are passed as pre-encoded tokens made once by {@link #name(String)}, which is how the model
+ * serializers avoid re-encoding field names for every payload. Commas between properties and array elements are
+ * inserted automatically. Instances are not thread-safe; {@link #local()} hands out one per thread.
+ */
+public final class JsonWriter {
+
+    private static final ThreadLocal<JsonWriter> LOCAL = ThreadLocal.withInitial(JsonWriter::new);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buf;
+    private int size;
+    private int depth;
+    /**
+     * Bit {@code d} is set while the container at depth {@code d} has no element yet.
+     */
+    private long empty;
+    private boolean afterName;
+
+    public JsonWriter() {
+        this(256);
+    }
+
+    public JsonWriter(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+
+    /**
+     * Returns this thread's writer, already reset.
+     */
+    public static JsonWriter local() {
+        return LOCAL.get().reset();
+    }
+
+    /**
+     * Encodes a property name once, as {@code "name":}, for use with {@link #name(byte[])}.
+     */
+    public static byte[] name(String name) {
+        JsonWriter writer = new JsonWriter(name.length() + 8);
+        writer.string(name);
+        writer.put((byte) ':');
+        return writer.toByteArray();
+    }
+
+    public JsonWriter reset() {
+        size = 0;
+        depth = 0;
+        empty = 0;
+        afterName = false;
+        return this;
+    }
+
+    public JsonWriter beginObject() {
+        separate();
+        return open((byte) '{');
+    }
+
+    public JsonWriter endObject() {
+        return close((byte) '}');
+    }
+
+    public JsonWriter beginArray() {
+        separate();
+        return open((byte) '[');
+    }
+
+    public JsonWriter endArray() {
+        return close((byte) ']');
+    }
+
+    /**
+     * Writes a property name token made by {@link #name(String)}.
+     */
+    public JsonWriter name(byte[] token) {
+        separate();
+        ensure(token.length);
+        System.arraycopy(token, 0, buf, size, token.length);
+        size += token.length;
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        separate();
+        string(value);
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separate();
+        if (value == Long.MIN_VALUE) {
+            ensure(MIN_LONG.length);
+            System.arraycopy(MIN_LONG, 0, buf, size, MIN_LONG.length);
+            size += MIN_LONG.length;
+            return this;
+        }
+        ensure(20);
+        if (value < 0) {
+            buf[size++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = size + digits - 1; i >= size; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separate();
+        return raw(value ? TRUE : FALSE);
+    }
+
+    public JsonWriter nullValue() {
+        separate();
+        return raw(NULL);
+    }
+
+    /**
+     * Writes a property whose value is skipped entirely when it is {@code null}.
+     */
+    public JsonWriter optional(byte[] token, String value) {
+        return value == null ? this : name(token).value(value);
+    }
+
+    public JsonWriter optional(byte[] token, Long value) {
+        return value == null ? this : name(token).value(value.longValue());
+    }
+
+    public JsonWriter optional(byte[] token, Integer value) {
+        return value == null ? this : name(token).value(value.longValue());
+    }
+
+    public JsonWriter optional(byte[] token, Boolean value) {
+        return value == null ? this : name(token).value(value.booleanValue());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The internal buffer; only the first {@link #size()} bytes are valid.
+     */
+    public byte[] buffer() {
+        return buf;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, size, StandardCharsets.UTF_8);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, size);
+    }
+
+    private JsonWriter open(byte bracket) {
+        if (depth == 63) {
+            throw new IllegalStateException("JSON nested deeper than 63 levels");
+        }
+        put(bracket);
+        depth++;
+        empty |= 1L << depth;
+        return this;
+    }
+
+    private JsonWriter close(byte bracket) {
+        if (depth == 0) {
+            throw new IllegalStateException("No open object or array to close");
+        }
+        empty &= ~(1L << depth);
+        depth--;
+        put(bracket);
+        return this;
+    }
+
+    /**
+     * Writes the comma before a value or property unless it is the first in its container or follows a name.
+     */
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        long bit = 1L << depth;
+        if (depth > 0) {
+            if ((empty & bit) != 0) {
+                empty &= ~bit;
+            } else {
+                put((byte) ',');
+            }
+        }
+    }
+
+    private JsonWriter raw(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buf, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+
+    private void string(String value) {
+        int length = value.length();
+        ensure(length + 2);
+        buf[size++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                if (size == buf.length) {
+                    ensure(1);
+                }
+                buf[size++] = (byte) c;
+            } else {
+                ensure(12 + (length - i));
+                if (c == '"' || c == '\\') {
+                    buf[size++] = '\\';
+                    buf[size++] = (byte) c;
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (c < 0x800) {
+                    buf[size++] = (byte) (0xc0 | (c >> 6));
+                    buf[size++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buf[size++] = (byte) (0xf0 | (codePoint >> 18));
+                    buf[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    buf[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    buf[size++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    buf[size++] = (byte) (0xe0 | (c >> 12));
+                    buf[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    buf[size++] = (byte) (0x80 | (c & 0x3f));
+                }
+            }
+        }
+        ensure(1);
+        buf[size++] = '"';
+    }
+
+    private void escapeControl(char c) {
+        buf[size++] = '\\';
+        switch (c) {
+            case '\n': buf[size++] = 'n'; break;
+            case '\r': buf[size++] = 'r'; break;
+            case '\t': buf[size++] = 't'; break;
+            case '\b': buf[size++] = 'b'; break;
+            case '\f': buf[size++] = 'f'; break;
+            default:
+                buf[size++] = 'u';
+                buf[size++] = '0';
+                buf[size++] = '0';
+                buf[size++] = HEX[c >> 4];
+                buf[size++] = HEX[c & 0xf];
+        }
+    }
+
+    private void put(byte b) {
+        ensure(1);
+        buf[size++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What the {@link LoadRunner} should generate: a target arrival rate reached through a linear ramp-up,
+ * held for a steady-state phase, spread over weighted workloads.
+ */
+public class LoadProfile {
+
+    private final double requestsPerSecond;
+    private final Duration rampUp;
+    private final Duration steadyState;
+    private final int maxInFlight;
+    private final Map<Workload, Integer> weights;
+
+    public LoadProfile(double requestsPerSecond, Duration rampUp, Duration steadyState, int maxInFlight, Map<Workload, Integer> weights) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("The target rate must be positive, was " + requestsPerSecond);
+        }
+        if (weights.isEmpty() || weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("At least one workload needs a positive weight");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.rampUp = rampUp;
+        this.steadyState = steadyState;
+        this.maxInFlight = maxInFlight;
+        this.weights = new LinkedHashMap<>(weights);
+    }
+
+    /**
+     * Reads a profile from {@code --name=value} arguments: {@code --rate} (requests per second, default 100),
+     * {@code --ramp-up} and {@code --duration} (seconds, default 10 and 30), {@code --max-in-flight} (default 512)
+     * and {@code --mix}, a list of scenario weights such as {@code pet=5,order=3,user=2}.
+     */
+    public static LoadProfile fromArgs(Map<String, String> args, Map<String, Workload> scenarios) {
+        Map<Workload, Integer> weights = new LinkedHashMap<>();
+        for (String entry : args.getOrDefault("mix", "pet=1,order=1,user=1").split(",")) {
+            String[] pair = entry.split("=");
+            Workload workload = scenarios.get(pair[0].trim());
+            if (workload == null) {
+                throw new IllegalArgumentException("Unknown scenario '" + pair[0] + "', expected one of " + scenarios.keySet());
+            }
+            weights.put(workload, pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1);
+        }
+        return new LoadProfile(
+                Double.parseDouble(args.getOrDefault("rate", "100")),
+                Duration.ofSeconds(Long.parseLong(args.getOrDefault("ramp-up", "10"))),
+                Duration.ofSeconds(Long.parseLong(args.getOrDefault("duration", "30"))),
+                Integer.parseInt(args.getOrDefault("max-in-flight", "512")),
+                weights);
+    }
+
+    public double requestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public Duration rampUp() {
+        return rampUp;
+    }
+
+    public Duration steadyState() {
+        return steadyState;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    public Map<Workload, Integer> weights() {
+        return weights;
+    }
+
+    /**
+     * Arrival rate the runner aims for at the given time since the start: linear from zero up to the
+     * target during ramp-up (but never below one request per second), the target afterwards.
+     */
+    public double rateAt(long elapsedNanos) {
+        long rampNanos = rampUp.toNanos();
+        if (elapsedNanos >= rampNanos) {
+            return requestsPerSecond;
+        }
+        return Math.max(1.0, requestsPerSecond * elapsedNanos / rampNanos);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error statistics collected by the {@link LoadRunner}, per endpoint.
+ * Only steady-state requests are recorded into the histograms; ramp-up requests are just counted.
+ */
+public class LoadReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder rampUpRequests = new LongAdder();
+    private volatile long steadyStateNanos;
+
+    /**
+     * Statistics for one endpoint. Response time is measured from the moment the request was scheduled,
+     * which corrects for coordinated omission; service time from the moment it was actually sent.
+     */
+    public static class Endpoint {
+        final Histogram responseTime = new ConcurrentHistogram(3);
+        final Histogram serviceTime = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        volatile String lastError;
+
+        public Histogram responseTime() {
+            return responseTime;
+        }
+
+        public Histogram serviceTime() {
+            return serviceTime;
+        }
+
+        public long requests() {
+            return responseTime.getTotalCount();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public String lastError() {
+            return lastError;
+        }
+    }
+
+    void recordRampUp() {
+        rampUpRequests.increment();
+    }
+
+    void record(String endpoint, long responseNanos, long serviceNanos, Throwable error) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.responseTime.recordValue(responseNanos);
+        stats.serviceTime.recordValue(serviceNanos);
+        if (error != null) {
+            stats.errors.increment();
+            stats.lastError = error.getCause() == null ? String.valueOf(error.getMessage()) : error.getMessage() + ": " + error.getCause();
+        }
+    }
+
+    void steadyStateNanos(long nanos) {
+        this.steadyStateNanos = nanos;
+    }
+
+    public Map<String, Endpoint> endpoints() {
+        return new LinkedHashMap<>(endpoints);
+    }
+
+    public long rampUpRequests() {
+        return rampUpRequests.sum();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = steadyStateNanos / 1e9;
+        out.printf("Ramp-up requests: %d%n", rampUpRequests());
+        out.printf("%-20s %9s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "err%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            Endpoint stats = entry.getValue();
+            Histogram latency = stats.responseTime;
+            out.printf("%-20s %9d %9.1f %8d %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(),
+                    stats.requests(),
+                    seconds > 0 ? stats.requests() / seconds : 0.0,
+                    stats.errors(),
+                    stats.requests() > 0 ? 100.0 * stats.errors() / stats.requests() : 0.0,
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()));
+            if (stats.lastError != null) {
+                out.printf("  last error: %s%n", stats.lastError);
+            }
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.load;
+
+import org.example.client.PetstoreClient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator. Requests are scheduled at the profile's arrival rate regardless of how fast
+ * the backend answers, and every latency is measured from the scheduled start, so a stalled backend shows
+ * up in the percentiles instead of silently lowering the request rate (coordinated omission).
+ *
+ * <p>Each request runs on its own thread from an unbounded pool; {@link LoadProfile#maxInFlight()} caps how
+ * many are outstanding at once. Once the cap is reached the dispatcher waits, and the wait is charged to the
+ * requests that were due in the meantime.
+ */
+public class LoadRunner {
+
+    private final PetstoreClient client;
+    private final AtomicInteger nextId;
+
+    public LoadRunner(PetstoreClient client) {
+        this(client, 500_000_000);
+    }
+
+    public LoadRunner(PetstoreClient client, int firstId) {
+        this.client = client;
+        this.nextId = new AtomicInteger(firstId);
+    }
+
+    public LoadReport run(LoadProfile profile) throws InterruptedException {
+        Workload[] workloads = profile.weights().keySet().toArray(new Workload[0]);
+        int[] cumulativeWeights = new int[workloads.length];
+        int totalWeight = 0;
+        for (int i = 0; i < workloads.length; i++) {
+            totalWeight += profile.weights().get(workloads[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        LoadReport report = new LoadReport();
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "load-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long rampNanos = profile.rampUp().toNanos();
+        long endNanos = rampNanos + profile.steadyState().toNanos();
+        long start = System.nanoTime();
+        long scheduled = 0;
+        try {
+            while (scheduled < endNanos) {
+                long intendedStart = start + scheduled;
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Workload workload = pick(workloads, cumulativeWeights, totalWeight);
+                boolean steady = scheduled >= rampNanos;
+                inFlight.acquire();
+                executor.execute(() -> {
+                    long sent = System.nanoTime();
+                    Throwable error = null;
+                    try {
+                        workload.execute(client, nextId.getAndIncrement());
+                    } catch (Throwable t) {
+                        error = t;
+                    } finally {
+                        inFlight.release();
+                    }
+                    long finished = System.nanoTime();
+                    if (steady) {
+                        report.record(workload.endpoint(), finished - intendedStart, finished - sent, error);
+                    } else {
+                        report.recordRampUp();
+                    }
+                });
+                scheduled += (long) (1e9 / profile.rateAt(scheduled));
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        report.steadyStateNanos(profile.steadyState().toNanos());
+        return report;
+    }
+
+    private static Workload pick(Workload[] workloads, int[] cumulativeWeights, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < workloads.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return workloads[i];
+            }
+        }
+        return workloads[workloads.length - 1];
+    }
+
+    /**
+     * Parses {@code --name=value} command-line arguments into a map without the leading dashes.
+     */
+    public static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String arg : args) {
+            String trimmed = arg.replaceFirst("^--", "");
+            int eq = trimmed.indexOf('=');
+            parsed.put(eq < 0 ? trimmed : trimmed.substring(0, eq), eq < 0 ? "true" : trimmed.substring(eq + 1));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.load;
+
+import org.example.client.PetstoreClient;
+import org.example.model.ModelGenerator;
+import org.example.model.Order;
+import org.example.model.Pet;
+import org.example.model.Tag;
+import org.example.model.User;
+import org.example.scenario.Workflows;
+import org.example.validation.ResponsePlan;
+
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The functional scenarios replayed as load: the requests and assertions of
+ * {@code Pet.postAddANewPetToTheStore}, {@code Store.placeAnOrderForAPet}, {@code User.createUser} and
+ * {@code Pet.getFindPetByStatus}.
+ * Payloads come from a per-thread {@link ModelGenerator}, so every request carries distinct data and the
+ * response is checked against the model that was sent, in one pass over the raw bytes by a {@link ResponsePlan}.
+ */
+public final class Scenarios {
+
+    private static final ThreadLocal<ModelGenerator> GENERATORS = new ThreadLocal<>();
+    private static final ModelGenerator ROOT = new ModelGenerator(Long.getLong("petstore.load.seed", 42));
+
+    private static final ResponsePlan PET = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .bodyEqualTo("category.id")
+            .bodyEqualTo("category.name")
+            .bodyEqualTo("name")
+            .bodyEqualTo("photoUrls[0]")
+            .bodyEqualTo("tags[0].id")
+            .bodyEqualTo("tags[0].name")
+            .bodyEqualTo("status")
+            .build();
+
+    private static final ResponsePlan ORDER = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .bodyEqualTo("petId")
+            .bodyEqualTo("quantity")
+            .bodyEqualTo("status")
+            .bodyEqualTo("complete")
+            .build();
+
+    private static final ResponsePlan OK = ResponsePlan.builder().statusCode(200).build();
+
+    public static final Workload ADD_PET = new Workload() {
+        @Override
+        public String endpoint() {
+            return "POST /pet";
+        }
+
+        @Override
+        public void execute(PetstoreClient client, int id) {
+            Pet sent = generator().pet(id);
+            Tag tag = sent.tags().get(0);
+            check(PET, client.send("POST", "/pet", sent.toJson(), HttpResponse.BodyHandlers.ofByteArray()),
+                    id, sent.category().id(), sent.category().name(), sent.name(), sent.photoUrls().get(0),
+                    tag.id(), tag.name(), sent.status());
+        }
+    };
+
+    public static final Workload PLACE_ORDER = new Workload() {
+        @Override
+        public String endpoint() {
+            return "POST /store/order";
+        }
+
+        @Override
+        public void execute(PetstoreClient client, int id) {
+            Order sent = generator().order(id, 0);
+            check(ORDER, client.send("POST", "/store/order", sent.toJson(), HttpResponse.BodyHandlers.ofByteArray()),
+                    id, 0, sent.quantity(), sent.status(), sent.complete());
+        }
+    };
+
+    public static final Workload CREATE_USER = new Workload() {
+        @Override
+        public String endpoint() {
+            return "POST /user";
+        }
+
+        @Override
+        public void execute(PetstoreClient client, int id) {
+            User sent = generator().user(id);
+            check(OK, client.send("POST", "/user", sent.toJson(), HttpResponse.BodyHandlers.ofByteArray()));
+        }
+    };
+
+    public static final Workload FIND_PETS = new Workload() {
+        @Override
+        public String endpoint() {
+            return "GET /pet/findByStatus";
+        }
+
+        @Override
+        public void execute(PetstoreClient client, int id) {
+            check(OK, client.send("GET", "/pet/findByStatus?status=available", null, HttpResponse.BodyHandlers.ofByteArray()));
+        }
+    };
+
+    private Scenarios() {
+    }
+
+    /**
+     * All scenarios by the short name used on the command line, followed by the multi-step {@link Workflows}.
+     */
+    public static Map<String, Workload> byName() {
+        Map<String, Workload> scenarios = new LinkedHashMap<>();
+        scenarios.put("pet", ADD_PET);
+        scenarios.put("order", PLACE_ORDER);
+        scenarios.put("user", CREATE_USER);
+        scenarios.put("find", FIND_PETS);
+        scenarios.putAll(Workflows.byName());
+        return scenarios;
+    }
+
+    /**
+     * This thread's generator, split off a shared seeded root the first time the thread asks.
+     */
+    static ModelGenerator generator() {
+        ModelGenerator generator = GENERATORS.get();
+        if (generator == null) {
+            synchronized (ROOT) {
+                generator = ROOT.split();
+            }
+            GENERATORS.set(generator);
+        }
+        return generator;
+    }
+
+    static void check(ResponsePlan plan, HttpResponse<byte[]> response, Object... expected) {
+        plan.check(response.statusCode(), response.body(), expected);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.load;
+
+import org.example.client.PetstoreClient;
+
+/**
+ * One unit of load: a single request plus the checks the functional suites run on its response.
+ * Implementations must be thread-safe; the runner calls {@link #execute} from many threads at once.
+ */
+public interface Workload {
+
+    /**
+     * Endpoint label the latencies and errors are reported under, e.g. {@code "POST /pet"}.
+     */
+    String endpoint();
+
+    /**
+     * Sends the request for the given entity ID and verifies the response.
+     *
+     * @throws AssertionError if the response does not match what the functional suite expects
+     */
+    void execute(PetstoreClient client, int id);
+}
@@ -0,0 +1,203 @@
+package org.example.logging;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.junit.rules.TestRule;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.Description;
+
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RestAssured filter that keeps the most recent request/response exchanges in a bounded ring buffer instead of
+ * printing every one of them. Nothing is formatted or written while tests pass; the buffer is only printed when
+ * a test fails (through {@link #dumpOnFailure(PrintStream)}), and a single exchange is printed right away when it
+ * takes longer than the slow threshold.
+ *
+ * <p>Slots are allocated once and reused. Capturing an exchange only stores references to the request
+ * specification and response RestAssured already built; nothing about the bodies is looked at until a dump. A dump
+ * prints the bodies of the most recent exchanges up to a byte cap, and only the status line of the older ones and of
+ * any exchange larger than the cap.
+ */
+public class ExchangeRecorder implements Filter {
+
+    public static final String CAPACITY_PROPERTY = "petstore.log.capacity";
+    public static final String MAX_BYTES_PROPERTY = "petstore.log.maxBytes";
+    public static final String SAMPLE_RATE_PROPERTY = "petstore.log.sampleRate";
+    public static final String SLOW_MILLIS_PROPERTY = "petstore.log.slowMillis";
+
+    private final Slot[] slots;
+    private final long maxBytes;
+    private final double sampleRate;
+    private final long slowNanos;
+    private final PrintStream out;
+
+    private int next;
+    private int size;
+
+    private static final class Slot {
+        FilterableRequestSpecification request;
+        Response response;
+        int status;
+        long nanos;
+
+        void clear() {
+            request = null;
+            response = null;
+        }
+    }
+
+    /**
+     * @param capacity   how many exchanges are kept at most
+     * @param maxBytes   cap on the request and response body bytes a dump prints
+     * @param sampleRate share of exchanges captured, between 0 and 1
+     * @param slowMillis exchanges slower than this are printed immediately; 0 disables it
+     * @param out        where dumps are written to
+     */
+    public ExchangeRecorder(int capacity, long maxBytes, double sampleRate, long slowMillis, PrintStream out) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.maxBytes = maxBytes;
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(slowMillis) : Long.MAX_VALUE;
+        this.out = out;
+    }
+
+    /**
+     * Creates a recorder configured by the {@code petstore.log.*} system properties, defaulting to the last
+     * 32 exchanges, 1 MiB of bodies, every exchange sampled and a 2 second slow threshold.
+     */
+    public static ExchangeRecorder fromSystemProperties() {
+        return new ExchangeRecorder(
+                Integer.getInteger(CAPACITY_PROPERTY, 32),
+                Long.getLong(MAX_BYTES_PROPERTY, 1024 * 1024),
+                Double.parseDouble(System.getProperty(SAMPLE_RATE_PROPERTY, "1.0")),
+                Long.getLong(SLOW_MILLIS_PROPERTY, 2000),
+                System.out);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long nanos = System.nanoTime() - start;
+        if (nanos > slowNanos) {
+            synchronized (this) {
+                out.printf("Slow exchange (%d ms):%n", TimeUnit.NANOSECONDS.toMillis(nanos));
+                print(requestSpec, response, response.getStatusCode(), nanos);
+            }
+        }
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            capture(requestSpec, response, nanos);
+        }
+        return response;
+    }
+
+    private synchronized void capture(FilterableRequestSpecification request, Response response, long nanos) {
+        Slot slot = slots[next];
+        if (size < slots.length) {
+            size++;
+        }
+        next = (next + 1) % slots.length;
+        slot.request = request;
+        slot.response = response;
+        slot.status = response.getStatusCode();
+        slot.nanos = nanos;
+    }
+
+    /**
+     * Number of exchanges currently held.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Prints the held exchanges, oldest first, and empties the buffer. The body lengths are measured here, newest
+     * first, so only the exchanges that fit under the byte cap together are printed in full.
+     */
+    public synchronized void dump() {
+        out.printf("Last %d captured exchange(s):%n", size);
+        boolean[] full = new boolean[size];
+        long bytes = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            Slot slot = slots[(next - size + i + slots.length) % slots.length];
+            bytes += bodyLength(slot.request.getBody()) + responseLength(slot.response);
+            full[i] = bytes <= maxBytes;
+        }
+        int index = (next - size + slots.length) % slots.length;
+        for (int i = 0; i < size; i++) {
+            Slot slot = slots[index];
+            print(full[i] ? slot.request : null, slot.response, slot.status, slot.nanos);
+            slot.clear();
+            index = (index + 1) % slots.length;
+        }
+        size = 0;
+    }
+
+    /**
+     * JUnit rule that dumps this recorder's exchanges when the test fails and discards them otherwise.
+     */
+    public TestRule dumpOnFailure() {
+        return new TestWatcher() {
+            @Override
+            protected void failed(Throwable e, Description description) {
+                out.println(description.getDisplayName() + " failed: " + e.getMessage());
+                dump();
+            }
+
+            @Override
+            protected void finished(Description description) {
+                clear();
+            }
+        };
+    }
+
+    private synchronized void clear() {
+        for (Slot slot : slots) {
+            slot.clear();
+        }
+        size = 0;
+    }
+
+    private void print(FilterableRequestSpecification request, Response response, int status, long nanos) {
+        if (request == null) {
+            out.printf("  (bodies over %d bytes not printed) -> %d in %d ms%n", maxBytes, status, TimeUnit.NANOSECONDS.toMillis(nanos));
+            return;
+        }
+        out.printf("Request method:\t%s%nRequest URI:\t%s%n", request.getMethod(), request.getURI());
+        Object body = request.getBody();
+        if (body != null) {
+            out.printf("Body:%n%s%n", body instanceof byte[] ? new String((byte[]) body) : body);
+        }
+        out.printf("%s (%d ms)%n%s%n%n", response.getStatusLine(), TimeUnit.NANOSECONDS.toMillis(nanos), response.asString());
+    }
+
+    private static long bodyLength(Object body) {
+        if (body instanceof String) {
+            return ((String) body).length();
+        }
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        return 0;
+    }
+
+    private static long responseLength(Response response) {
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength != null) {
+            return Long.parseLong(contentLength);
+        }
+        return response.asByteArray().length;
+    }
+}
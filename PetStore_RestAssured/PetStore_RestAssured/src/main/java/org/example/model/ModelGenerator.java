@@ -0,0 +1,100 @@
+package org.example.model;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Random but valid pets, orders and users for bulk and load runs. The entity ID is the caller's, everything else is
+ * drawn from a seeded {@link SplittableRandom}, so the same seed produces the same payloads.
+ *
+ * <p>A generator is not thread-safe; give every thread its own through {@link #split()}.
+ */
+public final class ModelGenerator {
+
+    private static final String[] PET_STATUSES = {"available", "pending", "sold"};
+    private static final String[] ORDER_STATUSES = {"placed", "approved", "delivered"};
+    private static final String[] CATEGORIES = {"Dogs", "Cats", "Lions", "Rabbits"};
+    private static final String[] NAMES = {"Doggie", "Cat", "Lion", "Rabbit", "Rex", "Tom", "Simba", "Bugs"};
+    private static final String[] TAGS = {"tag1", "tag2", "tag3", "tag4"};
+    private static final String[] FIRST_NAMES = {"John", "Mary", "Peter", "Anna", "Luis", "Sofia"};
+    private static final String[] LAST_NAMES = {"James", "Smith", "Lopez", "Brown", "Garcia", "Miller"};
+    private static final long SHIP_DATE_BASE = Instant.parse("2021-07-01T00:00:00Z").getEpochSecond();
+
+    private final SplittableRandom random;
+
+    public ModelGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private ModelGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    /**
+     * A generator for another thread, with its own independent sequence.
+     */
+    public ModelGenerator split() {
+        return new ModelGenerator(random.split());
+    }
+
+    public Pet pet(long id) {
+        int category = random.nextInt(CATEGORIES.length);
+        Pet.Builder pet = Pet.builder()
+                .id(id)
+                .category(category + 1, CATEGORIES[category])
+                .name(pick(NAMES))
+                .photoUrl("https://example.org/photos/" + id + ".png")
+                .status(pick(PET_STATUSES));
+        int tags = 1 + random.nextInt(2);
+        for (int i = 0; i < tags; i++) {
+            int tag = random.nextInt(TAGS.length);
+            pet.tag(tag + 1, TAGS[tag]);
+        }
+        return pet.build();
+    }
+
+    public Order order(long id, long petId) {
+        return Order.builder()
+                .id(id)
+                .petId(petId)
+                .quantity(1 + random.nextInt(10))
+                .shipDate(Instant.ofEpochSecond(SHIP_DATE_BASE + random.nextInt(365 * 24 * 3600)).truncatedTo(ChronoUnit.SECONDS).toString())
+                .status(pick(ORDER_STATUSES))
+                .complete(random.nextBoolean())
+                .build();
+    }
+
+    public User user(long id) {
+        String firstName = pick(FIRST_NAMES);
+        String lastName = pick(LAST_NAMES);
+        String username = "user" + id;
+        return User.builder()
+                .id(id)
+                .username(username)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(username + "@example.org")
+                .password(Long.toHexString(random.nextLong()))
+                .phone(String.valueOf(1_000_000 + random.nextInt(9_000_000)))
+                .userStatus(random.nextInt(3))
+                .build();
+    }
+
+    /**
+     * Users with the consecutive IDs {@code firstId .. firstId + count - 1}.
+     */
+    public List<User> users(long firstId, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(firstId + i));
+        }
+        return users;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
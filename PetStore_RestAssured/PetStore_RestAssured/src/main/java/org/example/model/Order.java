@@ -0,0 +1,137 @@
+package org.example.model;
+
+import org.example.json.JsonWritable;
+import org.example.json.JsonWriter;
+
+/**
+ * A purchase order as sent to {@code /store/order}. The ship date is kept as text so malformed dates can be sent;
+ * fields left {@code null} are left out of the JSON.
+ */
+public final class Order implements JsonWritable {
+
+    private static final byte[] ID = JsonWriter.name("id");
+    private static final byte[] PET_ID = JsonWriter.name("petId");
+    private static final byte[] QUANTITY = JsonWriter.name("quantity");
+    private static final byte[] SHIP_DATE = JsonWriter.name("shipDate");
+    private static final byte[] STATUS = JsonWriter.name("status");
+    private static final byte[] COMPLETE = JsonWriter.name("complete");
+
+    private final Long id;
+    private final Long petId;
+    private final Integer quantity;
+    private final String shipDate;
+    private final String status;
+    private final Boolean complete;
+
+    private Order(Builder builder) {
+        this.id = builder.id;
+        this.petId = builder.petId;
+        this.quantity = builder.quantity;
+        this.shipDate = builder.shipDate;
+        this.status = builder.status;
+        this.complete = builder.complete;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Long id() {
+        return id;
+    }
+
+    public Long petId() {
+        return petId;
+    }
+
+    public Integer quantity() {
+        return quantity;
+    }
+
+    public String shipDate() {
+        return shipDate;
+    }
+
+    public String status() {
+        return status;
+    }
+
+    public Boolean complete() {
+        return complete;
+    }
+
+    public Builder toBuilder() {
+        return new Builder().id(id).petId(petId).quantity(quantity).shipDate(shipDate).status(status).complete(complete);
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) {
+        out.beginObject()
+                .optional(ID, id)
+                .optional(PET_ID, petId)
+                .optional(QUANTITY, quantity)
+                .optional(SHIP_DATE, shipDate)
+                .optional(STATUS, status)
+                .optional(COMPLETE, complete)
+                .endObject();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    public static final class Builder {
+        private Long id;
+        private Long petId;
+        private Integer quantity;
+        private String shipDate;
+        private String status;
+        private Boolean complete;
+
+        private Builder() {
+        }
+
+        public Builder id(long id) {
+            return id(Long.valueOf(id));
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder petId(long petId) {
+            return petId(Long.valueOf(petId));
+        }
+
+        public Builder petId(Long petId) {
+            this.petId = petId;
+            return this;
+        }
+
+        public Builder quantity(Integer quantity) {
+            this.quantity = quantity;
+            return this;
+        }
+
+        public Builder shipDate(String shipDate) {
+            this.shipDate = shipDate;
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Builder complete(Boolean complete) {
+            this.complete = complete;
+            return this;
+        }
+
+        public Order build() {
+            return new Order(this);
+        }
+    }
+}
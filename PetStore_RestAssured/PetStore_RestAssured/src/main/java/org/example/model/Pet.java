@@ -0,0 +1,169 @@
+package org.example.model;
+
+import org.example.json.JsonWritable;
+import org.example.json.JsonWriter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A pet as sent to {@code /pet}. Every field is optional so that partial and invalid payloads can be built too;
+ * fields left {@code null} are left out of the JSON.
+ */
+public final class Pet implements JsonWritable {
+
+    private static final byte[] ID = JsonWriter.name("id");
+    private static final byte[] CATEGORY = JsonWriter.name("category");
+    private static final byte[] NAME = JsonWriter.name("name");
+    private static final byte[] PHOTO_URLS = JsonWriter.name("photoUrls");
+    private static final byte[] TAGS = JsonWriter.name("tags");
+    private static final byte[] STATUS = JsonWriter.name("status");
+
+    private final Long id;
+    private final Category category;
+    private final String name;
+    private final List<String> photoUrls;
+    private final List<Tag> tags;
+    private final String status;
+
+    private Pet(Builder builder) {
+        this.id = builder.id;
+        this.category = builder.category;
+        this.name = builder.name;
+        this.photoUrls = builder.photoUrls == null ? null : Collections.unmodifiableList(new ArrayList<>(builder.photoUrls));
+        this.tags = builder.tags == null ? null : Collections.unmodifiableList(new ArrayList<>(builder.tags));
+        this.status = builder.status;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Long id() {
+        return id;
+    }
+
+    public Category category() {
+        return category;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<String> photoUrls() {
+        return photoUrls;
+    }
+
+    public List<Tag> tags() {
+        return tags;
+    }
+
+    public String status() {
+        return status;
+    }
+
+    /**
+     * A builder starting from this pet's values.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder().id(id).category(category).name(name).status(status);
+        builder.photoUrls = photoUrls == null ? null : new ArrayList<>(photoUrls);
+        builder.tags = tags == null ? null : new ArrayList<>(tags);
+        return builder;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) {
+        out.beginObject().optional(ID, id);
+        if (category != null) {
+            category.writeTo(out.name(CATEGORY));
+        }
+        out.optional(NAME, name);
+        if (photoUrls != null) {
+            out.name(PHOTO_URLS).beginArray();
+            for (String photoUrl : photoUrls) {
+                out.value(photoUrl);
+            }
+            out.endArray();
+        }
+        if (tags != null) {
+            out.name(TAGS).beginArray();
+            for (Tag tag : tags) {
+                tag.writeTo(out);
+            }
+            out.endArray();
+        }
+        out.optional(STATUS, status).endObject();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    public static final class Builder {
+        private Long id;
+        private Category category;
+        private String name;
+        private List<String> photoUrls;
+        private List<Tag> tags;
+        private String status;
+
+        private Builder() {
+        }
+
+        public Builder id(long id) {
+            return id(Long.valueOf(id));
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder category(long id, String name) {
+            return category(new Category(id, name));
+        }
+
+        public Builder category(Category category) {
+            this.category = category;
+            return this;
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder photoUrl(String photoUrl) {
+            if (photoUrls == null) {
+                photoUrls = new ArrayList<>(2);
+            }
+            photoUrls.add(photoUrl);
+            return this;
+        }
+
+        public Builder tag(long id, String name) {
+            return tag(new Tag(id, name));
+        }
+
+        public Builder tag(Tag tag) {
+            if (tags == null) {
+                tags = new ArrayList<>(2);
+            }
+            tags.add(tag);
+            return this;
+        }
+
+        public Builder status(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public Pet build() {
+            return new Pet(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.model;
+
+import org.example.json.JsonWritable;
+import org.example.json.JsonWriter;
+
+public final class Tag implements JsonWritable {
+
+    private static final byte[] ID = JsonWriter.name("id");
+    private static final byte[] NAME = JsonWriter.name("name");
+
+    private final Long id;
+    private final String name;
+
+    public Tag(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long id() {
+        return id;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) {
+        out.beginObject()
+                .optional(ID, id)
+                .optional(NAME, name)
+                .endObject();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.model;
+
+import org.example.json.JsonWritable;
+import org.example.json.JsonWriter;
+
+import java.util.List;
+
+/**
+ * A user as sent to {@code /user}; fields left {@code null} are left out of the JSON.
+ */
+public final class User implements JsonWritable {
+
+    private static final byte[] ID = JsonWriter.name("id");
+    private static final byte[] USERNAME = JsonWriter.name("username");
+    private static final byte[] FIRST_NAME = JsonWriter.name("firstName");
+    private static final byte[] LAST_NAME = JsonWriter.name("lastName");
+    private static final byte[] EMAIL = JsonWriter.name("email");
+    private static final byte[] PASSWORD = JsonWriter.name("password");
+    private static final byte[] PHONE = JsonWriter.name("phone");
+    private static final byte[] USER_STATUS = JsonWriter.name("userStatus");
+
+    private final Long id;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String password;
+    private final String phone;
+    private final Integer userStatus;
+
+    private User(Builder builder) {
+        this.id = builder.id;
+        this.username = builder.username;
+        this.firstName = builder.firstName;
+        this.lastName = builder.lastName;
+        this.email = builder.email;
+        this.password = builder.password;
+        this.phone = builder.phone;
+        this.userStatus = builder.userStatus;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Writes the users as one JSON array, the body of {@code /user/createWithList}.
+     */
+    public static void writeList(List<User> users, JsonWriter out) {
+        out.beginArray();
+        for (User user : users) {
+            user.writeTo(out);
+        }
+        out.endArray();
+    }
+
+    public static String toJson(List<User> users) {
+        JsonWriter out = JsonWriter.local();
+        writeList(users, out);
+        return out.toString();
+    }
+
+    public Long id() {
+        return id;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String firstName() {
+        return firstName;
+    }
+
+    public String lastName() {
+        return lastName;
+    }
+
+    public String email() {
+        return email;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    public String phone() {
+        return phone;
+    }
+
+    public Integer userStatus() {
+        return userStatus;
+    }
+
+    public Builder toBuilder() {
+        return new Builder().id(id).username(username).firstName(firstName).lastName(lastName)
+                .email(email).password(password).phone(phone).userStatus(userStatus);
+    }
+
+    @Override
+    public void writeTo(JsonWriter out) {
+        out.beginObject()
+                .optional(ID, id)
+                .optional(USERNAME, username)
+                .optional(FIRST_NAME, firstName)
+                .optional(LAST_NAME, lastName)
+                .optional(EMAIL, email)
+                .optional(PASSWORD, password)
+                .optional(PHONE, phone)
+                .optional(USER_STATUS, userStatus)
+                .endObject();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    public static final class Builder {
+        private Long id;
+        private String username;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String password;
+        private String phone;
+        private Integer userStatus;
+
+        private Builder() {
+        }
+
+        public Builder id(long id) {
+            return id(Long.valueOf(id));
+        }
+
+        public Builder id(Long id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder username(String username) {
+            this.username = username;
+            return this;
+        }
+
+        public Builder firstName(String firstName) {
+            this.firstName = firstName;
+            return this;
+        }
+
+        public Builder lastName(String lastName) {
+            this.lastName = lastName;
+            return this;
+        }
+
+        public Builder email(String email) {
+            this.email = email;
+            return this;
+        }
+
+        public Builder password(String password) {
+            this.password = password;
+            return this;
+        }
+
+        public Builder phone(String phone) {
+            this.phone = phone;
+            return this;
+        }
+
+        public Builder userStatus(Integer userStatus) {
+            this.userStatus = userStatus;
+            return this;
+        }
+
+        public User build() {
+            return new User(this);
+        }
+    }
+}
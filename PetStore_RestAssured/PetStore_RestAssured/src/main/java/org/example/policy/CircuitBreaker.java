@@ -0,0 +1,66 @@
+package org.example.policy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The circuit of one endpoint template. It opens after {@code failures} failed exchanges in a row (5xx or no
+ * response), rejects every request while open, and after {@code openMillis} lets a single probe through: the circuit
+ * closes if the probe succeeds and opens again if it fails.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failures;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int failedInARow;
+    private long openedAt;
+
+    /**
+     * @param failures failures in a row that open the circuit; 0 keeps it closed
+     */
+    public CircuitBreaker(int failures, long openMillis) {
+        this.failures = failures;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    }
+
+    /**
+     * Whether a request may be sent now; moves an open circuit whose time is up to half-open and admits its probe.
+     */
+    public synchronized boolean allow() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized void success() {
+        failedInARow = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a failure and returns whether it opened the circuit.
+     */
+    public synchronized boolean failure() {
+        failedInARow++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures > 0 && failedInARow >= failures)) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,361 @@
+package org.example.policy;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.example.timing.EndpointTemplates;
+import org.example.timing.ExchangeTimings;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * RestAssured filter that applies {@link PolicyRules} to every exchange: per-endpoint connect and read timeouts,
+ * retries of idempotent requests ({@code GET}, {@code HEAD}, {@code PUT}, {@code DELETE}, {@code OPTIONS}) after
+ * 408, 429, 5xx or no response, with jittered exponential backoff and within a shared {@link RetryBudget}, a
+ * {@link CircuitBreaker} per endpoint template, and hedging of the {@code GET}s whose policy sets {@code hedge}: when
+ * the first copy has not been answered within that time a second one is sent, and whichever answers first is used.
+ * An open circuit answers 503 itself, with an {@code X-Petstore-Policy: circuit-open} header.
+ *
+ * <p>Add it as the last filter of a spec. RestAssured runs a filter chain only once, so the first attempt goes down
+ * the chain and every retry or hedge is a copy of the request (configuration, headers, cookies and body) sent on its
+ * own; the filters before this one see each request once, with the total time of all its attempts. The timeouts only take effect with the
+ * {@code ConnectionPool} configuration, whose client reads them from {@link RequestTimeouts}. Both copies of a hedged
+ * exchange are sent from the policy's own threads; the DNS, connect and first-byte phases of the copy that answers are
+ * handed back to the caller's thread, so the request timer records them as for any other exchange.
+ *
+ * <p>{@link #shared()} is configured by {@code petstore.policy.enabled} (false: the functional suites must see every
+ * failure of the backend, so retries and hedging are opted into for load and resilience runs), {@code petstore.policy.rules}
+ * ({@code GET /pet/{id}=hedge:100}), {@code petstore.policy.retryRatio} (0.2) and
+ * {@code petstore.policy.retryReserve} (10), and prints its counters when the JVM exits.
+ */
+public class ClientPolicy implements Filter, AutoCloseable {
+
+    public static final String ENABLED_PROPERTY = "petstore.policy.enabled";
+    public static final String RULES_PROPERTY = "petstore.policy.rules";
+    public static final String RETRY_RATIO_PROPERTY = "petstore.policy.retryRatio";
+    public static final String RETRY_RESERVE_PROPERTY = "petstore.policy.retryReserve";
+
+    public static final String HEADER = "X-Petstore-Policy";
+
+    private static final Set<String> IDEMPOTENT = Set.of("GET", "HEAD", "PUT", "DELETE", "OPTIONS");
+
+    private static ClientPolicy shared;
+
+    private final boolean enabled;
+    private final PolicyRules rules;
+    private final RetryBudget budget;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ExecutorService hedging;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder refused = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public ClientPolicy(boolean enabled, PolicyRules rules, RetryBudget budget) {
+        this.enabled = enabled;
+        this.rules = rules;
+        this.budget = budget;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hedging = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "client-policy-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ClientPolicy fromSystemProperties() {
+        return new ClientPolicy(
+                Boolean.getBoolean(ENABLED_PROPERTY),
+                PolicyRules.parse(System.getProperty(RULES_PROPERTY, "GET /pet/{id}=hedge:100")),
+                new RetryBudget(Double.parseDouble(System.getProperty(RETRY_RATIO_PROPERTY, "0.2")), Integer.getInteger(RETRY_RESERVE_PROPERTY, 10)));
+    }
+
+    /**
+     * Returns the policy shared by all suites in this JVM. When it is enabled, its counters are printed at exit.
+     */
+    public static synchronized ClientPolicy shared() {
+        if (shared == null) {
+            shared = fromSystemProperties();
+            if (shared.enabled) {
+                ClientPolicy policy = shared;
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println(policy), "client-policy-stats"));
+            }
+        }
+        return shared;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        if (!enabled) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String endpoint = EndpointTemplates.of(requestSpec);
+        EndpointPolicy policy = rules.forEndpoint(endpoint);
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint, key -> new CircuitBreaker(policy.breakerFailures(), policy.openMillis()));
+        boolean idempotent = IDEMPOTENT.contains(requestSpec.getMethod());
+        boolean hedged = policy.hedgeMillis() > 0 && requestSpec.getMethod().equals("GET");
+        requests.increment();
+        budget.request();
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.allow()) {
+                rejected.increment();
+                return circuitOpen(endpoint);
+            }
+            Callable<Response> send = attempt == 1 ? () -> ctx.next(requestSpec, responseSpec) : () -> resend(requestSpec);
+            Response response = null;
+            Exception failure = null;
+            try {
+                response = hedged ? hedged(policy, send, () -> resend(requestSpec)) : timed(policy, send);
+            } catch (IOException | UncheckedIOException e) {
+                failure = e;
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                // not retried, but still the outcome of this attempt, which may have been the half-open probe
+                if (breaker.failure()) {
+                    opened.increment();
+                }
+                return outcome(null, e);
+            }
+            int status = response == null ? -1 : response.getStatusCode();
+            if (failure == null && status < 500) {
+                breaker.success();
+            } else if (breaker.failure()) {
+                opened.increment();
+            }
+            if (!retryable(status) || !idempotent || attempt > policy.retries()) {
+                return outcome(response, failure);
+            }
+            if (!budget.tryRetry()) {
+                refused.increment();
+                return outcome(response, failure);
+            }
+            if (response != null) {
+                response.asByteArray();
+            }
+            retries.increment();
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong((policy.backoffMillis() << Math.min(attempt - 1, 16)) + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return outcome(response, failure);
+            }
+        }
+    }
+
+    /**
+     * Sends {@code primary} and, if it is not answered within the hedge delay and the budget allows, {@code hedge};
+     * returns the first response, or the last failure if neither answered.
+     */
+    private Response hedged(EndpointPolicy policy, Callable<Response> primary, Callable<Response> hedge) throws Exception {
+        CompletionService<Attempt> race = new ExecutorCompletionService<>(hedging);
+        race.submit(() -> attempt(policy, primary));
+        int pending = 1;
+        Future<Attempt> first = race.poll(policy.hedgeMillis(), TimeUnit.MILLISECONDS);
+        Future<Attempt> second = null;
+        if (first == null) {
+            if (budget.tryRetry()) {
+                hedges.increment();
+                second = race.submit(() -> attempt(policy, hedge));
+                pending++;
+            } else {
+                refused.increment();
+            }
+        }
+        Exception failure = null;
+        for (; pending > 0; pending--) {
+            Future<Attempt> done = first != null ? first : race.take();
+            first = null;
+            try {
+                Attempt attempt = done.get();
+                if (done == second) {
+                    hedgesWon.increment();
+                }
+                ExchangeTimings.adopt(attempt.phases);
+                return attempt.response;
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Sends one copy of a hedged exchange on a policy thread, reading its body and noting the phases it reported.
+     */
+    private Attempt attempt(EndpointPolicy policy, Callable<Response> send) throws Exception {
+        ExchangeTimings.reset();
+        Response response = read(timed(policy, send));
+        return new Attempt(response, ExchangeTimings.capture());
+    }
+
+    private Response timed(EndpointPolicy policy, Callable<Response> attempt) throws Exception {
+        RequestTimeouts.set(policy);
+        try {
+            return attempt.call();
+        } catch (InterruptedIOException e) {
+            timeouts.increment();
+            throw e;
+        } finally {
+            RequestTimeouts.clear();
+        }
+    }
+
+    /**
+     * Reads the body, which releases the connection even when the response loses the race and is dropped.
+     */
+    private static Response read(Response response) {
+        response.asByteArray();
+        return response;
+    }
+
+    /**
+     * Sends a copy of the request outside the filter chain, which has already been used up by the first attempt.
+     */
+    private static Response resend(FilterableRequestSpecification requestSpec) {
+        RequestSpecification copy = RestAssured.given()
+                .config(requestSpec.getConfig() == null ? RestAssured.config() : requestSpec.getConfig())
+                .headers(requestSpec.getHeaders())
+                .cookies(requestSpec.getCookies())
+                .urlEncodingEnabled(false);
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            copy.body(body);
+        }
+        return copy.request(requestSpec.getMethod(), requestSpec.getURI());
+    }
+
+    private static boolean retryable(int status) {
+        return status < 0 || status == 408 || status == 429 || status >= 500;
+    }
+
+    private static Response outcome(Response response, Exception failure) {
+        if (failure == null) {
+            return response;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof IOException) {
+            throw new UncheckedIOException(failure.getMessage(), (IOException) failure);
+        }
+        throw new IllegalStateException(failure);
+    }
+
+    private static Response circuitOpen(String endpoint) {
+        return new ResponseBuilder()
+                .setStatusCode(503)
+                .setStatusLine("HTTP/1.1 503 Service Unavailable")
+                .setHeaders(new Headers(new Header(HEADER, "circuit-open")))
+                .setBody("Circuit of " + endpoint + " is open")
+                .build();
+    }
+
+    /**
+     * The circuit of an endpoint template, e.g. {@code GET /pet/{id}}; closed for endpoints not used yet.
+     */
+    public CircuitBreaker.State circuit(String endpoint) {
+        CircuitBreaker breaker = breakers.get(endpoint);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Retries and hedges not sent because the budget was spent.
+     */
+    public long refused() {
+        return refused.sum();
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    /**
+     * Hedges answered before the request they copied.
+     */
+    public long hedgesWon() {
+        return hedgesWon.sum();
+    }
+
+    /**
+     * Attempts that gave up connecting or waiting for response bytes.
+     */
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * How often a circuit opened.
+     */
+    public long opened() {
+        return opened.sum();
+    }
+
+    /**
+     * Requests an open circuit answered without sending them.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Client policy: %d requests, %d retries (%d refused by the budget), %d hedges (%d won), %d timeouts, %d circuits opened, %d requests rejected",
+                requests(), retries(), refused(), hedges(), hedgesWon(), timeouts(), opened(), rejected());
+    }
+
+    @Override
+    public void close() {
+        hedging.shutdownNow();
+    }
+
+    /**
+     * A response and the phases its exchange reported on the thread that sent it.
+     */
+    private static final class Attempt {
+        final Response response;
+        final ExchangeTimings.Phases phases;
+
+        Attempt(Response response, ExchangeTimings.Phases phases) {
+            this.response = response;
+            this.phases = phases;
+        }
+    }
+}
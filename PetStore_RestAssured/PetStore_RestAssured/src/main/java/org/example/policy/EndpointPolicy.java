@@ -0,0 +1,120 @@
+package org.example.policy;
+
+/**
+ * How the {@link ClientPolicy} treats the requests to one endpoint template: its connect and read timeouts, how often
+ * and how far apart idempotent requests are retried, when a {@code GET} is hedged, and when its circuit opens.
+ * Instances are immutable; {@link #with(String, long)} returns a changed copy.
+ */
+public final class EndpointPolicy {
+
+    /**
+     * Connect 2 s, read 10 s, 2 retries starting at 50 ms, no hedging, circuit opens for 1 s after 5 failures in a row.
+     */
+    public static final EndpointPolicy DEFAULTS = new EndpointPolicy(2000, 10_000, 2, 50, 0, 5, 1000);
+
+    private final int connectMillis;
+    private final int readMillis;
+    private final int retries;
+    private final long backoffMillis;
+    private final long hedgeMillis;
+    private final int breakerFailures;
+    private final long openMillis;
+
+    private EndpointPolicy(int connectMillis, int readMillis, int retries, long backoffMillis, long hedgeMillis, int breakerFailures, long openMillis) {
+        this.connectMillis = connectMillis;
+        this.readMillis = readMillis;
+        this.retries = retries;
+        this.backoffMillis = backoffMillis;
+        this.hedgeMillis = hedgeMillis;
+        this.breakerFailures = breakerFailures;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Returns a copy with one setting changed. The keys are {@code connect}, {@code read}, {@code backoff},
+     * {@code hedge} and {@code open} in milliseconds, {@code retries}, and {@code breaker} for the failures in a row
+     * that open the circuit.
+     *
+     * @throws IllegalArgumentException for an unknown key or a negative value
+     */
+    public EndpointPolicy with(String key, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Policy setting '" + key + "' must not be negative, was " + value);
+        }
+        switch (key) {
+            case "connect":
+                return new EndpointPolicy(Math.toIntExact(value), readMillis, retries, backoffMillis, hedgeMillis, breakerFailures, openMillis);
+            case "read":
+                return new EndpointPolicy(connectMillis, Math.toIntExact(value), retries, backoffMillis, hedgeMillis, breakerFailures, openMillis);
+            case "retries":
+                return new EndpointPolicy(connectMillis, readMillis, Math.toIntExact(value), backoffMillis, hedgeMillis, breakerFailures, openMillis);
+            case "backoff":
+                return new EndpointPolicy(connectMillis, readMillis, retries, value, hedgeMillis, breakerFailures, openMillis);
+            case "hedge":
+                return new EndpointPolicy(connectMillis, readMillis, retries, backoffMillis, value, breakerFailures, openMillis);
+            case "breaker":
+                return new EndpointPolicy(connectMillis, readMillis, retries, backoffMillis, hedgeMillis, Math.toIntExact(value), openMillis);
+            case "open":
+                return new EndpointPolicy(connectMillis, readMillis, retries, backoffMillis, hedgeMillis, breakerFailures, value);
+            default:
+                throw new IllegalArgumentException("Unknown policy setting '" + key + "'");
+        }
+    }
+
+    /**
+     * Connect timeout in milliseconds; 0 waits forever.
+     */
+    public int connectMillis() {
+        return connectMillis;
+    }
+
+    /**
+     * Socket read timeout in milliseconds, i.e. the longest silence while waiting for the response status line and
+     * headers; 0 waits forever.
+     */
+    public int readMillis() {
+        return readMillis;
+    }
+
+    /**
+     * Retries after the first attempt of an idempotent request.
+     */
+    public int retries() {
+        return retries;
+    }
+
+    /**
+     * The upper bound of the first backoff; it doubles with every further retry, and the actual delay is drawn
+     * uniformly below it.
+     */
+    public long backoffMillis() {
+        return backoffMillis;
+    }
+
+    /**
+     * How long a {@code GET} may go unanswered before a second copy is sent; 0 never hedges.
+     */
+    public long hedgeMillis() {
+        return hedgeMillis;
+    }
+
+    /**
+     * Failures in a row that open the circuit; 0 never opens it.
+     */
+    public int breakerFailures() {
+        return breakerFailures;
+    }
+
+    /**
+     * How long an open circuit rejects requests before it lets one probe through.
+     */
+    public long openMillis() {
+        return openMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "connect:" + connectMillis + ",read:" + readMillis + ",retries:" + retries + ",backoff:" + backoffMillis
+                + ",hedge:" + hedgeMillis + ",breaker:" + breakerFailures + ",open:" + openMillis;
+    }
+}
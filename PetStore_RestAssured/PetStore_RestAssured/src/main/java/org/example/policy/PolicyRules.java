@@ -0,0 +1,74 @@
+package org.example.policy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link EndpointPolicy}s per endpoint template, written like a latency budget:
+ * <pre>
+ * GET /pet/{id}=read:2000,hedge:100;POST /pet=connect:500;*=read:10000,retries:2
+ * </pre>
+ * Entries are separated by {@code ;} and settings by {@code ,}. {@code *} changes the defaults of every endpoint;
+ * an endpoint's own entry only overrides the settings it names.
+ */
+public final class PolicyRules {
+
+    private static final String ANY = "*";
+
+    private final EndpointPolicy defaults;
+    private final Map<String, EndpointPolicy> endpoints;
+
+    private PolicyRules(EndpointPolicy defaults, Map<String, EndpointPolicy> endpoints) {
+        this.defaults = defaults;
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rules cannot be parsed
+     */
+    public static PolicyRules parse(String spec) {
+        Map<String, String> entries = new LinkedHashMap<>();
+        if (spec != null) {
+            for (String entry : spec.split(";")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                int equals = entry.lastIndexOf('=');
+                if (equals < 0) {
+                    throw new IllegalArgumentException("Expected <endpoint>=<settings> in policy entry '" + entry + "'");
+                }
+                entries.put(entry.substring(0, equals).trim(), entry.substring(equals + 1));
+            }
+        }
+        EndpointPolicy defaults = apply(EndpointPolicy.DEFAULTS, entries.remove(ANY));
+        Map<String, EndpointPolicy> endpoints = new LinkedHashMap<>();
+        entries.forEach((endpoint, settings) -> endpoints.put(endpoint, apply(defaults, settings)));
+        return new PolicyRules(defaults, Map.copyOf(endpoints));
+    }
+
+    private static EndpointPolicy apply(EndpointPolicy policy, String settings) {
+        if (settings == null) {
+            return policy;
+        }
+        for (String setting : settings.split(",")) {
+            String text = setting.trim();
+            int colon = text.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Expected <setting>:<value> in policy setting '" + text + "'");
+            }
+            try {
+                policy = policy.with(text.substring(0, colon), Long.parseLong(text.substring(colon + 1).replace("ms", "")));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number in policy setting '" + text + "'", e);
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * The policy of an endpoint template such as {@code GET /pet/{id}}.
+     */
+    public EndpointPolicy forEndpoint(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+}
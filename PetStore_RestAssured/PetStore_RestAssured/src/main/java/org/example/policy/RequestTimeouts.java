@@ -0,0 +1,38 @@
+package org.example.policy;
+
+/**
+ * The timeouts of the exchange the current thread is sending, set by the {@link ClientPolicy} and applied by the
+ * connection pool's HTTP client when it connects and before it sends. RestAssured sends synchronously, so both see
+ * the same thread; without a policy both timeouts are 0 and the client keeps its own.
+ */
+public final class RequestTimeouts {
+
+    private static final ThreadLocal<EndpointPolicy> CURRENT = new ThreadLocal<>();
+
+    private RequestTimeouts() {
+    }
+
+    static void set(EndpointPolicy policy) {
+        CURRENT.set(policy);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The connect timeout in milliseconds, or 0 when none is set.
+     */
+    public static int connectMillis() {
+        EndpointPolicy policy = CURRENT.get();
+        return policy == null ? 0 : policy.connectMillis();
+    }
+
+    /**
+     * The read timeout in milliseconds, or 0 when none is set.
+     */
+    public static int readMillis() {
+        EndpointPolicy policy = CURRENT.get();
+        return policy == null ? 0 : policy.readMillis();
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.policy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries (and hedges) at a fraction of the requests sent, so a struggling backend is not buried under a
+ * multiple of its normal load. Every request deposits {@code ratio} of a token, every retry withdraws a whole one, and
+ * the balance never exceeds {@code reserve} tokens, which is also what it starts with: short bursts of up to
+ * {@code reserve} retries always go through, sustained ones at no more than {@code ratio} per request.
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long max;
+    private final AtomicLong balance;
+
+    /**
+     * @param ratio   retries allowed per request in the long run, e.g. 0.2
+     * @param reserve retries allowed in a burst
+     */
+    public RetryBudget(double ratio, int reserve) {
+        if (ratio < 0 || reserve < 0) {
+            throw new IllegalArgumentException("Retry budget ratio and reserve must not be negative, were " + ratio + " and " + reserve);
+        }
+        this.deposit = Math.round(ratio * SCALE);
+        this.max = reserve * SCALE;
+        this.balance = new AtomicLong(max);
+    }
+
+    /**
+     * Counts a first attempt.
+     */
+    public void request() {
+        if (deposit > 0) {
+            balance.getAndUpdate(current -> Math.min(max, current + deposit));
+        }
+    }
+
+    /**
+     * Withdraws one retry, or returns false when the budget is spent.
+     */
+    public boolean tryRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.replay;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 64-bit FNV-1a hash of what makes a request distinct: method, target, body and the {@code If-None-Match} validator.
+ * Headers that only describe the client, such as {@code User-Agent} or {@code Accept}, are left out, so RestAssured
+ * and java.net.http requests for the same thing match the same recording.
+ */
+public final class Fingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private Fingerprint() {
+    }
+
+    /**
+     * @param body        the request body, or {@code null} for none
+     * @param ifNoneMatch the {@code If-None-Match} header, or {@code null}
+     */
+    public static long of(String method, String target, byte[] body, String ifNoneMatch) {
+        long hash = OFFSET_BASIS;
+        hash = mix(hash, method.getBytes(StandardCharsets.US_ASCII));
+        hash = mix(hash, target.getBytes(StandardCharsets.UTF_8));
+        hash = mix(hash, body == null ? new byte[0] : body);
+        if (ifNoneMatch != null) {
+            hash = mix(hash, ifNoneMatch.getBytes(StandardCharsets.UTF_8));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= PRIME;
+        }
+        // A separator after every part, so "ab" + "c" and "a" + "bc" hash differently
+        hash ^= 0xff;
+        return hash * PRIME;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.replay;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One request and the response it got, as kept in a {@link TrafficLog}. The request is reduced to its method, target
+ * and {@link Fingerprint}; the response is kept whole, with the headers a replay has to send back.
+ */
+public final class RecordedExchange {
+
+    private final long fingerprint;
+    private final long offsetNanos;
+    private final long latencyNanos;
+    private final String method;
+    private final String target;
+    private final int status;
+    private final Map<String, String> headers;
+    private final byte[] body;
+
+    /**
+     * @param offsetNanos  when the request arrived, counted from the start of the recording
+     * @param latencyNanos how long the upstream took to answer it
+     * @param target       the raw path and query, e.g. {@code /api/v3/pet/findByStatus?status=sold}
+     */
+    public RecordedExchange(long fingerprint, long offsetNanos, long latencyNanos, String method, String target,
+                            int status, Map<String, String> headers, byte[] body) {
+        this.fingerprint = fingerprint;
+        this.offsetNanos = offsetNanos;
+        this.latencyNanos = latencyNanos;
+        this.method = method;
+        this.target = target;
+        this.status = status;
+        this.headers = Collections.unmodifiableMap(headers);
+        this.body = body;
+    }
+
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public long offsetNanos() {
+        return offsetNanos;
+    }
+
+    public long latencyNanos() {
+        return latencyNanos;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String target() {
+        return target;
+    }
+
+    public int status() {
+        return status;
+    }
+
+    public Map<String, String> headers() {
+        return headers;
+    }
+
+    public byte[] body() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s %s -> %d (%d bytes, %.2f ms)", method, target, status, body.length,
+                latencyNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+    }
+}
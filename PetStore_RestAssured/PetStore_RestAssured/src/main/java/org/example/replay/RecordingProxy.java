@@ -0,0 +1,133 @@
+package org.example.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loopback HTTP proxy that forwards every request to an upstream Petstore and appends the exchange to a
+ * {@link TrafficLog}. Point any client at {@link #baseUri()} instead of the upstream to capture its traffic, whether it
+ * goes through RestAssured or java.net.http; a {@link ReplayServer} serves the log back later without the upstream.
+ */
+public class RecordingProxy implements AutoCloseable {
+
+    public static final String FILE_PROPERTY = "petstore.record.file";
+
+    /**
+     * Request headers that change the response and are passed upstream; the rest only describe the client.
+     */
+    private static final List<String> FORWARDED = List.of("Content-Type", "Accept", "If-None-Match", "If-Modified-Since");
+
+    /**
+     * Response headers that belong to one connection or moment rather than to the response.
+     */
+    private static final Set<String> NOT_RECORDED = Set.of("content-length", "transfer-encoding", "connection", "keep-alive", "date");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String upstream;
+    private final HttpClient http;
+    private final TrafficLog log;
+    private final long startNanos = System.nanoTime();
+
+    private RecordingProxy(HttpServer server, ExecutorService executor, String upstream, HttpClient http, TrafficLog log) {
+        this.server = server;
+        this.executor = executor;
+        this.upstream = upstream.endsWith("/") ? upstream.substring(0, upstream.length() - 1) : upstream;
+        this.http = http;
+        this.log = log;
+    }
+
+    /**
+     * Starts a proxy on an ephemeral loopback port. Closing it closes the log.
+     *
+     * @param upstream base URI of the Petstore to record, e.g. {@code http://localhost:8080/}
+     */
+    public static RecordingProxy start(String upstream, HttpClient http, TrafficLog log) {
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "recording-proxy-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            RecordingProxy proxy = new RecordingProxy(httpServer, executor, upstream, http, log);
+            httpServer.createContext("/", proxy::handle);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            return proxy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the recording proxy", e);
+        }
+    }
+
+    public String baseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public TrafficLog log() {
+        return log;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        log.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String target = exchange.getRequestURI().getRawPath()
+                    + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery());
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + target))
+                    .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+            for (String name : FORWARDED) {
+                String value = exchange.getRequestHeaders().getFirst(name);
+                if (value != null) {
+                    request.header(name, value);
+                }
+            }
+            long sent = System.nanoTime();
+            HttpResponse<byte[]> response;
+            try {
+                response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            } catch (IOException e) {
+                exchange.sendResponseHeaders(502, -1);
+                return;
+            }
+            long latency = System.nanoTime() - sent;
+            Map<String, String> headers = new LinkedHashMap<>();
+            response.headers().map().forEach((name, values) -> {
+                if (!name.startsWith(":") && !NOT_RECORDED.contains(name.toLowerCase())) {
+                    headers.put(name, values.get(0));
+                }
+            });
+            log.append(new RecordedExchange(Fingerprint.of(method, target, body, exchange.getRequestHeaders().getFirst("If-None-Match")),
+                    sent - startNanos, latency, method, target, response.statusCode(), headers, response.body()));
+            ReplayServer.send(exchange, response.statusCode(), headers, response.body());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.replay;
+
+import org.example.load.LoadRunner;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command-line entry point of the {@link ReplayServer}, e.g.
+ * <pre>
+ * java org.example.replay.Replay --log=target/traffic.log --port=8080 --speed=1
+ * </pre>
+ * It serves the log until the process is stopped and then prints how many requests were answered from it.
+ * {@code --speed} scales the recorded latencies (1 by default, 0 for none) and {@code --port} defaults to 8080.
+ * The load runner can be pointed at it with {@code --base-uri=http://127.0.0.1:8080/}.
+ */
+public class Replay {
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = LoadRunner.parseArgs(args);
+        if (!options.containsKey("log")) {
+            throw new IllegalArgumentException("--log=<traffic log> is required");
+        }
+        long start = System.nanoTime();
+        ReplayServer replay = ReplayServer.start(Integer.parseInt(options.getOrDefault("port", "8080")),
+                Path.of(options.get("log")), Double.parseDouble(options.getOrDefault("speed", "1")));
+        System.out.printf("Loaded %d exchanges (%d distinct requests) in %d ms, serving them at %s%n", replay.exchanges(),
+                replay.fingerprints(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), replay.baseUri());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            replay.close();
+            System.out.println(replay);
+        }, "replay-shutdown"));
+        new CountDownLatch(1).await();
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.replay;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the responses of a {@link TrafficLog} without any backend. Requests are looked up by their
+ * {@link Fingerprint} in an index built when the log is loaded; when the same request was recorded more than once,
+ * e.g. a {@code GET /pet/{id}} before and after the pet was deleted, the recordings are served in the order they were
+ * made and the last one is repeated after that. A request that was never recorded gets {@code 501}.
+ *
+ * <p>Each response is held back for its recorded latency divided by {@code speed}: 1 reproduces the original timing,
+ * 2 halves it and 0 sends every response at once, for replaying at the highest rate the client can drive. Delayed
+ * responses wait on a timer thread, not on a handler thread, so slow recordings do not limit the replay rate.
+ */
+public class ReplayServer implements AutoCloseable {
+
+    public static final String FILE_PROPERTY = "petstore.replay.file";
+    public static final String SPEED_PROPERTY = "petstore.replay.speed";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timer;
+    private final Map<Long, Recordings> index;
+    private final double speed;
+    private final long exchanges;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The recordings of one fingerprint, in recording order.
+     */
+    private static final class Recordings {
+        final List<RecordedExchange> exchanges = new ArrayList<>(1);
+        final AtomicInteger served = new AtomicInteger();
+
+        RecordedExchange next() {
+            int index = served.getAndIncrement();
+            return exchanges.get(Math.min(index, exchanges.size() - 1));
+        }
+    }
+
+    private ReplayServer(HttpServer server, ExecutorService executor, ScheduledExecutorService timer,
+                         Map<Long, Recordings> index, long exchanges, double speed) {
+        this.server = server;
+        this.executor = executor;
+        this.timer = timer;
+        this.index = index;
+        this.exchanges = exchanges;
+        this.speed = speed;
+    }
+
+    /**
+     * Loads the log and serves it on an ephemeral loopback port.
+     */
+    public static ReplayServer start(Path log, double speed) {
+        return start(0, log, speed);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code speed} is negative or the file is not a traffic log
+     * @throws UncheckedIOException     if the log cannot be read or the port cannot be bound
+     */
+    public static ReplayServer start(int port, Path log, double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Speed must not be negative, was " + speed);
+        }
+        Map<Long, Recordings> index = new HashMap<>();
+        long exchanges = TrafficLog.read(log, exchange -> index.computeIfAbsent(exchange.fingerprint(), fingerprint -> new Recordings()).exchanges.add(exchange));
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "replay-server-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replay-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ReplayServer replay = new ReplayServer(httpServer, executor, timer, index, exchanges, speed);
+            httpServer.createContext("/", replay::handle);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            return replay;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the replay server", e);
+        }
+    }
+
+    public String baseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Number of exchanges loaded from the log.
+     */
+    public long exchanges() {
+        return exchanges;
+    }
+
+    /**
+     * Number of distinct requests in the log.
+     */
+    public int fingerprints() {
+        return index.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Replayed %d requests, %d not recorded, from %d exchanges (%d distinct requests, speed %s)",
+                hits(), misses(), exchanges, index.size(), speed);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String target = exchange.getRequestURI().getRawPath()
+                + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery());
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        Recordings recordings = index.get(Fingerprint.of(method, target, body, exchange.getRequestHeaders().getFirst("If-None-Match")));
+        if (recordings == null) {
+            misses.increment();
+            try (exchange) {
+                send(exchange, 501, Map.of("Content-Type", "text/plain"),
+                        ("No recorded exchange for " + method + " " + target).getBytes(StandardCharsets.UTF_8));
+            }
+            return;
+        }
+        hits.increment();
+        RecordedExchange recorded = recordings.next();
+        long delayNanos = speed == 0 ? 0 : (long) (recorded.latencyNanos() / speed);
+        if (delayNanos <= 0) {
+            try (exchange) {
+                send(exchange, recorded.status(), recorded.headers(), recorded.body());
+            }
+            return;
+        }
+        timer.schedule(() -> {
+            try (exchange) {
+                send(exchange, recorded.status(), recorded.headers(), recorded.body());
+            } catch (IOException e) {
+                // The client went away while the response was held back; nothing is left to answer
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static void send(HttpExchange exchange, int status, Map<String, String> headers, byte[] body) throws IOException {
+        headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        boolean empty = body.length == 0 || status == 304 || status == 204;
+        exchange.sendResponseHeaders(status, empty ? -1 : body.length);
+        if (!empty) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.example.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Append-only binary log of {@link RecordedExchange}s, written through memory-mapped regions of the file so an append
+ * is a copy into the page cache rather than a system call.
+ *
+ * <p>The file starts with the 8-byte magic {@code PSTRAF01}. Every record follows as its length (an int, not counting
+ * itself), then fingerprint, offset and latency (longs), status (short), method and target (short length + UTF-8), the
+ * header count (byte) with each name and value (short length + UTF-8), and the body (int length + bytes). Records are
+ * contiguous; a zero length ends the log, so a log left behind by a killed JVM reads up to its last complete record.
+ * {@link #close()} cuts the file at the end of the last record.
+ */
+public class TrafficLog implements AutoCloseable {
+
+    static final byte[] MAGIC = "PSTRAF01".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Size of the regions the file is mapped and grown in, unless a record is larger.
+     */
+    public static final int DEFAULT_REGION_BYTES = 64 * 1024 * 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final int regionBytes;
+
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long position;
+    private long records;
+
+    private TrafficLog(Path file, FileChannel channel, int regionBytes) {
+        this.file = file;
+        this.channel = channel;
+        this.regionBytes = regionBytes;
+    }
+
+    /**
+     * Creates the log, replacing an existing file.
+     *
+     * @throws UncheckedIOException if the file cannot be created
+     */
+    public static TrafficLog create(Path file) {
+        return create(file, DEFAULT_REGION_BYTES);
+    }
+
+    public static TrafficLog create(Path file, int regionBytes) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            TrafficLog log = new TrafficLog(file, channel, regionBytes);
+            log.reserve(MAGIC.length).put(MAGIC);
+            log.position = MAGIC.length;
+            return log;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create traffic log " + file, e);
+        }
+    }
+
+    /**
+     * Appends one exchange. Safe to call from many threads; appends are serialized.
+     *
+     * @throws IllegalArgumentException if the method, target or a header is longer than 32767 bytes, or there are
+     *                                  more than 255 headers
+     */
+    public synchronized void append(RecordedExchange exchange) {
+        byte[] method = utf8(exchange.method());
+        byte[] target = utf8(exchange.target());
+        if (exchange.headers().size() > 255) {
+            throw new IllegalArgumentException("At most 255 headers can be recorded, got " + exchange.headers().size());
+        }
+        byte[][] headers = new byte[exchange.headers().size() * 2][];
+        int length = 8 + 8 + 8 + 2 + 2 + method.length + 2 + target.length + 1 + 4 + exchange.body().length;
+        int i = 0;
+        for (Map.Entry<String, String> header : exchange.headers().entrySet()) {
+            headers[i] = utf8(header.getKey());
+            headers[i + 1] = utf8(header.getValue());
+            length += 2 + headers[i].length + 2 + headers[i + 1].length;
+            i += 2;
+        }
+        ByteBuffer out = reserve(4 + length);
+        out.putInt(length)
+                .putLong(exchange.fingerprint())
+                .putLong(exchange.offsetNanos())
+                .putLong(exchange.latencyNanos())
+                .putShort((short) exchange.status());
+        putShortBytes(out, method);
+        putShortBytes(out, target);
+        out.put((byte) exchange.headers().size());
+        for (byte[] header : headers) {
+            putShortBytes(out, header);
+        }
+        out.putInt(exchange.body().length).put(exchange.body());
+        position += 4 + length;
+        records++;
+    }
+
+    public synchronized long records() {
+        return records;
+    }
+
+    /**
+     * Bytes written so far, including the magic.
+     */
+    public synchronized long bytes() {
+        return position;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Flushes the mapped regions and truncates the file to the records written.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (region != null) {
+                region.force();
+                region = null;
+            }
+            channel.truncate(position);
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close traffic log " + file, e);
+        }
+    }
+
+    /**
+     * A buffer positioned at the end of the log with room for {@code bytes} more, mapping a new region when the
+     * current one is full.
+     */
+    private ByteBuffer reserve(int bytes) {
+        if (region == null || position + bytes > regionStart + region.capacity()) {
+            try {
+                if (region != null) {
+                    region.force();
+                }
+                region = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(regionBytes, bytes));
+                regionStart = position;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not grow traffic log " + file, e);
+            }
+        }
+        return region.position((int) (position - regionStart));
+    }
+
+    /**
+     * Reads every complete record of a log in the order it was written.
+     *
+     * @throws UncheckedIOException     if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a traffic log
+     */
+    public static long read(Path file, Consumer<RecordedExchange> consumer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < MAGIC.length) {
+                throw new IllegalArgumentException(file + " is not a traffic log");
+            }
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(size, DEFAULT_REGION_BYTES));
+            byte[] magic = new byte[MAGIC.length];
+            window.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalArgumentException(file + " is not a traffic log");
+            }
+            long windowStart = 0;
+            long position = MAGIC.length;
+            long records = 0;
+            while (position + 4 <= size) {
+                if (position + 4 > windowStart + window.capacity()) {
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, DEFAULT_REGION_BYTES));
+                    windowStart = position;
+                }
+                int length = window.getInt((int) (position - windowStart));
+                if (length <= 0 || position + 4 + length > size) {
+                    break;
+                }
+                if (position + 4 + length > windowStart + window.capacity()) {
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.max(Math.min(size - position, DEFAULT_REGION_BYTES), 4 + length));
+                    windowStart = position;
+                }
+                consumer.accept(decode(window.position((int) (position - windowStart) + 4)));
+                position += 4 + length;
+                records++;
+            }
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read traffic log " + file, e);
+        }
+    }
+
+    private static RecordedExchange decode(ByteBuffer in) {
+        long fingerprint = in.getLong();
+        long offsetNanos = in.getLong();
+        long latencyNanos = in.getLong();
+        int status = in.getShort();
+        String method = getShortString(in);
+        String target = getShortString(in);
+        int headerCount = in.get() & 0xff;
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            headers.put(getShortString(in), getShortString(in));
+        }
+        byte[] body = new byte[in.getInt()];
+        in.get(body);
+        return new RecordedExchange(fingerprint, offsetNanos, latencyNanos, method, target, status, headers, body);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value of " + bytes.length + " bytes is too long to record");
+        }
+        return bytes;
+    }
+
+    private static void putShortBytes(ByteBuffer out, byte[] bytes) {
+        out.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getShortString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.scenario;
+
+import org.example.client.PetstoreClient;
+import org.example.load.Workload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A workflow of named steps run in order against one entity, such as add → get → update → delete a pet. Steps hand
+ * data to later steps through their {@link ScenarioContext}, so a workflow never depends on the order other tests run
+ * in. Definitions are immutable and can run any number of instances at once.
+ *
+ * <p>The same definition is a functional test, run through a {@link ScenarioEngine}, and a {@link Workload}: the load
+ * runner executes the whole workflow per arrival and reports it under the scenario's name.
+ *
+ * <pre>{@code
+ * Scenario lifecycle = Scenario.named("order lifecycle")
+ *         .step("place order", context -> context.put("order", ...))
+ *         .step("find order", context -> ...)
+ *         .build();
+ * }</pre>
+ */
+public final class Scenario implements Workload {
+
+    private final String name;
+    private final List<String> stepNames;
+    private final List<Step> steps;
+
+    /**
+     * One step of a scenario.
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        /**
+         * @throws AssertionError if a response is not what the step expects
+         */
+        void run(ScenarioContext context);
+    }
+
+    private Scenario(Builder builder) {
+        this.name = builder.name;
+        this.stepNames = Collections.unmodifiableList(new ArrayList<>(builder.stepNames));
+        this.steps = Collections.unmodifiableList(new ArrayList<>(builder.steps));
+    }
+
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public List<String> stepNames() {
+        return stepNames;
+    }
+
+    /**
+     * Runs every step for the entity ID.
+     *
+     * @throws ScenarioFailure naming the step that failed, with its failure as the cause
+     */
+    public void run(PetstoreClient client, long id) {
+        ScenarioContext context = new ScenarioContext(client, id);
+        for (int i = 0; i < steps.size(); i++) {
+            try {
+                steps.get(i).run(context);
+            } catch (AssertionError | RuntimeException e) {
+                throw new ScenarioFailure(name, id, stepNames.get(i), e);
+            }
+        }
+    }
+
+    @Override
+    public String endpoint() {
+        return name;
+    }
+
+    @Override
+    public void execute(PetstoreClient client, int id) {
+        run(client, id);
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + stepNames;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final List<String> stepNames = new ArrayList<>();
+        private final List<Step> steps = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder step(String stepName, Step step) {
+            stepNames.add(stepName);
+            steps.add(step);
+            return this;
+        }
+
+        /**
+         * @throws IllegalStateException if the scenario has no steps
+         */
+        public Scenario build() {
+            if (steps.isEmpty()) {
+                throw new IllegalStateException("Scenario '" + name + "' has no steps");
+            }
+            return new Scenario(this);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.scenario;
+
+import org.example.client.PetstoreClient;
+import org.example.model.ModelGenerator;
+import org.example.validation.ResponsePlan;
+
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * State of one running scenario instance: the client, the entity ID it works on and the values earlier steps stored
+ * for later ones, e.g. the pet that was created or the username that was registered. Used by one thread at a time.
+ */
+public final class ScenarioContext {
+
+    private final PetstoreClient client;
+    private final long id;
+    private final Map<String, Object> values = new HashMap<>();
+    private ModelGenerator generator;
+
+    ScenarioContext(PetstoreClient client, long id) {
+        this.client = client;
+        this.id = id;
+    }
+
+    public PetstoreClient client() {
+        return client;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    /**
+     * A generator for request bodies seeded with "petstore.load.seed" (42 by default) and this instance's ID, so an
+     * instance sends the same bodies on every run whichever thread it runs on.
+     */
+    public ModelGenerator generator() {
+        if (generator == null) {
+            generator = new ModelGenerator(Long.getLong("petstore.load.seed", 42) * 31 + id);
+        }
+        return generator;
+    }
+
+    public void put(String name, Object value) {
+        values.put(name, value);
+    }
+
+    /**
+     * @throws IllegalStateException if no earlier step stored the value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String name) {
+        Object value = values.get(name);
+        if (value == null) {
+            throw new IllegalStateException("No step stored '" + name + "' before it was needed");
+        }
+        return (T) value;
+    }
+
+    /**
+     * Sends a request below {@code /api/v3} and returns the raw response body.
+     */
+    public HttpResponse<byte[]> send(String method, String path, String body) {
+        return client.send(method, path, body, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Sends a request and checks the response against the plan.
+     *
+     * @throws AssertionError listing every mismatch
+     */
+    public HttpResponse<byte[]> expect(ResponsePlan plan, String method, String path, String body, Object... expected) {
+        HttpResponse<byte[]> response = send(method, path, body);
+        plan.check(response.statusCode(), response.body(), expected);
+        return response;
+    }
+}
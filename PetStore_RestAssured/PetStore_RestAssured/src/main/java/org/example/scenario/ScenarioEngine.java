@@ -0,0 +1,74 @@
+package org.example.scenario;
+
+import org.example.client.PetstoreClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs independent instances of a {@link Scenario} concurrently on a fixed pool of {@code parallelism} threads and
+ * collects how each one ended. The steps of one instance run in order on one thread; instances never share state.
+ */
+public class ScenarioEngine implements AutoCloseable {
+
+    public static final String PARALLELISM_PROPERTY = "petstore.scenario.parallelism";
+
+    private final PetstoreClient client;
+    private final ExecutorService executor;
+
+    public ScenarioEngine(PetstoreClient client, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive, was " + parallelism);
+        }
+        this.client = client;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "scenario-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates an engine with the parallelism of the {@code petstore.scenario.parallelism} system property, 8 by default.
+     */
+    public static ScenarioEngine fromSystemProperties(PetstoreClient client) {
+        return new ScenarioEngine(client, Integer.getInteger(PARALLELISM_PROPERTY, 8));
+    }
+
+    /**
+     * Runs {@code instances} instances, each on a fresh ID, and waits for all of them.
+     */
+    public ScenarioResult run(Scenario scenario, int instances, LongSupplier ids) throws InterruptedException {
+        long start = System.nanoTime();
+        List<Future<?>> runs = new ArrayList<>(instances);
+        for (int i = 0; i < instances; i++) {
+            long id = ids.getAsLong();
+            runs.add(executor.submit(() -> scenario.run(client, id)));
+        }
+        List<ScenarioFailure> failures = new ArrayList<>();
+        for (Future<?> run : runs) {
+            try {
+                run.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof ScenarioFailure) {
+                    failures.add((ScenarioFailure) e.getCause());
+                } else {
+                    failures.add(new ScenarioFailure(scenario.name(), -1, "?", e.getCause()));
+                }
+            }
+        }
+        return new ScenarioResult(scenario, instances, failures, System.nanoTime() - start);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
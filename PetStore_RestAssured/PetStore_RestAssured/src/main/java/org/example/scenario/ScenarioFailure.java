@@ -0,0 +1,32 @@
+package org.example.scenario;
+
+/**
+ * A step of one scenario instance failed; the cause is the step's assertion or exception.
+ */
+public class ScenarioFailure extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String scenario;
+    private final long id;
+    private final String step;
+
+    public ScenarioFailure(String scenario, long id, String step, Throwable cause) {
+        super(scenario + " #" + id + " failed at '" + step + "': " + cause.getMessage(), cause);
+        this.scenario = scenario;
+        this.id = id;
+        this.step = step;
+    }
+
+    public String scenario() {
+        return scenario;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public String step() {
+        return step;
+    }
+}
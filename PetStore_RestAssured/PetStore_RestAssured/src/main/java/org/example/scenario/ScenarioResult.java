@@ -0,0 +1,73 @@
+package org.example.scenario;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How the instances of one {@link ScenarioEngine} run ended.
+ */
+public final class ScenarioResult {
+
+    private final Scenario scenario;
+    private final int instances;
+    private final List<ScenarioFailure> failures;
+    private final long elapsedNanos;
+
+    ScenarioResult(Scenario scenario, int instances, List<ScenarioFailure> failures, long elapsedNanos) {
+        this.scenario = scenario;
+        this.instances = instances;
+        this.failures = Collections.unmodifiableList(failures);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int instances() {
+        return instances;
+    }
+
+    public List<ScenarioFailure> failures() {
+        return failures;
+    }
+
+    /**
+     * Failed instances per step, in the scenario's step order.
+     */
+    public Map<String, Integer> failuresByStep() {
+        Map<String, Integer> byStep = new LinkedHashMap<>();
+        for (String step : scenario.stepNames()) {
+            byStep.put(step, 0);
+        }
+        for (ScenarioFailure failure : failures) {
+            byStep.merge(failure.step(), 1, Integer::sum);
+        }
+        return byStep;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    /**
+     * @throws AssertionError naming every failed instance and step, with the failures attached as suppressed
+     */
+    public void assertAllPassed() {
+        if (failures.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder()
+                .append(failures.size()).append(" of ").append(instances).append(" '").append(scenario.name()).append("' runs failed:");
+        for (ScenarioFailure failure : failures) {
+            message.append("\n  ").append(failure.getMessage().replace("\n", "\n    "));
+        }
+        AssertionError error = new AssertionError(message.toString());
+        failures.forEach(error::addSuppressed);
+        throw error;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d runs, %d failed, %d ms", scenario.name(), instances, failures.size(), elapsedMillis());
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.scenario;
+
+import org.example.model.Order;
+import org.example.model.Pet;
+import org.example.model.User;
+import org.example.validation.ResponsePlan;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The entity lifecycles the Pet, Store and User suites cover one request per test, as workflows that carry the
+ * created entity from step to step. Each instance works on its own ID, so any number can run at once.
+ */
+public final class Workflows {
+
+    private static final ResponsePlan PET = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .bodyEqualTo("name")
+            .bodyEqualTo("status")
+            .build();
+
+    private static final ResponsePlan ORDER = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .bodyEqualTo("petId")
+            .bodyEqualTo("quantity")
+            .bodyEqualTo("status")
+            .build();
+
+    private static final ResponsePlan USER = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("username")
+            .bodyEqualTo("email")
+            .build();
+
+    private static final ResponsePlan OK = ResponsePlan.builder().statusCode(200).build();
+
+    private static final ResponsePlan NOT_FOUND = ResponsePlan.builder().statusCode(404).build();
+
+    /**
+     * Add a pet, read it back, rename and sell it, read the update back, delete it and make sure it is gone.
+     */
+    public static final Scenario PET_LIFECYCLE = Scenario.named("pet lifecycle")
+            .step("add pet", context -> {
+                Pet pet = context.generator().pet(context.id());
+                context.expect(PET, "POST", "/pet", pet.toJson(), pet.id(), pet.name(), pet.status());
+                context.put("pet", pet);
+            })
+            .step("find pet", context -> {
+                Pet pet = context.get("pet");
+                context.expect(PET, "GET", "/pet/" + pet.id(), null, pet.id(), pet.name(), pet.status());
+            })
+            .step("update pet", context -> {
+                Pet pet = context.<Pet>get("pet").toBuilder().name(context.<Pet>get("pet").name() + " Update").status("sold").build();
+                context.expect(PET, "PUT", "/pet", pet.toJson(), pet.id(), pet.name(), pet.status());
+                context.put("pet", pet);
+            })
+            .step("find updated pet", context -> {
+                Pet pet = context.get("pet");
+                context.expect(PET, "GET", "/pet/" + pet.id(), null, pet.id(), pet.name(), "sold");
+            })
+            .step("delete pet", context -> context.expect(OK, "DELETE", "/pet/" + context.<Pet>get("pet").id(), null))
+            .step("pet is gone", context -> context.expect(NOT_FOUND, "GET", "/pet/" + context.<Pet>get("pet").id(), null))
+            .build();
+
+    /**
+     * Place an order, find it, delete it and make sure it is gone. The order is always "placed": while it exists it
+     * counts towards /store/inventory, and Store pins the "delivered" total.
+     */
+    public static final Scenario ORDER_LIFECYCLE = Scenario.named("order lifecycle")
+            .step("place order", context -> {
+                Order order = context.generator().order(context.id(), 0).toBuilder().status("placed").build();
+                context.expect(ORDER, "POST", "/store/order", order.toJson(), order.id(), order.petId(), order.quantity(), order.status());
+                context.put("order", order);
+            })
+            .step("find order", context -> {
+                Order order = context.get("order");
+                context.expect(ORDER, "GET", "/store/order/" + order.id(), null, order.id(), order.petId(), order.quantity(), order.status());
+            })
+            .step("delete order", context -> context.expect(OK, "DELETE", "/store/order/" + context.<Order>get("order").id(), null))
+            .step("order is gone", context -> context.expect(NOT_FOUND, "GET", "/store/order/" + context.<Order>get("order").id(), null))
+            .build();
+
+    /**
+     * Register a user, log in with the password, read the user back, change the email, read the change back, delete
+     * the user and make sure it is gone.
+     */
+    public static final Scenario USER_LIFECYCLE = Scenario.named("user lifecycle")
+            .step("create user", context -> {
+                User user = context.generator().user(context.id());
+                context.expect(OK, "POST", "/user", user.toJson());
+                context.put("user", user);
+            })
+            .step("log in", context -> {
+                User user = context.get("user");
+                context.expect(OK, "GET", "/user/login?username=" + user.username() + "&password=" + user.password(), null);
+            })
+            .step("find user", context -> {
+                User user = context.get("user");
+                context.expect(USER, "GET", "/user/" + user.username(), null, user.username(), user.email());
+            })
+            .step("update user", context -> {
+                User user = context.<User>get("user").toBuilder().email("updated." + context.<User>get("user").email()).build();
+                context.expect(OK, "PUT", "/user/" + user.username(), user.toJson());
+                context.put("user", user);
+            })
+            .step("find updated user", context -> {
+                User user = context.get("user");
+                context.expect(USER, "GET", "/user/" + user.username(), null, user.username(), user.email());
+            })
+            .step("delete user", context -> context.expect(OK, "DELETE", "/user/" + context.<User>get("user").username(), null))
+            .step("user is gone", context -> context.expect(NOT_FOUND, "GET", "/user/" + context.<User>get("user").username(), null))
+            .build();
+
+    private Workflows() {
+    }
+
+    /**
+     * All workflows by the short name used in a load mix, e.g. {@code --mix=pet-lifecycle=1,find=4}.
+     */
+    public static Map<String, Scenario> byName() {
+        Map<String, Scenario> workflows = new LinkedHashMap<>();
+        workflows.put("pet-lifecycle", PET_LIFECYCLE);
+        workflows.put("order-lifecycle", ORDER_LIFECYCLE);
+        workflows.put("user-lifecycle", USER_LIFECYCLE);
+        return workflows;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.seed;
+
+import java.time.Duration;
+
+/**
+ * Outcome of seeding one kind of entity.
+ */
+public final class SeedReport {
+
+    private final String entity;
+    private final long seeded;
+    private final long failed;
+    private final long requests;
+    private final long retries;
+    private final boolean singlePosts;
+    private final Duration elapsed;
+    private final String lastError;
+
+    SeedReport(String entity, long seeded, long failed, long requests, long retries, boolean singlePosts, Duration elapsed, String lastError) {
+        this.entity = entity;
+        this.seeded = seeded;
+        this.failed = failed;
+        this.requests = requests;
+        this.retries = retries;
+        this.singlePosts = singlePosts;
+        this.elapsed = elapsed;
+        this.lastError = lastError;
+    }
+
+    public String entity() {
+        return entity;
+    }
+
+    public long seeded() {
+        return seeded;
+    }
+
+    /**
+     * Entities still not created once their chunk ran out of attempts.
+     */
+    public long failed() {
+        return failed;
+    }
+
+    public long requests() {
+        return requests;
+    }
+
+    public long retries() {
+        return retries;
+    }
+
+    /**
+     * Whether the entities went out one request each, because the API has no bulk endpoint for them.
+     */
+    public boolean singlePosts() {
+        return singlePosts;
+    }
+
+    public Duration elapsed() {
+        return elapsed;
+    }
+
+    /**
+     * The last failed status or exception, or {@code null}.
+     */
+    public String lastError() {
+        return lastError;
+    }
+
+    public double entitiesPerSecond() {
+        long nanos = Math.max(1, elapsed.toNanos());
+        return seeded * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Seeded %d %s in %.2f s (%.0f entities/s, %d requests%s, %d retries, %d failed%s)",
+                seeded, entity, elapsed.toNanos() / 1e9, entitiesPerSecond(), requests,
+                singlePosts ? " of one entity each" : "", retries, failed,
+                lastError == null ? "" : ", last error: " + lastError);
+    }
+}
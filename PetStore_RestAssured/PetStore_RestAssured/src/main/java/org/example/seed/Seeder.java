@@ -0,0 +1,212 @@
+package org.example.seed;
+
+import org.example.client.PetstoreClient;
+import org.example.json.JsonWriter;
+import org.example.model.ModelGenerator;
+import org.example.model.User;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fills a Petstore with generated users, pets and orders before functional or load runs.
+ *
+ * <p>Entities are generated while earlier requests are still in flight: users go to {@code /user/createWithList} in
+ * batches, pets and orders, which the API can only create one at a time, as concurrent single posts. At most
+ * {@code maxInFlight} requests are outstanding; generation waits for a free slot, so memory stays bounded however many
+ * entities are seeded. A request that fails with a connection error, 408, 429 or 5xx is retried with exponential
+ * backoff up to {@code maxAttempts} times. The first user batch doubles as a probe: if the server answers 404 or 405,
+ * users fall back to concurrent single posts to {@code /user}.
+ *
+ * <p>Settings come from system properties via {@link #fromSystemProperties(PetstoreClient)}:
+ * {@code petstore.seed.batchSize} (default 100), {@code petstore.seed.maxInFlight} (16),
+ * {@code petstore.seed.maxAttempts} (3), {@code petstore.seed.retryDelayMillis} (100) and {@code petstore.seed.seed} (42).
+ * A seeder runs one seeding call at a time.
+ */
+public class Seeder {
+
+    public static final String CREATE_USERS_PATH = "/user/createWithList";
+
+    private final PetstoreClient client;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final ModelGenerator generator;
+    private boolean bulkUsersUnsupported;
+
+    public Seeder(PetstoreClient client, int batchSize, int maxInFlight, int maxAttempts, long retryDelayMillis, long seed) {
+        if (batchSize < 1 || maxInFlight < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("batchSize, maxInFlight and maxAttempts must be at least 1");
+        }
+        this.client = client;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.generator = new ModelGenerator(seed);
+    }
+
+    public static Seeder fromSystemProperties(PetstoreClient client) {
+        return new Seeder(client,
+                Integer.getInteger("petstore.seed.batchSize", 100),
+                Integer.getInteger("petstore.seed.maxInFlight", 16),
+                Integer.getInteger("petstore.seed.maxAttempts", 3),
+                Long.getLong("petstore.seed.retryDelayMillis", 100),
+                Long.getLong("petstore.seed.seed", 42));
+    }
+
+    /**
+     * Creates the users with IDs {@code firstId .. firstId + count - 1}, named {@code user<id>}.
+     */
+    public SeedReport users(long firstId, int count) {
+        Run run = new Run("users", bulkUsersUnsupported);
+        long end = firstId + count;
+        for (long id = firstId; id < end; id += batchSize) {
+            List<User> users = generator.users(id, (int) Math.min(batchSize, end - id));
+            if (run.singlePosts) {
+                for (User user : users) {
+                    run.dispatch("/user", user.toJsonBytes(), 1);
+                }
+            } else if (id == firstId) {
+                probeBulkUsers(run, users);
+            } else {
+                run.dispatch(CREATE_USERS_PATH, bulkBody(users), users.size());
+            }
+        }
+        return run.finish();
+    }
+
+    /**
+     * Creates the pets with IDs {@code firstId .. firstId + count - 1}.
+     */
+    public SeedReport pets(long firstId, int count) {
+        Run run = new Run("pets", true);
+        for (long id = firstId; id < firstId + count; id++) {
+            run.dispatch("/pet", generator.pet(id).toJsonBytes(), 1);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Creates the orders with IDs {@code firstId .. firstId + count - 1}, spread over the pets
+     * {@code firstPetId .. firstPetId + pets - 1}, or for pet 0 when {@code pets} is 0.
+     */
+    public SeedReport orders(long firstId, int count, long firstPetId, int pets) {
+        Run run = new Run("orders", true);
+        for (int i = 0; i < count; i++) {
+            long petId = pets == 0 ? 0 : firstPetId + i % pets;
+            run.dispatch("/store/order", generator.order(firstId + i, petId).toJsonBytes(), 1);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Sends the first batch on its own; a 404 or 405 means the bulk endpoint does not exist, and the batch and all
+     * later users go out as single posts instead.
+     */
+    private void probeBulkUsers(Run run, List<User> users) {
+        int status = run.send(CREATE_USERS_PATH, bulkBody(users), 1).join();
+        if (status == 404 || status == 405) {
+            bulkUsersUnsupported = true;
+            run.singlePosts = true;
+            run.lastError = null;
+            for (User user : users) {
+                run.dispatch("/user", user.toJsonBytes(), 1);
+            }
+        } else {
+            run.count(status, users.size());
+        }
+    }
+
+    private static byte[] bulkBody(List<User> users) {
+        JsonWriter out = JsonWriter.local();
+        User.writeList(users, out);
+        return out.toByteArray();
+    }
+
+    private static boolean retryable(int status) {
+        return status < 0 || status == 408 || status == 429 || status >= 500;
+    }
+
+    /**
+     * The counters and in-flight limit of one seeding call.
+     */
+    private final class Run {
+        private final String entity;
+        private final Semaphore permits = new Semaphore(maxInFlight);
+        private final LongAdder seeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final long start = System.nanoTime();
+        private volatile String lastError;
+        private boolean singlePosts;
+
+        Run(String entity, boolean singlePosts) {
+            this.entity = entity;
+            this.singlePosts = singlePosts;
+        }
+
+        /**
+         * Sends a chunk once a slot is free; blocks the generating thread while {@code maxInFlight} are outstanding.
+         */
+        void dispatch(String path, byte[] body, int entities) {
+            permits.acquireUninterruptibly();
+            send(path, body, 1).whenComplete((status, error) -> {
+                count(status == null ? -1 : status, entities);
+                permits.release();
+            });
+        }
+
+        void count(int status, int entities) {
+            if (status / 100 == 2) {
+                seeded.add(entities);
+            } else {
+                failed.add(entities);
+            }
+        }
+
+        /**
+         * Completes with the final status code, or -1 if the last attempt could not get a response.
+         */
+        CompletableFuture<Integer> send(String path, byte[] body, int attempt) {
+            requests.increment();
+            return client.sendAsync("POST", path, body, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            lastError = "POST " + path + ": " + error;
+                            return -1;
+                        }
+                        if (response.statusCode() / 100 != 2) {
+                            lastError = "POST " + path + ": HTTP " + response.statusCode();
+                        }
+                        return response.statusCode();
+                    })
+                    .thenCompose(status -> {
+                        if (status / 100 == 2 || !retryable(status) || attempt >= maxAttempts) {
+                            return CompletableFuture.completedFuture(status);
+                        }
+                        retries.increment();
+                        long delay = retryDelayMillis << Math.min(attempt - 1, 16);
+                        return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                                .thenCompose(ignored -> send(path, body, attempt + 1));
+                    });
+        }
+
+        /**
+         * Waits for every outstanding chunk and reports.
+         */
+        SeedReport finish() {
+            permits.acquireUninterruptibly(maxInFlight);
+            permits.release(maxInFlight);
+            return new SeedReport(entity, seeded.sum(), failed.sum(), requests.sum(), retries.sum(), singlePosts,
+                    Duration.ofNanos(System.nanoTime() - start), lastError);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.server;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory pets, orders and users backing the {@link PetstoreServer}.
+ * Entities are kept as the JSON trees they were posted with, so the server echoes exactly what it stored.
+ * The store is seeded with the same kind of sample data a fresh Petstore v3 instance starts with.
+ */
+public class PetstoreData {
+
+    public static final List<String> PET_STATUSES = Arrays.asList("available", "pending", "sold");
+    public static final List<String> ORDER_STATUSES = Arrays.asList("placed", "approved", "delivered");
+
+    private static final Map<String, Long> CATEGORY_IDS = Map.of("Dogs", 1L, "Cats", 2L, "Lions", 3L, "Rabbits", 4L);
+
+    private final ConcurrentMap<Long, Map<String, Object>> pets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Map<String, Object>> orders = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Map<String, Object>> users = new ConcurrentHashMap<>();
+    private final AtomicLong nextPetId = new AtomicLong(1_000_000);
+    private final AtomicLong nextOrderId = new AtomicLong(1_000_000);
+
+    public PetstoreData() {
+        seed();
+    }
+
+    public ConcurrentMap<Long, Map<String, Object>> pets() {
+        return pets;
+    }
+
+    public ConcurrentMap<Long, Map<String, Object>> orders() {
+        return orders;
+    }
+
+    public ConcurrentMap<String, Map<String, Object>> users() {
+        return users;
+    }
+
+    public long nextPetId() {
+        return nextPetId.getAndIncrement();
+    }
+
+    public long nextOrderId() {
+        return nextOrderId.getAndIncrement();
+    }
+
+    /**
+     * Pet counts per pet status plus ordered quantities per order status, which is what
+     * {@code GET /store/inventory} reports.
+     */
+    public Map<String, Long> inventory() {
+        Map<String, Long> inventory = new LinkedHashMap<>();
+        for (Map<String, Object> pet : pets.values()) {
+            Object status = pet.get("status");
+            if (status != null) {
+                inventory.merge(status.toString(), 1L, Long::sum);
+            }
+        }
+        for (Map<String, Object> order : orders.values()) {
+            Object status = order.get("status");
+            Object quantity = order.get("quantity");
+            if (status != null && quantity instanceof Number) {
+                inventory.merge(status.toString(), ((Number) quantity).longValue(), Long::sum);
+            }
+        }
+        return inventory;
+    }
+
+    private void seed() {
+        String[][] samplePets = {
+                {"Cats", "Cat 1", "available", "tag1", "tag2"},
+                {"Cats", "Cat 2", "available", "tag2", "tag3"},
+                {"Cats", "Cat 3", "pending", "tag3", "tag4"},
+                {"Dogs", "Dog 1", "available", "tag1", "tag2"},
+                {"Dogs", "Dog 2", "sold", "tag2", "tag3"},
+                {"Dogs", "Dog 3", "pending", "tag3", "tag4"},
+                {"Lions", "Lion 1", "available", "tag1", "tag2"},
+                {"Lions", "Lion 2", "available", "tag2", "tag3"},
+                {"Lions", "Lion 3", "available", "tag3", "tag4"},
+                {"Rabbits", "Rabbit 1", "pending", "tag3", "tag4"},
+        };
+        long id = 101;
+        for (String[] sample : samplePets) {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("id", CATEGORY_IDS.get(sample[0]));
+            category.put("name", sample[0]);
+            List<Object> tags = new ArrayList<>();
+            for (int i = 3; i < sample.length; i++) {
+                Map<String, Object> tag = new LinkedHashMap<>();
+                tag.put("id", (long) i - 2);
+                tag.put("name", sample[i]);
+                tags.add(tag);
+            }
+            Map<String, Object> pet = new LinkedHashMap<>();
+            pet.put("id", id);
+            pet.put("category", category);
+            pet.put("name", sample[1]);
+            pet.put("photoUrls", new ArrayList<>(List.of("url1", "url2")));
+            pet.put("tags", tags);
+            pet.put("status", sample[2]);
+            pets.put(id++, pet);
+        }
+
+        Object[][] sampleOrders = {
+                {101L, 104L, 50L, "approved"},
+                {102L, 105L, 100L, "placed"},
+                {103L, 105L, 50L, "delivered"},
+        };
+        for (Object[] sample : sampleOrders) {
+            Map<String, Object> order = new LinkedHashMap<>();
+            order.put("id", sample[0]);
+            order.put("petId", sample[1]);
+            order.put("quantity", sample[2]);
+            order.put("shipDate", "2024-01-01T00:00:00.000+00:00");
+            order.put("status", sample[3]);
+            order.put("complete", "delivered".equals(sample[3]));
+            orders.put((Long) sample[0], order);
+        }
+
+        for (int i = 1; i <= 10; i++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("id", (long) i);
+            user.put("username", "user" + i);
+            user.put("firstName", "first name " + i);
+            user.put("lastName", "last name " + i);
+            user.put("email", "email" + i + "@test.com");
+            user.put("password", "XXXXXXXXXXX");
+            user.put("phone", "123-456-7890");
+            user.put("userStatus", 1L);
+            users.put("user" + i, user);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package org.example.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the Petstore v3 API, served under {@code /api/v3} on an ephemeral port.
+ * It covers every endpoint the Pet, Store and User suites call and answers with the status codes
+ * those suites expect, so they can run without a live backend. Successful {@code GET}s carry an {@code ETag}
+ * and are answered with {@code 304} when the client sends it back in {@code If-None-Match}.
+ *
+ * <p>The suites pick it up through {@link #resolveBaseUri()}: when neither the {@code petstore.baseUri}
+ * system property nor the {@code PETSTORE_BASE_URI} environment variable is set, a shared instance is
+ * started once per JVM and its address is returned.
+ */
+public class PetstoreServer implements AutoCloseable {
+
+    public static final String BASE_PATH = "/api/v3";
+    public static final String BASE_URI_PROPERTY = "petstore.baseUri";
+    public static final String BASE_URI_ENV = "PETSTORE_BASE_URI";
+
+    private static PetstoreServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PetstoreData data;
+
+    private PetstoreServer(HttpServer server, ExecutorService executor, PetstoreData data) {
+        this.server = server;
+        this.executor = executor;
+        this.data = data;
+    }
+
+    /**
+     * Starts a new server with freshly seeded data on an ephemeral loopback port.
+     */
+    public static PetstoreServer start() {
+        return start(0);
+    }
+
+    public static PetstoreServer start(int port) {
+        // Without TCP_NODELAY the separately written headers and body hit the delayed-ACK timer on every response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            AtomicInteger threadCount = new AtomicInteger();
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "petstore-server-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            PetstoreServer petstore = new PetstoreServer(httpServer, executor, new PetstoreData());
+            httpServer.createContext(BASE_PATH, petstore::handle);
+            httpServer.setExecutor(executor);
+            httpServer.start();
+            return petstore;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the in-process Petstore server", e);
+        }
+    }
+
+    /**
+     * Returns the instance shared by every suite in this JVM, starting it on first use.
+     */
+    public static synchronized PetstoreServer shared() {
+        if (shared == null) {
+            shared = start();
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "petstore-server-shutdown"));
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the externally configured base URI, or the address of the {@link #shared()} server
+     * when none is configured.
+     */
+    public static String resolveBaseUri() {
+        String configured = System.getProperty(BASE_URI_PROPERTY, System.getenv(BASE_URI_ENV));
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        return shared().baseUri();
+    }
+
+    public String baseUri() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public PetstoreData data() {
+        return data;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getRawPath().substring(BASE_PATH.length());
+            String[] segments = path.replaceAll("^/+|/+$", "").split("/");
+            Map<String, List<String>> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String method = exchange.getRequestMethod();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            Reply reply;
+            try {
+                reply = route(method, segments, query, body);
+            } catch (IllegalArgumentException | ClassCastException e) {
+                reply = Reply.text(400, "Invalid input");
+            } catch (RuntimeException e) {
+                reply = Reply.text(500, "Internal server error");
+            }
+            if (method.equals("GET") && reply.status == 200) {
+                reply = tagged(reply, exchange.getRequestHeaders().getFirst("If-None-Match"));
+            }
+            send(exchange, reply);
+        }
+    }
+
+    private Reply route(String method, String[] segments, Map<String, List<String>> query, byte[] body) {
+        String resource = segments[0];
+        if (resource.equals("pet")) {
+            return routePet(method, segments, query, body);
+        }
+        if (resource.equals("store")) {
+            return routeStore(method, segments, body);
+        }
+        if (resource.equals("user")) {
+            return routeUser(method, segments, query, body);
+        }
+        return Reply.text(404, "Not found");
+    }
+
+    private Reply routePet(String method, String[] segments, Map<String, List<String>> query, byte[] body) {
+        if (segments.length == 1) {
+            if (method.equals("POST")) {
+                return addPet(object(body));
+            }
+            if (method.equals("PUT")) {
+                return updatePet(object(body));
+            }
+            return Reply.text(405, "Method not allowed");
+        }
+        if (segments.length == 2 && segments[1].equals("findByStatus") && method.equals("GET")) {
+            return findPetsByStatus(first(query, "status"));
+        }
+        if (segments.length == 2 && segments[1].equals("findByTags") && method.equals("GET")) {
+            return findPetsByTags(query.getOrDefault("tags", Collections.emptyList()));
+        }
+        if (segments.length == 2) {
+            long id = Long.parseLong(segments[1]);
+            switch (method) {
+                case "GET": {
+                    Map<String, Object> pet = data.pets().get(id);
+                    return pet == null ? Reply.text(404, "Pet not found") : Reply.json(200, pet);
+                }
+                case "POST":
+                    return updatePetWithForm(id, first(query, "name"), first(query, "status"));
+                case "DELETE":
+                    data.pets().remove(id);
+                    return Reply.text(200, "Pet deleted");
+                default:
+                    return Reply.text(405, "Method not allowed");
+            }
+        }
+        return Reply.text(404, "Not found");
+    }
+
+    private Reply addPet(Map<String, Object> pet) {
+        if (!(pet.get("name") instanceof String) || !(pet.get("photoUrls") instanceof List)) {
+            return Reply.text(400, "Invalid input");
+        }
+        if (pet.get("status") != null && !PetstoreData.PET_STATUSES.contains(pet.get("status"))) {
+            return Reply.text(400, "Invalid status");
+        }
+        if (pet.get("id") != null && !(pet.get("id") instanceof Long)) {
+            return Reply.text(400, "Invalid ID supplied");
+        }
+        long id = pet.get("id") == null ? data.nextPetId() : (Long) pet.get("id");
+        pet.put("id", id);
+        data.pets().put(id, pet);
+        return Reply.json(200, pet);
+    }
+
+    private Reply updatePet(Map<String, Object> pet) {
+        if (!(pet.get("id") instanceof Long)) {
+            return Reply.text(400, "Invalid ID supplied");
+        }
+        long id = (Long) pet.get("id");
+        if (data.pets().replace(id, pet) == null) {
+            return Reply.text(404, "Pet not found");
+        }
+        return Reply.json(200, pet);
+    }
+
+    private Reply updatePetWithForm(long id, String name, String status) {
+        if (status != null && !PetstoreData.PET_STATUSES.contains(status)) {
+            return Reply.text(400, "Invalid status");
+        }
+        Map<String, Object> updated = data.pets().computeIfPresent(id, (key, pet) -> {
+            Map<String, Object> copy = new LinkedHashMap<>(pet);
+            if (name != null) {
+                copy.put("name", name);
+            }
+            if (status != null) {
+                copy.put("status", status);
+            }
+            return copy;
+        });
+        return updated == null ? Reply.text(404, "Pet not found") : Reply.json(200, updated);
+    }
+
+    private Reply findPetsByStatus(String status) {
+        if (status == null || !PetstoreData.PET_STATUSES.contains(status)) {
+            return Reply.text(400, "Invalid status value");
+        }
+        List<Object> matches = new ArrayList<>();
+        for (Map<String, Object> pet : data.pets().values()) {
+            if (status.equals(pet.get("status"))) {
+                matches.add(pet);
+            }
+        }
+        return Reply.json(200, matches);
+    }
+
+    private Reply findPetsByTags(List<String> rawTags) {
+        List<String> tags = new ArrayList<>();
+        for (String raw : rawTags) {
+            for (String tag : raw.split(",")) {
+                if (!tag.isBlank()) {
+                    tags.add(tag.trim());
+                }
+            }
+        }
+        if (tags.isEmpty()) {
+            return Reply.text(400, "Invalid tag value");
+        }
+        List<Object> matches = new ArrayList<>();
+        for (Map<String, Object> pet : data.pets().values()) {
+            if (pet.get("tags") instanceof List) {
+                for (Object tag : (List<?>) pet.get("tags")) {
+                    if (tag instanceof Map && tags.contains(((Map<?, ?>) tag).get("name"))) {
+                        matches.add(pet);
+                        break;
+                    }
+                }
+            }
+        }
+        return matches.isEmpty() ? Reply.text(404, "Pets not found") : Reply.json(200, matches);
+    }
+
+    private Reply routeStore(String method, String[] segments, byte[] body) {
+        if (segments.length == 2 && segments[1].equals("inventory") && method.equals("GET")) {
+            return Reply.json(200, data.inventory());
+        }
+        if (segments.length == 2 && segments[1].equals("order") && method.equals("POST")) {
+            return placeOrder(object(body));
+        }
+        if (segments.length == 3 && segments[1].equals("order")) {
+            long id = Long.parseLong(segments[2]);
+            if (method.equals("GET")) {
+                Map<String, Object> order = data.orders().get(id);
+                return order == null ? Reply.text(404, "Order not found") : Reply.json(200, order);
+            }
+            if (method.equals("DELETE")) {
+                return data.orders().remove(id) == null ? Reply.text(404, "Order not found") : Reply.text(200, "Order deleted");
+            }
+            return Reply.text(405, "Method not allowed");
+        }
+        return Reply.text(404, "Not found");
+    }
+
+    private Reply placeOrder(Map<String, Object> order) {
+        Object status = order.get("status");
+        if (status != null && !PetstoreData.ORDER_STATUSES.contains(status)) {
+            return Reply.text(400, "Invalid status");
+        }
+        if (order.get("quantity") != null && !(order.get("quantity") instanceof Long)) {
+            return Reply.text(400, "Invalid quantity");
+        }
+        if (order.get("id") != null && !(order.get("id") instanceof Long)) {
+            return Reply.text(400, "Invalid ID supplied");
+        }
+        if (order.get("shipDate") != null) {
+            try {
+                OffsetDateTime.parse((String) order.get("shipDate"));
+            } catch (DateTimeParseException e) {
+                return Reply.text(400, "Invalid shipDate");
+            }
+        }
+        long id = order.get("id") == null ? data.nextOrderId() : (Long) order.get("id");
+        order.put("id", id);
+        data.orders().put(id, order);
+        return Reply.json(200, order);
+    }
+
+    private Reply routeUser(String method, String[] segments, Map<String, List<String>> query, byte[] body) {
+        if (segments.length == 1 && method.equals("POST")) {
+            Map<String, Object> user = object(body);
+            return saveUser(user) ? Reply.json(200, user) : Reply.text(400, "Invalid input");
+        }
+        if (segments.length == 2 && segments[1].equals("createWithList") && method.equals("POST")) {
+            List<?> users = (List<?>) Json.parse(new String(body, StandardCharsets.UTF_8));
+            for (Object user : users) {
+                if (!saveUser(castObject(user))) {
+                    return Reply.text(400, "Invalid input");
+                }
+            }
+            return Reply.json(200, users);
+        }
+        if (segments.length == 2 && segments[1].equals("login") && method.equals("GET")) {
+            return Reply.text(200, "Logged in user session: " + System.nanoTime())
+                    .header("X-Rate-Limit", "5000")
+                    .header("X-Expires-After", OffsetDateTime.now().plusHours(1).toString());
+        }
+        if (segments.length == 2 && segments[1].equals("logout") && method.equals("GET")) {
+            return Reply.text(200, "User logged out");
+        }
+        if (segments.length == 2) {
+            String username = URLDecoder.decode(segments[1], StandardCharsets.UTF_8);
+            switch (method) {
+                case "GET": {
+                    Map<String, Object> user = data.users().get(username);
+                    return user == null ? Reply.text(404, "User not found") : Reply.json(200, user);
+                }
+                case "PUT":
+                    return updateUser(username, object(body));
+                case "DELETE":
+                    return data.users().remove(username) == null ? Reply.text(404, "User not found") : Reply.text(200, "User deleted");
+                default:
+                    return Reply.text(405, "Method not allowed");
+            }
+        }
+        return Reply.text(404, "Not found");
+    }
+
+    private boolean saveUser(Map<String, Object> user) {
+        if (!(user.get("username") instanceof String) || ((String) user.get("username")).isEmpty()) {
+            return false;
+        }
+        data.users().put((String) user.get("username"), user);
+        return true;
+    }
+
+    /**
+     * Stores the user under the username in its body, so a user can be renamed as in Petstore v3; a body without a
+     * username keeps the one in the path.
+     */
+    private Reply updateUser(String username, Map<String, Object> user) {
+        Object renamed = user.get("username");
+        String key = renamed instanceof String && !((String) renamed).isEmpty() ? (String) renamed : username;
+        if (key.equals(username)) {
+            return data.users().replace(username, user) == null ? Reply.text(404, "User not found") : Reply.text(200, "User updated");
+        }
+        if (data.users().remove(username) == null) {
+            return Reply.text(404, "User not found");
+        }
+        data.users().put(key, user);
+        return Reply.text(200, "User updated");
+    }
+
+    private static Map<String, Object> object(byte[] body) {
+        return castObject(Json.parse(new String(body, StandardCharsets.UTF_8)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> castObject(Object value) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private static String first(Map<String, List<String>> query, String name) {
+        List<String> values = query.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static Map<String, List<String>> parseQuery(String rawQuery) {
+        Map<String, List<String>> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        return query;
+    }
+
+    /**
+     * Adds a strong ETag derived from the body, and turns the reply into a {@code 304} when the client already has it.
+     */
+    private static Reply tagged(Reply reply, String ifNoneMatch) {
+        String etag = "\"" + Integer.toHexString(Arrays.hashCode(reply.body)) + "-" + Integer.toHexString(reply.body.length) + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return new Reply(304, reply.contentType, new byte[0]).header("ETag", etag);
+        }
+        return reply.header("ETag", etag);
+    }
+
+    private static void send(HttpExchange exchange, Reply reply) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", reply.contentType);
+        reply.headers.forEach((name, value) -> exchange.getResponseHeaders().set(name, value));
+        exchange.sendResponseHeaders(reply.status, reply.body.length == 0 ? -1 : reply.body.length);
+        if (reply.body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(reply.body);
+            }
+        }
+    }
+
+    private static final class Reply {
+        final int status;
+        final String contentType;
+        final byte[] body;
+        final Map<String, String> headers = new LinkedHashMap<>();
+
+        private Reply(int status, String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        static Reply json(int status, Object value) {
+            return new Reply(status, "application/json", Json.write(value).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Reply text(int status, String message) {
+            return new Reply(status, "text/plain", message.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Reply header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.stress;
+
+import org.example.client.PetstoreClient;
+
+import java.util.List;
+
+/**
+ * Conflicting writes against one entity, such as several creates of the same pet ID or updates racing deletes, and
+ * the invariants the final state and the returned status codes must satisfy however the writes interleave.
+ * A {@link RaceRunner} prepares the entity, releases one request per contender at the same instant and then hands
+ * every contender's outcome to the check.
+ *
+ * <pre>{@code
+ * Race deletes = Race.named("user deletes")
+ *         .prepare((client, id) -> ...create the user...)
+ *         .contender((id, index) -> Race.Request.of("DELETE", "/user/racer" + id, null))
+ *         .check((client, id, outcomes) -> ...exactly one 200...)
+ *         .build();
+ * }</pre>
+ */
+public final class Race {
+
+    private final String name;
+    private final Prepare prepare;
+    private final Contender contender;
+    private final Check check;
+
+    /**
+     * Creates the entity the contenders fight over, or nothing when the race starts from an empty slot.
+     */
+    @FunctionalInterface
+    public interface Prepare {
+
+        /**
+         * @throws AssertionError if the entity cannot be created
+         */
+        void prepare(PetstoreClient client, long id);
+    }
+
+    /**
+     * The request contender {@code index} sends; contenders differ in what they write, so the final state shows who won.
+     */
+    @FunctionalInterface
+    public interface Contender {
+        Request request(long id, int index);
+    }
+
+    /**
+     * Reads the final state and returns every broken invariant, or an empty list.
+     */
+    @FunctionalInterface
+    public interface Check {
+        List<String> check(PetstoreClient client, long id, List<Outcome> outcomes);
+    }
+
+    /**
+     * One contender's request.
+     */
+    public static final class Request {
+        private final String method;
+        private final String path;
+        private final String body;
+
+        private Request(String method, String path, String body) {
+            this.method = method;
+            this.path = path;
+            this.body = body;
+        }
+
+        /**
+         * @param path below {@code /api/v3}
+         * @param body the JSON body, or {@code null}
+         */
+        public static Request of(String method, String path, String body) {
+            return new Request(method, path, body);
+        }
+
+        public String method() {
+            return method;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        public String body() {
+            return body;
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+    }
+
+    /**
+     * What one contender got back.
+     */
+    public static final class Outcome {
+        private final int index;
+        private final Request request;
+        private final int status;
+        private final byte[] body;
+
+        Outcome(int index, Request request, int status, byte[] body) {
+            this.index = index;
+            this.request = request;
+            this.status = status;
+            this.body = body;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public Request request() {
+            return request;
+        }
+
+        /**
+         * The status code, or 0 when the request failed without a response.
+         */
+        public int status() {
+            return status;
+        }
+
+        public byte[] body() {
+            return body;
+        }
+    }
+
+    private Race(Builder builder) {
+        this.name = builder.name;
+        this.prepare = builder.prepare;
+        this.contender = builder.contender;
+        this.check = builder.check;
+    }
+
+    public static Builder named(String name) {
+        return new Builder(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    void prepare(PetstoreClient client, long id) {
+        prepare.prepare(client, id);
+    }
+
+    Request request(long id, int index) {
+        return contender.request(id, index);
+    }
+
+    List<String> check(PetstoreClient client, long id, List<Outcome> outcomes) {
+        return check.check(client, id, outcomes);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private Prepare prepare = (client, id) -> {
+        };
+        private Contender contender;
+        private Check check;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder prepare(Prepare prepare) {
+            this.prepare = prepare;
+            return this;
+        }
+
+        public Builder contender(Contender contender) {
+            this.contender = contender;
+            return this;
+        }
+
+        public Builder check(Check check) {
+            this.check = check;
+            return this;
+        }
+
+        /**
+         * @throws IllegalStateException if the contender or the check is missing
+         */
+        public Race build() {
+            if (contender == null || check == null) {
+                throw new IllegalStateException("Race '" + name + "' needs a contender and a check");
+            }
+            return new Race(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.stress;
+
+import org.example.client.ConnectionPool;
+import org.example.client.PetstoreClient;
+import org.example.load.LoadRunner;
+import org.example.server.PetstoreServer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command-line entry point that sweeps {@link Races} over growing numbers of contenders, to find where the backend
+ * stops keeping its invariants or its contended writes slow down, e.g.
+ * <pre>
+ * java org.example.stress.RaceCheck --base-uri=http://localhost:8080/ --contenders=2,8,32,128 --rounds=20
+ * </pre>
+ * {@code --races} lists the races to run by name (all by default), {@code --first-id} the first entity ID to race on
+ * (4000000000 by default, above the seeded IDs) and {@code --fail-on-violation} turns broken invariants into a
+ * failure. Without {@code --base-uri} it races an in-process {@link PetstoreServer}.
+ */
+public class RaceCheck {
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = LoadRunner.parseArgs(args);
+        List<Race> races = new ArrayList<>();
+        for (String name : options.getOrDefault("races", String.join(",", Races.byName().keySet())).split(",")) {
+            Race race = Races.byName().get(name);
+            if (race == null) {
+                throw new IllegalArgumentException("Unknown race '" + name + "', expected one of " + Races.byName().keySet());
+            }
+            races.add(race);
+        }
+        int rounds = Integer.parseInt(options.getOrDefault("rounds", "10"));
+        AtomicLong ids = new AtomicLong(Long.parseLong(options.getOrDefault("first-id", "4000000000")));
+        PetstoreServer embedded = options.containsKey("base-uri") ? null : PetstoreServer.start();
+        String baseUri = embedded == null ? options.get("base-uri") : embedded.baseUri();
+        int violations = 0;
+        try {
+            PetstoreClient client = new PetstoreClient(baseUri, ConnectionPool.shared().javaHttpClient());
+            RaceReport.printHeader(System.out);
+            for (String contenders : options.getOrDefault("contenders", "2,4,8,16,32").split(",")) {
+                try (RaceRunner runner = new RaceRunner(client, Integer.parseInt(contenders), rounds)) {
+                    for (Race race : races) {
+                        RaceReport report = runner.run(race, ids::getAndIncrement);
+                        report.printRow(System.out);
+                        report.violations().stream().limit(5).forEach(violation -> System.out.println("    " + violation));
+                        violations += report.violations().size();
+                    }
+                }
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+        if (Boolean.parseBoolean(options.getOrDefault("fail-on-violation", "false")) && violations > 0) {
+            throw new IllegalStateException(violations + " race invariant(s) broken");
+        }
+    }
+}
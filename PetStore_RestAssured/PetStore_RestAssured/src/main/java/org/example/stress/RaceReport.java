@@ -0,0 +1,125 @@
+package org.example.stress;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the rounds of one {@link Race} returned: the status codes per method, the latency of the contended writes,
+ * how far apart the contenders actually sent (the barrier's release skew) and every broken invariant.
+ */
+public final class RaceReport {
+
+    private final String race;
+    private final int contenders;
+    private final int rounds;
+    private final Map<String, Map<Integer, Integer>> statuses = new TreeMap<>();
+    private final List<String> violations = new ArrayList<>();
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private long maxSkewNanos;
+    private long elapsedNanos;
+
+    RaceReport(String race, int contenders, int rounds) {
+        this.race = race;
+        this.contenders = contenders;
+        this.rounds = rounds;
+    }
+
+    synchronized void status(String method, int status) {
+        statuses.computeIfAbsent(method, key -> new TreeMap<>()).merge(status, 1, Integer::sum);
+    }
+
+    void latency(long nanos) {
+        latency.recordValue(nanos);
+    }
+
+    synchronized void skew(long nanos) {
+        maxSkewNanos = Math.max(maxSkewNanos, nanos);
+    }
+
+    synchronized void violation(String violation) {
+        violations.add(violation);
+    }
+
+    synchronized void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String race() {
+        return race;
+    }
+
+    public int contenders() {
+        return contenders;
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * How often each status code came back per method, e.g. {@code {DELETE={200=1, 404=7}}}; 0 counts requests that
+     * got no response at all.
+     */
+    public synchronized Map<String, Map<Integer, Integer>> statuses() {
+        Map<String, Map<Integer, Integer>> copy = new TreeMap<>();
+        statuses.forEach((method, counts) -> copy.put(method, Collections.unmodifiableMap(new TreeMap<>(counts))));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public synchronized List<String> violations() {
+        return List.copyOf(violations);
+    }
+
+    public double latencyMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * The widest gap between the first and the last contender of a round sending, in microseconds.
+     */
+    public synchronized long maxSkewMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxSkewNanos);
+    }
+
+    /**
+     * Contended writes per second over all rounds, preparation and checks included.
+     */
+    public synchronized double writesPerSecond() {
+        return elapsedNanos == 0 ? 0 : latency.getTotalCount() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * @throws AssertionError listing every broken invariant, with the status distribution
+     */
+    public void assertHolds() {
+        List<String> broken = violations();
+        if (!broken.isEmpty()) {
+            throw new AssertionError(broken.size() + " invariant(s) of '" + race + "' broken with " + contenders
+                    + " contenders, statuses " + statuses() + ":\n  " + String.join("\n  ", broken));
+        }
+    }
+
+    public static void printHeader(PrintStream out) {
+        out.printf("%-28s %11s %6s %-40s %10s %8s %8s %9s %9s%n",
+                "race", "contenders", "rounds", "statuses", "violations", "p50 ms", "max ms", "skew us", "writes/s");
+    }
+
+    public void printRow(PrintStream out) {
+        out.printf("%-28s %11d %6d %-40s %10d %8.2f %8.2f %9d %9.0f%n", race, contenders, rounds, statuses(),
+                violations().size(), latencyMillis(50), latencyMillis(100), maxSkewMicros(), writesPerSecond());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d contenders x %d rounds, statuses %s, %d violation(s), p50 %.2f ms, max %.2f ms, skew %d us",
+                race, contenders, rounds, statuses(), violations().size(), latencyMillis(50), latencyMillis(100), maxSkewMicros());
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.stress;
+
+import org.example.client.PetstoreClient;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs {@link Race}s: per round it prepares a fresh entity, builds every contender's request, parks one thread per
+ * contender on a {@link CyclicBarrier} and lets them all send at once, so the writes overlap as much as the client and
+ * the network allow. The status codes, latencies and broken invariants of all rounds are collected in a
+ * {@link RaceReport}.
+ */
+public class RaceRunner implements AutoCloseable {
+
+    public static final String CONTENDERS_PROPERTY = "petstore.race.contenders";
+    public static final String ROUNDS_PROPERTY = "petstore.race.rounds";
+
+    private static final long BARRIER_TIMEOUT_SECONDS = 30;
+
+    private final PetstoreClient client;
+    private final int contenders;
+    private final int rounds;
+    private final ExecutorService executor;
+
+    public RaceRunner(PetstoreClient client, int contenders, int rounds) {
+        if (contenders < 2) {
+            throw new IllegalArgumentException("A race needs at least 2 contenders, was " + contenders);
+        }
+        if (rounds <= 0) {
+            throw new IllegalArgumentException("Rounds must be positive, was " + rounds);
+        }
+        this.client = client;
+        this.contenders = contenders;
+        this.rounds = rounds;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(contenders, runnable -> {
+            Thread thread = new Thread(runnable, "race-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a runner with the {@code petstore.race.contenders} (8 by default) and {@code petstore.race.rounds}
+     * (3 by default) system properties.
+     */
+    public static RaceRunner fromSystemProperties(PetstoreClient client) {
+        return new RaceRunner(client, Integer.getInteger(CONTENDERS_PROPERTY, 8), Integer.getInteger(ROUNDS_PROPERTY, 3));
+    }
+
+    /**
+     * Runs every round, each on a fresh entity ID.
+     */
+    public RaceReport run(Race race, LongSupplier ids) throws InterruptedException {
+        RaceReport report = new RaceReport(race.name(), contenders, rounds);
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            long id = ids.getAsLong();
+            String prefix = "round " + (round + 1) + " (#" + id + "): ";
+            try {
+                race.prepare(client, id);
+            } catch (AssertionError | RuntimeException e) {
+                report.violation(prefix + "preparing failed: " + e.getMessage());
+                continue;
+            }
+            List<Race.Outcome> outcomes = race(race, id, report);
+            try {
+                for (String violation : race.check(client, id, outcomes)) {
+                    report.violation(prefix + violation);
+                }
+            } catch (AssertionError | RuntimeException e) {
+                report.violation(prefix + "checking failed: " + e);
+            }
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private List<Race.Outcome> race(Race race, long id, RaceReport report) throws InterruptedException {
+        CyclicBarrier barrier = new CyclicBarrier(contenders);
+        long[] sent = new long[contenders];
+        List<Future<Race.Outcome>> futures = new ArrayList<>(contenders);
+        for (int i = 0; i < contenders; i++) {
+            int index = i;
+            Race.Request request = race.request(id, index);
+            futures.add(executor.submit(() -> {
+                barrier.await(BARRIER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                sent[index] = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = client.send(request.method(), request.path(), request.body(), HttpResponse.BodyHandlers.ofByteArray());
+                    report.latency(System.nanoTime() - sent[index]);
+                    return new Race.Outcome(index, request, response.statusCode(), response.body());
+                } catch (RuntimeException e) {
+                    report.latency(System.nanoTime() - sent[index]);
+                    return new Race.Outcome(index, request, 0, new byte[0]);
+                }
+            }));
+        }
+        List<Race.Outcome> outcomes = new ArrayList<>(contenders);
+        for (Future<Race.Outcome> future : futures) {
+            try {
+                Race.Outcome outcome = future.get();
+                report.status(outcome.request().method(), outcome.status());
+                outcomes.add(outcome);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof BrokenBarrierException || e.getCause() instanceof TimeoutException) {
+                    throw new IllegalStateException("Contenders of '" + race.name() + "' were not released together", e.getCause());
+                }
+                throw new IllegalStateException("Contender of '" + race.name() + "' failed", e.getCause());
+            }
+        }
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (long nanos : sent) {
+            first = Math.min(first, nanos);
+            last = Math.max(last, nanos);
+        }
+        report.skew(last - first);
+        return outcomes;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
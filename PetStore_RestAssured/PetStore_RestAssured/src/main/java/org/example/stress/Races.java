@@ -0,0 +1,280 @@
+package org.example.stress;
+
+import org.example.client.PetstoreClient;
+import org.example.model.Order;
+import org.example.model.Pet;
+import org.example.model.User;
+import org.example.validation.FieldReader;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The write conflicts the Pet, Store and User suites only ever send one at a time, as {@link Race}s. Every contender
+ * writes values tagged with its index ("Racer 3" into both the name and the category of a pet, say), so the checks can
+ * tell which write won and whether the stored entity mixes two writes.
+ */
+public final class Races {
+
+    private static final FieldReader PET = FieldReader.of("name", "category.name", "status");
+    private static final FieldReader ORDER = FieldReader.of("id", "petId");
+    private static final FieldReader USER = FieldReader.of("lastName", "email");
+
+    /**
+     * Order IDs of contender {@code i} are {@code (i + 1) * ORDER_ID_STRIDE + id}, above every ID the suites and the
+     * seeder use.
+     */
+    private static final long ORDER_ID_STRIDE = 10_000_000_000L;
+
+    /**
+     * Every contender adds a pet with the same new ID. Petstore v3 overwrites, so all of them get 200; a backend that
+     * rejects duplicates must accept exactly one and answer 400 to the rest. Anything in between means creates are not
+     * atomic. The stored pet must be exactly one contender's, and one whose create succeeded.
+     */
+    public static final Race SAME_PET_ID = Race.named("create same pet id")
+            .contender((id, index) -> Race.Request.of("POST", "/pet", racer(id, "Racer " + index).toJson()))
+            .check((client, id, outcomes) -> {
+                List<String> violations = unexpected(outcomes, Map.of("POST", Set.of(200, 400)));
+                List<Integer> created = succeeded(outcomes, "POST");
+                int rejected = outcomes.size() - created.size();
+                if (created.isEmpty()) {
+                    violations.add("no create succeeded");
+                } else if (rejected > 0 && created.size() > 1) {
+                    violations.add(created.size() + " creates succeeded while " + rejected + " were rejected");
+                }
+                violations.addAll(storedPet(client, id, created, false));
+                return violations;
+            })
+            .build();
+
+    /**
+     * Half the contenders update an existing pet while the other half delete it. Either a delete won and the pet is
+     * gone, or the pet holds exactly one successful update; it must never be gone without a successful delete or still
+     * hold its original values after one.
+     */
+    public static final Race UPDATE_DELETE_PET = Race.named("update and delete pet")
+            .prepare((client, id) -> expect(client, "POST", "/pet", racer(id, "Racer").toJson(), 200))
+            .contender((id, index) -> index % 2 == 0
+                    ? Race.Request.of("PUT", "/pet", racer(id, "Racer " + index).toJson())
+                    : Race.Request.of("DELETE", "/pet/" + id, null))
+            .check((client, id, outcomes) -> {
+                List<String> violations = unexpected(outcomes, Map.of("PUT", Set.of(200, 404), "DELETE", Set.of(200, 404)));
+                boolean deleted = !succeeded(outcomes, "DELETE").isEmpty();
+                HttpResponse<byte[]> stored = send(client, "GET", "/pet/" + id, null);
+                if (stored.statusCode() == 404) {
+                    if (!deleted) {
+                        violations.add("pet is gone but no delete succeeded");
+                    }
+                } else {
+                    violations.addAll(storedPet(client, id, succeeded(outcomes, "PUT"), !deleted));
+                }
+                return violations;
+            })
+            .build();
+
+    /**
+     * Every contender places an order for the same pet. Petstore does not reserve pets, so every order must be
+     * accepted, stored under its own ID for that pet, and the pet must be left as it was. The orders are deleted again
+     * after the check, so they do not count towards the inventory.
+     */
+    public static final Race SAME_PET_ORDERS = Race.named("orders for the same pet")
+            .prepare((client, id) -> expect(client, "POST", "/pet", racer(id, "Racer").toJson(), 200))
+            .contender((id, index) -> Race.Request.of("POST", "/store/order", Order.builder()
+                    .id(orderId(id, index))
+                    .petId(id)
+                    .quantity(1)
+                    .shipDate("2021-07-01T12:00:00.000Z")
+                    .status("placed")
+                    .complete(false)
+                    .build()
+                    .toJson()))
+            .check((client, id, outcomes) -> {
+                List<String> violations = unexpected(outcomes, Map.of("POST", Set.of(200)));
+                for (int index : succeeded(outcomes, "POST")) {
+                    long orderId = orderId(id, index);
+                    HttpResponse<byte[]> stored = send(client, "GET", "/store/order/" + orderId, null);
+                    if (stored.statusCode() != 200) {
+                        violations.add("order " + orderId + " was accepted but is " + stored.statusCode() + " now");
+                    } else {
+                        Object[] order = ORDER.read(stored.body());
+                        if (!number(order[0], orderId) || !number(order[1], id)) {
+                            violations.add("order " + orderId + " is stored as order " + order[0] + " for pet " + order[1]);
+                        }
+                    }
+                    send(client, "DELETE", "/store/order/" + orderId, null);
+                }
+                Object[] pet = PET.read(expect(client, "GET", "/pet/" + id, null, 200));
+                if (!"Racer".equals(pet[0]) || !"available".equals(pet[2])) {
+                    violations.add("ordering changed the pet to " + pet[0] + " (" + pet[2] + ")");
+                }
+                return violations;
+            })
+            .build();
+
+    /**
+     * Every contender updates the same user with its own last name and email. All updates must succeed, and the stored
+     * user must hold the last name and email of one and the same contender.
+     */
+    public static final Race USER_UPDATES = Race.named("user updates")
+            .prepare((client, id) -> expect(client, "POST", "/user", racer(id, -1).toJson(), 200))
+            .contender((id, index) -> Race.Request.of("PUT", "/user/racer" + id, racer(id, index).toJson()))
+            .check((client, id, outcomes) -> {
+                List<String> violations = unexpected(outcomes, Map.of("PUT", Set.of(200)));
+                Object[] user = USER.read(expect(client, "GET", "/user/racer" + id, null, 200));
+                int lastName = index(user[0], "Racer ");
+                int email = index(user[1], "racer.");
+                if (lastName != email) {
+                    violations.add("user mixes two updates: " + user[0] + " with " + user[1]);
+                } else if (!succeeded(outcomes, "PUT").contains(lastName)) {
+                    violations.add("user holds " + user[0] + ", whose update did not succeed");
+                }
+                return violations;
+            })
+            .build();
+
+    /**
+     * Every contender deletes the same user. Exactly one delete may succeed; the others must find it gone.
+     */
+    public static final Race USER_DELETES = Race.named("user deletes")
+            .prepare((client, id) -> expect(client, "POST", "/user", racer(id, -1).toJson(), 200))
+            .contender((id, index) -> Race.Request.of("DELETE", "/user/racer" + id, null))
+            .check((client, id, outcomes) -> {
+                List<String> violations = unexpected(outcomes, Map.of("DELETE", Set.of(200, 404)));
+                int deleted = succeeded(outcomes, "DELETE").size();
+                if (deleted != 1) {
+                    violations.add(deleted + " deletes of the same user succeeded");
+                }
+                int status = send(client, "GET", "/user/racer" + id, null).statusCode();
+                if (status != 404) {
+                    violations.add("deleted user answers " + status);
+                }
+                return violations;
+            })
+            .build();
+
+    private Races() {
+    }
+
+    /**
+     * All races by the short name used on the command line.
+     */
+    public static Map<String, Race> byName() {
+        Map<String, Race> races = new LinkedHashMap<>();
+        races.put("same-pet-id", SAME_PET_ID);
+        races.put("update-delete-pet", UPDATE_DELETE_PET);
+        races.put("same-pet-orders", SAME_PET_ORDERS);
+        races.put("user-updates", USER_UPDATES);
+        races.put("user-deletes", USER_DELETES);
+        return races;
+    }
+
+    private static Pet racer(long id, String name) {
+        return Pet.builder()
+                .id(id)
+                .category(1, name)
+                .name(name)
+                .photoUrl("https://example.org/racers/" + id + ".png")
+                .status("available")
+                .build();
+    }
+
+    private static User racer(long id, int index) {
+        return User.builder()
+                .id(id)
+                .username("racer" + id)
+                .firstName("Racer")
+                .lastName("Racer " + index)
+                .email("racer." + index + "@example.com")
+                .password("secret")
+                .phone("555-0100")
+                .userStatus(1)
+                .build();
+    }
+
+    private static long orderId(long id, int index) {
+        return (index + 1) * ORDER_ID_STRIDE + id;
+    }
+
+    /**
+     * The stored pet must be whole (name and category from the same write) and come from one of {@code winners}, or
+     * still be the prepared one when {@code originalAllowed}.
+     */
+    private static List<String> storedPet(PetstoreClient client, long id, List<Integer> winners, boolean originalAllowed) {
+        List<String> violations = new ArrayList<>();
+        HttpResponse<byte[]> stored = send(client, "GET", "/pet/" + id, null);
+        if (stored.statusCode() != 200) {
+            violations.add("pet answers " + stored.statusCode() + " after the race");
+            return violations;
+        }
+        Object[] pet = PET.read(stored.body());
+        if (pet[0] == null || !pet[0].equals(pet[1])) {
+            violations.add("pet mixes two writes: name " + pet[0] + " with category " + pet[1]);
+        } else if ("Racer".equals(pet[0])) {
+            if (!originalAllowed) {
+                violations.add("pet still holds its original values");
+            }
+        } else if (!winners.contains(index(pet[0], "Racer "))) {
+            violations.add("pet holds " + pet[0] + ", whose write did not succeed");
+        }
+        return violations;
+    }
+
+    /**
+     * Outcomes whose status is not allowed for their method.
+     */
+    private static List<String> unexpected(List<Race.Outcome> outcomes, Map<String, Set<Integer>> allowed) {
+        List<String> violations = new ArrayList<>();
+        for (Race.Outcome outcome : outcomes) {
+            if (!allowed.get(outcome.request().method()).contains(outcome.status())) {
+                violations.add("contender " + outcome.index() + " got " + outcome.status() + " for " + outcome.request());
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Indexes of the contenders whose request with the method got 200.
+     */
+    private static List<Integer> succeeded(List<Race.Outcome> outcomes, String method) {
+        List<Integer> indexes = new ArrayList<>();
+        for (Race.Outcome outcome : outcomes) {
+            if (outcome.request().method().equals(method) && outcome.status() == 200) {
+                indexes.add(outcome.index());
+            }
+        }
+        return indexes;
+    }
+
+    private static int index(Object value, String prefix) {
+        String text = String.valueOf(value);
+        int end = text.indexOf('@');
+        try {
+            return Integer.parseInt(text.substring(prefix.length(), end < 0 ? text.length() : end));
+        } catch (RuntimeException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    private static boolean number(Object value, long expected) {
+        return value instanceof Number && ((Number) value).longValue() == expected;
+    }
+
+    private static HttpResponse<byte[]> send(PetstoreClient client, String method, String path, String body) {
+        return client.send(method, path, body, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * @throws AssertionError if the response has another status
+     */
+    private static byte[] expect(PetstoreClient client, String method, String path, String body, int status) {
+        HttpResponse<byte[]> response = send(client, method, path, body);
+        if (response.statusCode() != status) {
+            throw new AssertionError(method + " " + path + " answered " + response.statusCode() + ", expected " + status);
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.timing;
+
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.net.URI;
+
+/**
+ * Maps concrete request paths to the endpoint templates of the Petstore v3 API, e.g. {@code /pet/101} to
+ * {@code /pet/{id}}, so timings aggregate per endpoint rather than per entity. Paths outside the API keep their
+ * literal segments except numeric ones, which become {@code {id}}.
+ */
+public final class EndpointTemplates {
+
+    private static final String[] FIXED = {
+            "/pet", "/pet/findByStatus", "/pet/findByTags",
+            "/store/inventory", "/store/order",
+            "/user", "/user/createWithList", "/user/login", "/user/logout"
+    };
+
+    private EndpointTemplates() {
+    }
+
+    /**
+     * Returns {@code "METHOD /template"}.
+     *
+     * @param path the path below the API's base path, with or without a query string
+     */
+    public static String of(String method, String path) {
+        return method + " " + template(path);
+    }
+
+    /**
+     * Returns the {@code "METHOD /template"} of a request going through a RestAssured filter.
+     */
+    public static String of(FilterableRequestSpecification requestSpec) {
+        return of(requestSpec.getMethod(), pathAndQuery(requestSpec));
+    }
+
+    /**
+     * Returns the raw path of a request below the spec's base path, followed by its raw query string if it has one.
+     */
+    public static String pathAndQuery(FilterableRequestSpecification requestSpec) {
+        URI uri = URI.create(requestSpec.getURI());
+        String path = uri.getRawPath();
+        String basePath = requestSpec.getBasePath();
+        if (basePath != null && !basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+    }
+
+    static String template(String path) {
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        for (String fixed : FIXED) {
+            if (fixed.equals(path)) {
+                return fixed;
+            }
+        }
+        String[] segments = path.substring(1).split("/", -1);
+        if (segments.length >= 2 && segments[0].equals("user")) {
+            segments[1] = "{username}";
+        } else if (segments.length >= 2 && (segments[0].equals("pet") || segments[0].equals("store"))) {
+            int id = segments[0].equals("store") && segments[1].equals("order") ? 2 : 1;
+            if (id < segments.length) {
+                segments[id] = "{id}";
+            }
+        }
+        StringBuilder template = new StringBuilder(path.length());
+        for (String segment : segments) {
+            template.append('/').append(!segment.isEmpty() && isNumber(segment) ? "{id}" : segment);
+        }
+        return template.toString();
+    }
+
+    private static boolean isNumber(String segment) {
+        for (int i = segment.charAt(0) == '-' && segment.length() > 1 ? 1 : 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.timing;
+
+/**
+ * The phases of the exchange running on the current thread, filled in by the transport as it goes: RestAssured
+ * sends synchronously, so the {@link RequestTimer} and the hooks in the connection pool's HTTP client see the same
+ * thread. Phases the transport does not report, such as DNS and connect on a reused connection, stay 0. An exchange
+ * sent from another thread, such as a hedged request, hands its phases over with {@link #capture()} and
+ * {@link #adopt(Phases)}.
+ */
+public final class ExchangeTimings {
+
+    private static final ThreadLocal<ExchangeTimings> CURRENT = ThreadLocal.withInitial(ExchangeTimings::new);
+
+    private long startNanos;
+    private long dnsNanos;
+    private long connectNanos;
+    private long firstByteNanos;
+
+    private ExchangeTimings() {
+    }
+
+    /**
+     * Starts timing a new exchange on this thread.
+     */
+    static ExchangeTimings begin() {
+        ExchangeTimings timings = CURRENT.get();
+        timings.startNanos = System.nanoTime();
+        timings.dnsNanos = 0;
+        timings.connectNanos = 0;
+        timings.firstByteNanos = 0;
+        return timings;
+    }
+
+    /**
+     * Forgets the phases this thread reported so far, before it sends an exchange on behalf of another thread.
+     */
+    public static void reset() {
+        ExchangeTimings timings = CURRENT.get();
+        timings.dnsNanos = 0;
+        timings.connectNanos = 0;
+        timings.firstByteNanos = 0;
+    }
+
+    /**
+     * The phases this thread reported since its exchange began or it was {@link #reset()}.
+     */
+    public static Phases capture() {
+        ExchangeTimings timings = CURRENT.get();
+        return new Phases(timings.dnsNanos, timings.connectNanos, timings.firstByteNanos);
+    }
+
+    /**
+     * Takes over the phases another thread reported for the exchange timed on this one; the time to first byte is
+     * still measured from this exchange's start.
+     */
+    public static void adopt(Phases phases) {
+        ExchangeTimings timings = CURRENT.get();
+        timings.dnsNanos = phases.dnsNanos;
+        timings.connectNanos = phases.connectNanos;
+        timings.firstByteNanos = phases.firstByteNanos;
+    }
+
+    /**
+     * Adds time spent resolving the target host.
+     */
+    public static void dns(long nanos) {
+        CURRENT.get().dnsNanos += nanos;
+    }
+
+    /**
+     * Adds time spent opening a connection, including the DNS lookup reported through {@link #dns(long)}.
+     */
+    public static void connect(long nanos) {
+        CURRENT.get().connectNanos += nanos;
+    }
+
+    /**
+     * Marks the response status line and headers as received.
+     */
+    public static void firstByte() {
+        CURRENT.get().firstByteNanos = System.nanoTime();
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    long dnsNanos() {
+        return dnsNanos;
+    }
+
+    /**
+     * Time spent connecting, without the DNS lookup.
+     */
+    long connectNanos() {
+        return Math.max(0, connectNanos - dnsNanos);
+    }
+
+    /**
+     * Time from the start of the exchange to the response headers, or 0 when the transport did not report it.
+     */
+    long timeToFirstByteNanos() {
+        return firstByteNanos == 0 ? 0 : firstByteNanos - startNanos;
+    }
+
+    /**
+     * Phases reported on one thread, see {@link #capture()}.
+     */
+    public static final class Phases {
+        private final long dnsNanos;
+        private final long connectNanos;
+        private final long firstByteNanos;
+
+        private Phases(long dnsNanos, long connectNanos, long firstByteNanos) {
+            this.dnsNanos = dnsNanos;
+            this.connectNanos = connectNanos;
+            this.firstByteNanos = firstByteNanos;
+        }
+    }
+}
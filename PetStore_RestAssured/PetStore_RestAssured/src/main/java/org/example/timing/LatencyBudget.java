@@ -0,0 +1,110 @@
+package org.example.timing;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latency limits per endpoint template, written as
+ * <pre>
+ * GET /pet/{id}=p99:200,ttfb.p95:50;GET /store/inventory=p95:100;*=p99:2000
+ * </pre>
+ * Entries are separated by {@code ;}. Each limit is a percentile of the {@code total} phase, or {@code <phase>.p<n>}
+ * for another phase, followed by the limit in milliseconds. {@code *} applies to every endpoint without an entry of
+ * its own.
+ */
+public class LatencyBudget {
+
+    private static final String ANY = "*";
+
+    private final Map<String, List<Limit>> limits = new LinkedHashMap<>();
+
+    private static final class Limit {
+        final String phase;
+        final double percentile;
+        final double millis;
+        final String key;
+
+        Limit(String phase, double percentile, double millis, String key) {
+            this.phase = phase;
+            this.percentile = percentile;
+            this.millis = millis;
+            this.key = key;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the budget cannot be parsed
+     */
+    public static LatencyBudget parse(String spec) {
+        LatencyBudget budget = new LatencyBudget();
+        if (spec == null || spec.isBlank()) {
+            return budget;
+        }
+        for (String entry : spec.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.lastIndexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected <endpoint>=<limits> in latency budget entry '" + entry + "'");
+            }
+            List<Limit> endpointLimits = new ArrayList<>();
+            for (String limit : entry.substring(equals + 1).split(",")) {
+                endpointLimits.add(limit(limit.trim()));
+            }
+            budget.limits.put(entry.substring(0, equals).trim(), endpointLimits);
+        }
+        return budget;
+    }
+
+    private static Limit limit(String text) {
+        int colon = text.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected p<n>:<millis> in latency limit '" + text + "'");
+        }
+        String key = text.substring(0, colon);
+        int dot = key.indexOf('.');
+        String phase = dot < 0 ? LatencyReport.TOTAL : key.substring(0, dot);
+        String percentile = dot < 0 ? key : key.substring(dot + 1);
+        if (!percentile.startsWith("p") || !List.of(LatencyReport.PHASES).contains(phase)) {
+            throw new IllegalArgumentException("Unknown latency limit '" + text + "'");
+        }
+        try {
+            return new Limit(phase, Double.parseDouble(percentile.substring(1)), Double.parseDouble(text.substring(colon + 1).replace("ms", "")), key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in latency limit '" + text + "'", e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return limits.isEmpty();
+    }
+
+    /**
+     * Returns one message per exceeded limit; empty when the report is within budget.
+     */
+    public List<String> violations(LatencyReport report) {
+        List<String> violations = new ArrayList<>();
+        for (String endpoint : report.endpoints()) {
+            List<Limit> endpointLimits = limits.getOrDefault(endpoint, limits.get(ANY));
+            if (endpointLimits == null) {
+                continue;
+            }
+            for (Limit limit : endpointLimits) {
+                Histogram histogram = report.histogram(endpoint, limit.phase);
+                if (histogram == null) {
+                    continue;
+                }
+                double actual = LatencyReport.millis(histogram.getValueAtPercentile(limit.percentile));
+                if (actual > limit.millis) {
+                    violations.add(String.format("%s: %s is %.2f ms, over the budget of %s ms", endpoint, limit.key, actual, limit.millis));
+                }
+            }
+        }
+        return violations;
+    }
+}
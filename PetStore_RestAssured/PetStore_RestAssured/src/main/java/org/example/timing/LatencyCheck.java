@@ -0,0 +1,55 @@
+package org.example.timing;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Runs after the tests: merges the {@code latency-<run>-<worker>.json} reports of every test JVM of a run into
+ * {@code latency.json} and {@code latency.csv}, prints the table and fails when the budget is exceeded. Reports of
+ * other runs in the same directory, e.g. of a run with more forks, are left out.
+ * <pre>
+ * java org.example.timing.LatencyCheck target/latency "GET /pet/{id}=p99:200;*=p99:2000" 20240101-120000000
+ * </pre>
+ * The build runs it in the {@code verify} phase with the {@code petstore.latency.budget} and
+ * {@code petstore.latency.run} properties; without a run, every {@code latency-*.json} is merged.
+ */
+public class LatencyCheck {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: LatencyCheck <report directory> [budget] [run]");
+        }
+        Path dir = Paths.get(args[0]);
+        LatencyBudget budget = LatencyBudget.parse(args.length > 1 ? args[1] : null);
+        LatencyReport merged = merge(dir, args.length > 2 ? args[2] : null);
+        if (merged.isEmpty()) {
+            System.out.println("No latency reports in " + dir);
+            return;
+        }
+        merged.writeJson(dir.resolve("latency.json"));
+        merged.writeCsv(dir.resolve("latency.csv"));
+        merged.print(System.out);
+        List<String> violations = budget.violations(merged);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Latency budget exceeded:\n" + String.join("\n", violations));
+        }
+    }
+
+    static LatencyReport merge(Path dir, String run) throws IOException {
+        LatencyReport merged = new LatencyReport();
+        if (!Files.isDirectory(dir)) {
+            return merged;
+        }
+        String pattern = run == null || run.isBlank() ? "latency-*.json" : "latency-" + run + "-*.json";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, pattern)) {
+            for (Path file : files) {
+                merged.merge(LatencyReport.readJson(file));
+            }
+        }
+        return merged;
+    }
+}
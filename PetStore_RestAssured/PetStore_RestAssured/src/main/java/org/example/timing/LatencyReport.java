@@ -0,0 +1,167 @@
+package org.example.timing;
+
+import org.HdrHistogram.Histogram;
+import org.example.json.Json;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * Latency histograms per endpoint template and phase, in nanoseconds. The phases are {@link #TOTAL} (request start to
+ * the body fully read), {@link #TTFB} (to the response headers), and {@link #CONNECT} and {@link #DNS}, which are only
+ * recorded for exchanges that opened a new connection.
+ *
+ * <p>The JSON form carries p50/p95/p99/max in milliseconds for readers and the compressed histogram for
+ * {@link #merge merging} the reports of several test JVMs exactly; the CSV form has one row per endpoint and phase.
+ */
+public class LatencyReport {
+
+    public static final String TOTAL = "total";
+    public static final String TTFB = "ttfb";
+    public static final String CONNECT = "connect";
+    public static final String DNS = "dns";
+    static final String[] PHASES = {TOTAL, TTFB, CONNECT, DNS};
+
+    private final Map<String, Map<String, Histogram>> endpoints = new TreeMap<>();
+
+    /**
+     * Adds a copy of the histogram to the endpoint's phase, merging with what is already there.
+     */
+    public void add(String endpoint, String phase, Histogram histogram) {
+        Map<String, Histogram> phases = endpoints.computeIfAbsent(endpoint, key -> new LinkedHashMap<>());
+        Histogram existing = phases.get(phase);
+        if (existing == null) {
+            Histogram copy = new Histogram(3);
+            copy.add(histogram);
+            phases.put(phase, copy);
+        } else {
+            existing.add(histogram);
+        }
+    }
+
+    public void merge(LatencyReport other) {
+        other.endpoints.forEach((endpoint, phases) -> phases.forEach((phase, histogram) -> add(endpoint, phase, histogram)));
+    }
+
+    public List<String> endpoints() {
+        return new ArrayList<>(endpoints.keySet());
+    }
+
+    /**
+     * The histogram of an endpoint's phase, or {@code null} if nothing was recorded.
+     */
+    public Histogram histogram(String endpoint, String phase) {
+        Map<String, Histogram> phases = endpoints.get(endpoint);
+        return phases == null ? null : phases.get(phase);
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty();
+    }
+
+    public void writeJson(Path file) throws IOException {
+        List<Object> rows = new ArrayList<>();
+        endpoints.forEach((endpoint, phases) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint);
+            row.put("requests", count(phases.get(TOTAL)));
+            row.put("connections", count(phases.get(CONNECT)));
+            Map<String, Object> phaseRows = new LinkedHashMap<>();
+            phases.forEach((phase, histogram) -> {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("p50", millis(histogram.getValueAtPercentile(50)));
+                stats.put("p95", millis(histogram.getValueAtPercentile(95)));
+                stats.put("p99", millis(histogram.getValueAtPercentile(99)));
+                stats.put("max", millis(histogram.getMaxValue()));
+                stats.put("histogram", encode(histogram));
+                phaseRows.put(phase, stats);
+            });
+            row.put("phases", phaseRows);
+            rows.add(row);
+        });
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("unit", "ms");
+        document.put("endpoints", rows);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, Json.write(document).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("endpoint,phase,count,p50_ms,p95_ms,p99_ms,max_ms\n");
+        endpoints.forEach((endpoint, phases) -> phases.forEach((phase, histogram) -> csv
+                .append('"').append(endpoint.replace("\"", "\"\"")).append('"')
+                .append(',').append(phase)
+                .append(',').append(histogram.getTotalCount())
+                .append(',').append(millis(histogram.getValueAtPercentile(50)))
+                .append(',').append(millis(histogram.getValueAtPercentile(95)))
+                .append(',').append(millis(histogram.getValueAtPercentile(99)))
+                .append(',').append(millis(histogram.getMaxValue()))
+                .append('\n')));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a report written by {@link #writeJson(Path)}.
+     *
+     * @throws IllegalArgumentException if the file is not such a report
+     */
+    public static LatencyReport readJson(Path file) throws IOException {
+        LatencyReport report = new LatencyReport();
+        Object document = Json.parse(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        Object rows = Json.at(document, "endpoints");
+        if (!(rows instanceof List)) {
+            throw new IllegalArgumentException(file + " is not a latency report");
+        }
+        for (Object row : (List<?>) rows) {
+            String endpoint = (String) Json.at(row, "endpoint");
+            Map<?, ?> phases = (Map<?, ?>) Json.at(row, "phases");
+            for (Map.Entry<?, ?> phase : phases.entrySet()) {
+                report.add(endpoint, (String) phase.getKey(), decode((String) Json.at(phase.getValue(), "histogram")));
+            }
+        }
+        return report;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-34s %8s %6s %9s %9s %9s %9s%n", "endpoint", "phase", "count", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        endpoints.forEach((endpoint, phases) -> phases.forEach((phase, histogram) -> out.printf("%-34s %8s %6d %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, phase, histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()))));
+    }
+
+    static double millis(long nanos) {
+        return Math.round(nanos / 1e3) / 1e3;
+    }
+
+    private static long count(Histogram histogram) {
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt histogram in latency report", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.timing;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RestAssured filter that times every exchange per endpoint template, e.g. {@code GET /pet/{id}}. Recording goes into
+ * HdrHistogram's {@link ConcurrentHistogram}, whose writers never block each other or a reader, so parallel tests
+ * add no contention. Add it as the first filter of a spec so the total includes the filters after it, and pair it
+ * with the {@code ConnectionPool} configuration to get the DNS, connect and time-to-first-byte phases as well.
+ *
+ * <p>{@link #shared()} writes this JVM's timings to {@code latency-<run>-<worker>.json} and {@code .csv} in the
+ * {@code petstore.latency.dir} directory when the JVM exits, {@code <run>} being the {@code petstore.latency.run} the
+ * build passes to every fork; {@link LatencyCheck} merges the files of all test JVMs of that run and enforces the
+ * latency budget.
+ */
+public class RequestTimer implements Filter {
+
+    private static RequestTimer shared;
+
+    private final Map<String, Histogram[]> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the timer shared by all suites in this JVM. When {@code petstore.latency.dir} is set, its report is
+     * written there at exit.
+     */
+    public static synchronized RequestTimer shared() {
+        if (shared == null) {
+            shared = new RequestTimer();
+            String dir = System.getProperty("petstore.latency.dir");
+            if (dir != null && !dir.isBlank()) {
+                RequestTimer timer = shared;
+                String name = reportName(System.getProperty("petstore.latency.run"), Integer.getInteger("petstore.worker", 1));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> timer.write(Paths.get(dir), name), "latency-report"));
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * The name of a worker's report, scoped by the run when there is one so that reports left behind by earlier runs
+     * are not merged into it.
+     */
+    static String reportName(String run, int worker) {
+        return run == null || run.isBlank() ? "latency-" + worker : "latency-" + run + "-" + worker;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        ExchangeTimings timings = ExchangeTimings.begin();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long total = System.nanoTime() - timings.startNanos();
+        Histogram[] phases = endpoints.computeIfAbsent(EndpointTemplates.of(requestSpec), key -> newPhases());
+        phases[0].recordValue(total);
+        long ttfb = timings.timeToFirstByteNanos();
+        if (ttfb > 0) {
+            phases[1].recordValue(ttfb);
+        }
+        if (timings.connectNanos() > 0) {
+            phases[2].recordValue(timings.connectNanos());
+            phases[3].recordValue(timings.dnsNanos());
+        }
+        return response;
+    }
+
+    /**
+     * A snapshot of everything recorded so far.
+     */
+    public LatencyReport report() {
+        LatencyReport report = new LatencyReport();
+        endpoints.forEach((endpoint, phases) -> {
+            for (int i = 0; i < phases.length; i++) {
+                if (phases[i].getTotalCount() > 0) {
+                    report.add(endpoint, LatencyReport.PHASES[i], phases[i]);
+                }
+            }
+        });
+        return report;
+    }
+
+    /**
+     * Writes {@code <name>.json} and {@code <name>.csv} into the directory.
+     */
+    public void write(Path dir, String name) {
+        LatencyReport report = report();
+        try {
+            report.writeJson(dir.resolve(name + ".json"));
+            report.writeCsv(dir.resolve(name + ".csv"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the latency report to " + dir, e);
+        }
+    }
+
+    private static Histogram[] newPhases() {
+        Histogram[] phases = new Histogram[LatencyReport.PHASES.length];
+        for (int i = 0; i < phases.length; i++) {
+            phases[i] = new ConcurrentHistogram(3);
+        }
+        return phases;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.validation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What {@link ArrayStream} found in a streamed array: counts, a checksum and the first mismatches.
+ */
+public final class ArrayReport {
+
+    private final long elements;
+    private final long failed;
+    private final long bytes;
+    private final long checksum;
+    private final int largestElement;
+    private final List<String> mismatches;
+
+    ArrayReport(long elements, long failed, long bytes, long checksum, int largestElement, List<String> mismatches) {
+        this.elements = elements;
+        this.failed = failed;
+        this.bytes = bytes;
+        this.checksum = checksum;
+        this.largestElement = largestElement;
+        this.mismatches = Collections.unmodifiableList(mismatches);
+    }
+
+    public long elements() {
+        return elements;
+    }
+
+    /**
+     * Elements with at least one mismatch.
+     */
+    public long failed() {
+        return failed;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * CRC-32C of the body bytes.
+     */
+    public long checksum() {
+        return checksum;
+    }
+
+    /**
+     * Size in bytes of the largest element, which bounds the memory the check needed.
+     */
+    public int largestElement() {
+        return largestElement;
+    }
+
+    /**
+     * The mismatches of the first failed elements, each prefixed with the element's index.
+     */
+    public List<String> mismatches() {
+        return mismatches;
+    }
+
+    /**
+     * @throws AssertionError naming how many elements failed, with the first mismatches
+     */
+    public void assertAllPassed() {
+        if (failed > 0) {
+            throw new AssertionError(failed + " of " + elements + " array element(s) failed.\n" + String.join("\n", mismatches));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d elements, %d failed, %d bytes, checksum %08x", elements, failed, bytes, checksum);
+    }
+}
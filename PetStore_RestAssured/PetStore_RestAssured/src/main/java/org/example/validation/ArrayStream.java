@@ -0,0 +1,126 @@
+package org.example.validation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Checks a JSON array body, such as the result of {@code /pet/findByStatus}, element by element while it is read
+ * from the stream. Only the element being checked is held in memory, so a body of hundreds of megabytes needs no more
+ * heap than its largest element; RestAssured would first buffer all of it as a string.
+ *
+ * <p>Each element is checked against a {@link ResponsePlan} with paths relative to the element, e.g.
+ * {@code "status"}; a status code in the plan is ignored. The result counts elements and failures, keeps the first
+ * {@value #KEPT_MISMATCHES} mismatch messages and a CRC-32C checksum of the whole body.
+ */
+public final class ArrayStream {
+
+    static final int KEPT_MISMATCHES = 10;
+
+    private static final int CHUNK = 64 * 1024;
+
+    private ArrayStream() {
+    }
+
+    /**
+     * Reads the body to its end, without closing it.
+     *
+     * @param expected the values of the plan's placeholders, the same for every element
+     * @throws IllegalArgumentException if the body is not a JSON array
+     * @throws IOException              if reading the body fails
+     */
+    public static ArrayReport check(InputStream body, ResponsePlan elementPlan, Object... expected) throws IOException {
+        elementPlan.requireArguments(expected);
+        byte[] chunk = new byte[CHUNK];
+        byte[] element = new byte[1024];
+        int length = 0;
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        boolean closed = false;
+        long elements = 0;
+        long failed = 0;
+        long bytes = 0;
+        int largest = 0;
+        List<String> mismatches = new ArrayList<>();
+        List<String> elementMismatches = new ArrayList<>();
+        CRC32C checksum = new CRC32C();
+
+        int read;
+        while ((read = body.read(chunk)) >= 0) {
+            checksum.update(chunk, 0, read);
+            bytes += read;
+            for (int i = 0; i < read; i++) {
+                byte c = chunk[i];
+                if (closed) {
+                    if (!isWhitespace(c)) {
+                        throw new IllegalArgumentException("Unexpected content after the array at byte " + (bytes - read + i));
+                    }
+                    continue;
+                }
+                if (depth == 0) {
+                    if (c == '[') {
+                        depth = 1;
+                    } else if (!isWhitespace(c)) {
+                        throw new IllegalArgumentException("Expected a JSON array but found '" + (char) c + "'");
+                    }
+                    continue;
+                }
+                if (!inString && depth == 1 && (c == ',' || c == ']')) {
+                    if (length > 0) {
+                        elementMismatches.clear();
+                        elementPlan.bodyMismatches(element, 0, length, expected, elementMismatches);
+                        if (!elementMismatches.isEmpty()) {
+                            failed++;
+                            if (mismatches.size() < KEPT_MISMATCHES) {
+                                mismatches.add("[" + elements + "] " + String.join("\n", elementMismatches));
+                            }
+                        }
+                        elements++;
+                        largest = Math.max(largest, length);
+                        length = 0;
+                    } else if (c == ',' || elements > 0) {
+                        throw new IllegalArgumentException("Missing array element before '" + (char) c + "' at byte " + (bytes - read + i));
+                    }
+                    if (c == ']') {
+                        closed = true;
+                    }
+                    continue;
+                }
+                if (length == 0 && depth == 1 && isWhitespace(c)) {
+                    continue;
+                }
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+                if (length == element.length) {
+                    element = Arrays.copyOf(element, element.length * 2);
+                }
+                element[length++] = c;
+            }
+        }
+        if (!closed) {
+            throw new IllegalArgumentException(depth == 0 ? "Expected a JSON array but the body is empty" : "The array is not closed");
+        }
+        return new ArrayReport(elements, failed, bytes, checksum.getValue(), largest, mismatches);
+    }
+
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+}
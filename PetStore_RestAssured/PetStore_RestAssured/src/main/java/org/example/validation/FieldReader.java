@@ -0,0 +1,37 @@
+package org.example.validation;
+
+/**
+ * Reads a fixed set of values out of JSON bodies in one pass, with the same paths and number types as
+ * {@link ResponsePlan} but without any expectations, for tools that aggregate what they read. Thread-safe.
+ */
+public final class FieldReader {
+
+    private final PathTrie root = new PathTrie();
+    private final int size;
+
+    private FieldReader(String[] paths) {
+        for (int slot = 0; slot < paths.length; slot++) {
+            root.add(paths[slot], slot);
+        }
+        root.compile();
+        this.size = paths.length;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a path cannot be parsed
+     */
+    public static FieldReader of(String... paths) {
+        return new FieldReader(paths);
+    }
+
+    /**
+     * Returns the value of each path in the order given, {@code null} where a path is absent.
+     *
+     * @throws IllegalArgumentException if the body is not valid JSON
+     */
+    public Object[] read(byte[] body) {
+        Object[] values = new Object[size];
+        PlanScanner.scan(root, body, 0, body.length, values);
+        return values;
+    }
+}
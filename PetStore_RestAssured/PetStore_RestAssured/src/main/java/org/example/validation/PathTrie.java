@@ -0,0 +1,122 @@
+package org.example.validation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The paths of a {@link ResponsePlan} merged into one tree, so a single pass over the body can tell at every value
+ * whether it is expected, leads to an expected value, or can be skipped. Field names are kept as UTF-8 bytes and
+ * compared against the raw key bytes of the body.
+ */
+final class PathTrie {
+
+    private final Map<String, PathTrie> fields = new LinkedHashMap<>();
+    private final Map<Integer, PathTrie> elements = new LinkedHashMap<>();
+    private final List<Integer> slotList = new ArrayList<>();
+
+    byte[][] keys = new byte[0][];
+    String[] keyNames = new String[0];
+    PathTrie[] keyNodes = new PathTrie[0];
+    PathTrie[] indexNodes = new PathTrie[0];
+    int[] slots = new int[0];
+
+    /**
+     * Adds a GPath-like path such as {@code "category.name"}, {@code "tags[0].id"} or {@code "[1].status"};
+     * the empty path is the whole body.
+     *
+     * @throws IllegalArgumentException if the path cannot be parsed
+     */
+    void add(String path, int slot) {
+        PathTrie node = this;
+        if (!path.isEmpty()) {
+            for (String step : path.split("\\.", -1)) {
+                int bracket = step.indexOf('[');
+                String key = bracket < 0 ? step : step.substring(0, bracket);
+                if (!key.isEmpty()) {
+                    node = node.fields.computeIfAbsent(key, k -> new PathTrie());
+                } else if (bracket < 0) {
+                    throw new IllegalArgumentException("Empty step in path '" + path + "'");
+                }
+                while (bracket >= 0) {
+                    int close = step.indexOf(']', bracket);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Unclosed '[' in path '" + path + "'");
+                    }
+                    int index;
+                    try {
+                        index = Integer.parseInt(step.substring(bracket + 1, close));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid index in path '" + path + "'", e);
+                    }
+                    if (index < 0) {
+                        throw new IllegalArgumentException("Negative index in path '" + path + "'");
+                    }
+                    node = node.elements.computeIfAbsent(index, i -> new PathTrie());
+                    bracket = step.indexOf('[', close);
+                    if (bracket < 0 && close != step.length() - 1) {
+                        throw new IllegalArgumentException("Unexpected text after ']' in path '" + path + "'");
+                    }
+                }
+            }
+        }
+        node.slotList.add(slot);
+    }
+
+    /**
+     * Freezes the tree into the arrays the scanner reads.
+     */
+    void compile() {
+        int size = fields.size();
+        keys = new byte[size][];
+        keyNames = new String[size];
+        keyNodes = new PathTrie[size];
+        int i = 0;
+        for (Map.Entry<String, PathTrie> field : fields.entrySet()) {
+            keyNames[i] = field.getKey();
+            keys[i] = field.getKey().getBytes(StandardCharsets.UTF_8);
+            keyNodes[i] = field.getValue();
+            field.getValue().compile();
+            i++;
+        }
+        int length = elements.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1) + 1;
+        indexNodes = new PathTrie[length];
+        for (Map.Entry<Integer, PathTrie> element : elements.entrySet()) {
+            indexNodes[element.getKey()] = element.getValue();
+            element.getValue().compile();
+        }
+        slots = slotList.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    boolean hasChildren() {
+        return keyNodes.length > 0 || indexNodes.length > 0;
+    }
+
+    /**
+     * The child for a key given as raw, unescaped bytes of the body, or {@code null} when no path goes there.
+     */
+    PathTrie field(byte[] body, int start, int end) {
+        for (int i = 0; i < keys.length; i++) {
+            if (Arrays.equals(body, start, end, keys[i], 0, keys[i].length)) {
+                return keyNodes[i];
+            }
+        }
+        return null;
+    }
+
+    PathTrie field(String key) {
+        for (int i = 0; i < keyNames.length; i++) {
+            if (keyNames[i].equals(key)) {
+                return keyNodes[i];
+            }
+        }
+        return null;
+    }
+
+    PathTrie element(int index) {
+        return index < indexNodes.length ? indexNodes[index] : null;
+    }
+}
@@ -0,0 +1,388 @@
+package org.example.validation;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One forward pass over a JSON body that picks out the values a {@link PathTrie} asks for. Values on no path are
+ * skipped without being decoded; only expected values are materialized, and only those subtrees become maps and lists.
+ *
+ * <p>Numbers are returned the way RestAssured's JSON path returns them, so matchers written for {@code .body(...)}
+ * keep working: integers as {@link Integer} when they fit, otherwise {@link Long} or {@link BigInteger}, and
+ * decimals as {@link Float}, or as {@link Double} when they are beyond the range of a float.
+ *
+ * <p>Every read is checked against the end of the body, so truncated input fails with an
+ * {@link IllegalArgumentException} like any other malformed JSON.
+ */
+final class PlanScanner {
+
+    private final byte[] body;
+    private final int end;
+    private final Object[] actual;
+    private int pos;
+
+    private PlanScanner(byte[] body, int offset, int length, Object[] actual) {
+        this.body = body;
+        this.pos = offset;
+        this.end = offset + length;
+        this.actual = actual;
+    }
+
+    /**
+     * Stores the value of every slot of the trie into {@code actual}; slots whose path is absent stay {@code null}.
+     *
+     * @throws IllegalArgumentException if the body is not valid JSON
+     * @throws IndexOutOfBoundsException if the range lies outside of {@code body}
+     */
+    static void scan(PathTrie root, byte[] body, int offset, int length, Object[] actual) {
+        Objects.checkFromIndexSize(offset, length, body.length);
+        PlanScanner scanner = new PlanScanner(body, offset, length, actual);
+        scanner.skipWhitespace();
+        scanner.value(root);
+        scanner.skipWhitespace();
+        if (scanner.pos != scanner.end) {
+            throw scanner.error("Unexpected trailing content");
+        }
+    }
+
+    private void value(PathTrie node) {
+        if (node == null) {
+            skip();
+        } else if (node.slots.length > 0) {
+            fill(node, read());
+        } else if (!node.hasChildren()) {
+            skip();
+        } else {
+            byte c = peek();
+            if (c == '{') {
+                object(node);
+            } else if (c == '[') {
+                array(node);
+            } else {
+                skip();
+            }
+        }
+    }
+
+    /**
+     * Assigns an already materialized value to the node's slots and to those of the paths below it.
+     */
+    private void fill(PathTrie node, Object value) {
+        for (int slot : node.slots) {
+            actual[slot] = value;
+        }
+        if (value instanceof Map) {
+            for (int i = 0; i < node.keyNames.length; i++) {
+                fill(node.keyNodes[i], ((Map<?, ?>) value).get(node.keyNames[i]));
+            }
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            for (int i = 0; i < node.indexNodes.length && i < list.size(); i++) {
+                if (node.indexNodes[i] != null) {
+                    fill(node.indexNodes[i], list.get(i));
+                }
+            }
+        }
+    }
+
+    private void object(PathTrie node) {
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected object key");
+            }
+            int keyStart = pos + 1;
+            boolean escaped = skipString();
+            PathTrie child = escaped
+                    ? node.field(decode(keyStart, pos - 1))
+                    : node.field(body, keyStart, pos - 1);
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            value(child);
+            skipWhitespace();
+            byte c = next();
+            if (c == '}') {
+                return;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private void array(PathTrie node) {
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return;
+        }
+        for (int index = 0; ; index++) {
+            skipWhitespace();
+            value(node.element(index));
+            skipWhitespace();
+            byte c = next();
+            if (c == ']') {
+                return;
+            }
+            if (c != ',') {
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    private Object read() {
+        byte c = peek();
+        switch (c) {
+            case '{': {
+                Map<String, Object> object = new LinkedHashMap<>();
+                pos++;
+                skipWhitespace();
+                if (peek() == '}') {
+                    pos++;
+                    return object;
+                }
+                while (true) {
+                    skipWhitespace();
+                    if (peek() != '"') {
+                        throw error("Expected object key");
+                    }
+                    String key = readString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    object.put(key, read());
+                    skipWhitespace();
+                    byte next = next();
+                    if (next == '}') {
+                        return object;
+                    }
+                    if (next != ',') {
+                        throw error("Expected ',' or '}'");
+                    }
+                }
+            }
+            case '[': {
+                List<Object> array = new ArrayList<>();
+                pos++;
+                skipWhitespace();
+                if (peek() == ']') {
+                    pos++;
+                    return array;
+                }
+                while (true) {
+                    skipWhitespace();
+                    array.add(read());
+                    skipWhitespace();
+                    byte next = next();
+                    if (next == ']') {
+                        return array;
+                    }
+                    if (next != ',') {
+                        throw error("Expected ',' or ']'");
+                    }
+                }
+            }
+            case '"':
+                return readString();
+            case 't':
+                literal("true");
+                return Boolean.TRUE;
+            case 'f':
+                literal("false");
+                return Boolean.FALSE;
+            case 'n':
+                literal("null");
+                return null;
+            default:
+                return readNumber();
+        }
+    }
+
+    /**
+     * Moves past one value of any kind without decoding it.
+     */
+    private void skip() {
+        byte c = peek();
+        if (c == '"') {
+            skipString();
+        } else if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = next();
+                if (c == '"') {
+                    pos--;
+                    skipString();
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else if (c == 't') {
+            literal("true");
+        } else if (c == 'f') {
+            literal("false");
+        } else if (c == 'n') {
+            literal("null");
+        } else {
+            numberEnd();
+        }
+    }
+
+    /**
+     * Moves past a string and reports whether it contained escapes.
+     */
+    private boolean skipString() {
+        pos++;
+        boolean escaped = false;
+        while (true) {
+            byte c = next();
+            if (c == '"') {
+                return escaped;
+            }
+            if (c == '\\') {
+                escaped = true;
+                next();
+            }
+        }
+    }
+
+    private String readString() {
+        int start = pos + 1;
+        boolean escaped = skipString();
+        return escaped ? decode(start, pos - 1) : new String(body, start, pos - 1 - start, StandardCharsets.UTF_8);
+    }
+
+    private String decode(int start, int stop) {
+        StringBuilder value = new StringBuilder(stop - start);
+        int run = start;
+        int i = start;
+        while (i < stop) {
+            if (body[i] != '\\') {
+                i++;
+                continue;
+            }
+            value.append(new String(body, run, i - run, StandardCharsets.UTF_8));
+            byte escaped = body[i + 1];
+            i += 2;
+            switch (escaped) {
+                case '"': case '\\': case '/': value.append((char) escaped); break;
+                case 'n': value.append('\n'); break;
+                case 'r': value.append('\r'); break;
+                case 't': value.append('\t'); break;
+                case 'b': value.append('\b'); break;
+                case 'f': value.append('\f'); break;
+                case 'u':
+                    if (i + 4 > stop) {
+                        throw error("Truncated unicode escape");
+                    }
+                    int code = 0;
+                    for (int end = i + 4; i < end; i++) {
+                        int digit = Character.digit(body[i], 16);
+                        if (digit < 0) {
+                            throw error("Invalid unicode escape");
+                        }
+                        code = code << 4 | digit;
+                    }
+                    value.append((char) code);
+                    break;
+                default:
+                    throw error("Invalid escape '\\" + (char) escaped + "'");
+            }
+            run = i;
+        }
+        return value.append(new String(body, run, stop - run, StandardCharsets.UTF_8)).toString();
+    }
+
+    private Object readNumber() {
+        int start = pos;
+        boolean integral = numberEnd();
+        String number = new String(body, start, pos - start, StandardCharsets.US_ASCII);
+        try {
+            if (!integral) {
+                double value = Double.parseDouble(number);
+                return Math.abs(value) > Float.MAX_VALUE ? (Object) value : (Object) (float) value;
+            }
+            if (pos - start <= 18) {
+                long value = Long.parseLong(number);
+                return value == (int) value ? (Object) (int) value : (Object) value;
+            }
+            BigInteger big = new BigInteger(number);
+            return big.bitLength() < 64 ? (Object) big.longValue() : big;
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + number + "'");
+        }
+    }
+
+    /**
+     * Moves past a number and reports whether it was integral.
+     */
+    private boolean numberEnd() {
+        int start = pos;
+        boolean integral = true;
+        while (pos < end) {
+            byte c = body[pos];
+            if (c == '.' || c == 'e' || c == 'E') {
+                integral = false;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("Unexpected character '" + (char) peek() + "'");
+        }
+        return integral;
+    }
+
+    private void literal(String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (pos + i >= end || body[pos + i] != literal.charAt(i)) {
+                throw error("Unexpected token");
+            }
+        }
+        pos += literal.length();
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && (body[pos] == ' ' || body[pos] == '\n' || body[pos] == '\r' || body[pos] == '\t')) {
+            pos++;
+        }
+    }
+
+    private byte peek() {
+        if (pos >= end) {
+            throw error("Unexpected end of input");
+        }
+        return body[pos];
+    }
+
+    private byte next() {
+        byte c = peek();
+        pos++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + pos);
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.validation;
+
+import io.restassured.response.Response;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A set of status and body expectations compiled once and then checked against any number of responses.
+ * This replaces chains of {@code .body(path, matcher)} calls, each of which evaluates its own GPath expression
+ * against a parsed copy of the body: the plan's paths are merged into one tree, the body bytes are read once
+ * without building a document, and only the values on a path are decoded.
+ *
+ * <p>Every mismatch of a response is reported together instead of stopping at the first. Expectations are either
+ * a fixed Hamcrest matcher or an {@link Builder#bodyEqualTo(String) equality placeholder} whose expected value is
+ * passed with each check, so one plan can serve every entity of a test or load run. Plans are immutable and
+ * thread-safe.
+ *
+ * <pre>{@code
+ * ResponsePlan plan = ResponsePlan.builder()
+ *         .statusCode(200)
+ *         .bodyEqualTo("id")
+ *         .body("status", Matchers.is("available"))
+ *         .build();
+ * plan.check(response, id);
+ * }</pre>
+ */
+public final class ResponsePlan {
+
+    private final Integer statusCode;
+    private final PathTrie root = new PathTrie();
+    private final String[] paths;
+    /**
+     * Per slot, the fixed matcher, or {@code null} for a placeholder.
+     */
+    private final Matcher<?>[] matchers;
+    /**
+     * Per slot, the index of its argument among the expected values passed to a check, or -1.
+     */
+    private final int[] arguments;
+    private final int argumentCount;
+
+    private ResponsePlan(Builder builder) {
+        this.statusCode = builder.statusCode;
+        int size = builder.paths.size();
+        this.paths = builder.paths.toArray(new String[0]);
+        this.matchers = builder.matchers.toArray(new Matcher<?>[0]);
+        this.arguments = new int[size];
+        int argument = 0;
+        for (int slot = 0; slot < size; slot++) {
+            root.add(paths[slot], slot);
+            arguments[slot] = matchers[slot] == null ? argument++ : -1;
+        }
+        this.argumentCount = argument;
+        root.compile();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks a RestAssured response.
+     *
+     * @throws AssertionError listing every mismatch
+     */
+    public void check(Response response, Object... expected) {
+        check(response.getStatusCode(), response.asByteArray(), expected);
+    }
+
+    /**
+     * @throws AssertionError listing every mismatch
+     */
+    public void check(int status, byte[] body, Object... expected) {
+        List<String> mismatches = mismatches(status, body, 0, body.length, expected);
+        if (!mismatches.isEmpty()) {
+            throw new AssertionError(mismatches.size() + " expectation(s) failed.\n" + String.join("\n", mismatches));
+        }
+    }
+
+    public List<String> mismatches(int status, byte[] body, Object... expected) {
+        return mismatches(status, body, 0, body.length, expected);
+    }
+
+    /**
+     * Checks the response and returns one message per failed expectation, in the order they were added.
+     *
+     * @param expected the values of the placeholders, in the order they were added
+     * @throws IllegalArgumentException if the number of expected values differs from the number of placeholders
+     */
+    public List<String> mismatches(int status, byte[] body, int offset, int length, Object... expected) {
+        requireArguments(expected);
+        List<String> mismatches = new ArrayList<>();
+        if (statusCode != null && statusCode != status) {
+            mismatches.add("Expected status code <" + statusCode + "> but was <" + status + ">.");
+        }
+        bodyMismatches(body, offset, length, expected, mismatches);
+        return mismatches;
+    }
+
+    void requireArguments(Object[] expected) {
+        if (expected.length != argumentCount) {
+            throw new IllegalArgumentException("Plan has " + argumentCount + " placeholder(s) but " + expected.length + " value(s) were given");
+        }
+    }
+
+    /**
+     * Checks only the body expectations, e.g. against one element of a streamed array, adding to {@code mismatches}.
+     */
+    void bodyMismatches(byte[] body, int offset, int length, Object[] expected, List<String> mismatches) {
+        if (paths.length == 0) {
+            return;
+        }
+        Object[] actual = new Object[paths.length];
+        try {
+            PlanScanner.scan(root, body, offset, length, actual);
+        } catch (IllegalArgumentException e) {
+            mismatches.add("Response body is not valid JSON: " + e.getMessage());
+            return;
+        }
+        for (int slot = 0; slot < paths.length; slot++) {
+            Matcher<?> matcher = matchers[slot];
+            if (matcher == null) {
+                Object value = expected[arguments[slot]];
+                if (!equal(value, actual[slot])) {
+                    mismatches.add("JSON path " + paths[slot] + " doesn't match.\nExpected: <" + value + ">\n  Actual: <" + actual[slot] + ">");
+                }
+            } else if (!matcher.matches(actual[slot])) {
+                mismatches.add("JSON path " + paths[slot] + " doesn't match.\nExpected: " + StringDescription.toString(matcher) + "\n  Actual: <" + actual[slot] + ">");
+            }
+        }
+    }
+
+    /**
+     * Equality for placeholders, where an int sent as a long must still match the integer read back, and a double
+     * sent must match the float it is read back as.
+     */
+    private static boolean equal(Object expected, Object actual) {
+        if (expected instanceof Number && actual instanceof Number) {
+            if (expected instanceof Double || expected instanceof Float || actual instanceof Double || actual instanceof Float) {
+                return actual instanceof Float && expected instanceof Double
+                        ? ((Number) expected).floatValue() == (Float) actual
+                        : Objects.equals(expected, actual);
+            }
+            return ((Number) expected).longValue() == ((Number) actual).longValue();
+        }
+        return Objects.equals(expected, actual);
+    }
+
+    public List<String> paths() {
+        return Collections.unmodifiableList(Arrays.asList(paths));
+    }
+
+    public static final class Builder {
+        private Integer statusCode;
+        private final List<String> paths = new ArrayList<>();
+        private final List<Matcher<?>> matchers = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder statusCode(int statusCode) {
+            this.statusCode = statusCode;
+            return this;
+        }
+
+        /**
+         * Expects the value at a GPath-like path such as {@code "tags[0].name"} to match; a missing value is
+         * matched as {@code null}.
+         */
+        public Builder body(String path, Matcher<?> matcher) {
+            paths.add(path);
+            matchers.add(Objects.requireNonNull(matcher, "matcher"));
+            return this;
+        }
+
+        /**
+         * Expects the value at the path to equal the next value passed to {@link ResponsePlan#check}.
+         */
+        public Builder bodyEqualTo(String path) {
+            paths.add(path);
+            matchers.add(null);
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a path cannot be parsed
+         */
+        public ResponsePlan build() {
+            return new ResponsePlan(this);
+        }
+    }
+}
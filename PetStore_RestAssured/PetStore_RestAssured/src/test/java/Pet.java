@@ -1,29 +1,111 @@
 import io.restassured.RestAssured;
-import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.Filter;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.example.client.FanOut;
+import org.example.client.PetstoreClient;
+import org.example.fuzz.ApiSchema;
+import org.example.fuzz.CaseGenerator;
+import org.example.fuzz.FuzzRunner;
+import org.example.logging.ExchangeRecorder;
+import org.example.scenario.ScenarioEngine;
+import org.example.scenario.Workflows;
+import org.example.stress.RaceRunner;
+import org.example.stress.Races;
+import org.example.validation.ArrayStream;
+import org.example.validation.ResponsePlan;
+import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
-import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.List;
 
 public class Pet {
 
+    private final ExchangeRecorder exchanges = SuiteContext.get().exchanges();
+
+    @Rule
+    public final TestRule dumpExchangesOnFailure = exchanges.dumpOnFailure();
+
+    /**
+     * What every test expects back for a pet built by petBody, checked in one pass over the response body.
+     * The pet's ID is passed with each check.
+     */
+    private static final ResponsePlan DOGGIE = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .body("category.id", Matchers.is(1))
+            .body("category.name", Matchers.is("Dog"))
+            .body("name", Matchers.is("Doggie"))
+            .body("photoUrls[0]", Matchers.is("www.testurl.com"))
+            .body("tags[0].id", Matchers.is(1))
+            .body("tags[0].name", Matchers.is("Red"))
+            .body("status", Matchers.is("available"))
+            .build();
+
+    private static final ResponsePlan DOGGIE_UPDATE = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .body("category.id", Matchers.is(1))
+            .body("category.name", Matchers.is("Dog Update"))
+            .body("name", Matchers.is("Doggie Update"))
+            .build();
+
+    private static final ResponsePlan FOUND = ResponsePlan.builder().statusCode(200).build();
+
+    private static final PetstoreClient CLIENT = SuiteContext.get().client();
+
+    /**
+     * Sends the find requests of a test concurrently, up to "petstore.fanout.concurrency" at a time, and collects the
+     * failed checks per status or tag.
+     */
+    private static final FanOut FIND = FanOut.fromSystemProperties(CLIENT);
+
     /**
-     * This method is annotated with @Before which means it will be run before each test method.
-     * It sets up the base URI, base path, filters, and request specification for the tests.
-     * The base URI is the base part of the URL for the API we are testing.
-     * The base path is the base path of the API we are testing.
-     * The filters are used to log the request and response for debugging purposes.
-     * The request specification is used to set the content type of the requests to "application/json".
+     * What every element of a streamed "/pet/findByStatus?status=available" array must hold.
      */
-    @Before
-    public void setup() {
-        RestAssured.baseURI = "http://localhost:8080/";
-        RestAssured.basePath = "/api/v3";
-        RestAssured.filters(new RequestLoggingFilter(), new Filter[]{new ResponseLoggingFilter()});
-        RestAssured.requestSpecification = (new RequestSpecBuilder()).setContentType("application/json").build();
+    private static final ResponsePlan AVAILABLE_PET = ResponsePlan.builder()
+            .body("id", Matchers.notNullValue())
+            .body("status", Matchers.is("available"))
+            .build();
+
+    private final RequestSpecification spec = SuiteContext.get().spec();
+
+    /**
+     * Builds the shared suite context before the first test, seeding the store and warming up once per JVM; see SuiteContext.
+     */
+    @BeforeClass
+    public static void bootstrap() {
+        SuiteContext.get();
+    }
+
+    /**
+     * Builds the request body of a complete pet with the given ID, as used by the tests that add pets.
+     * The model is named with its package because this test class is called Pet too.
+     */
+    private static String petBody(int id) {
+        return org.example.model.Pet.builder()
+                .id(id)
+                .category(1, "Dog")
+                .name("Doggie")
+                .photoUrl("www.testurl.com")
+                .tag(1, "Red")
+                .status("available")
+                .build()
+                .toJson();
+    }
+
+    /**
+     * Adds a pet with the given ID, for tests that need one to exist beforehand.
+     */
+    private void givenAnExistingPet(int id) {
+        RestAssured.given(spec).body(petBody(id)).when().post("/pet").then().statusCode(200);
     }
 
     /**
@@ -33,27 +115,19 @@ public class Pet {
      */
     @Test
     public void postAddANewPetToTheStore() {
-        String requestBody = "{\"id\":1,\"category\":{\"id\":1,\"name\":\"Dog\"},\"name\":\"Doggie\",\"photoUrls\":[\"www.testurl.com\"],\"tags\":[{\"id\":1,\"name\":\"Red\"}],\"status\":\"available\"}";
-        RestAssured
-                .given()
+        int id = TestIds.next();
+        String requestBody = petBody(id);
+        Response response = RestAssured
+                .given(spec)
                 .body(requestBody)
                 .when()
-                .post("/pet")
-                .then()
-                .statusCode(200)
-                .body("id", Matchers.is(1))
-                .body("category.id", Matchers.is(1))
-                .body("category.name", Matchers.is("Dog"))
-                .body("name", Matchers.is("Doggie"))
-                .body("photoUrls[0]", Matchers.is("www.testurl.com"))
-                .body("tags[0].id", Matchers.is(1))
-                .body("tags[0].name", Matchers.is("Red"))
-                .body("status", Matchers.is("available"));
+                .post("/pet");
+        DOGGIE.check(response, id);
     }
 
     /**
  * This test method is used to find a pet by its ID.
- * It sends a GET request to the "/pet/1" endpoint.
+ * It adds a pet with a fresh ID and then sends a GET request to the "/pet/{id}" endpoint.
  * The response is then validated to ensure that the correct pet details are returned.
  * The status code of the response is checked to be 200, indicating a successful request.
  * The body of the response is also checked to ensure that the correct pet details are returned.
@@ -61,20 +135,13 @@ public class Pet {
  */
 @Test
 public void getFindPetById() {
-    RestAssured
-            .given()
+    int id = TestIds.next();
+    givenAnExistingPet(id);
+    Response response = RestAssured
+            .given(spec)
             .when()
-            .get("/pet/1")
-            .then()
-            .statusCode(200)
-            .body("id", Matchers.is(1))
-            .body("category.id", Matchers.is(1))
-            .body("category.name", Matchers.is("Dog"))
-            .body("name", Matchers.is("Doggie"))
-            .body("photoUrls[0]", Matchers.is("www.testurl.com"))
-            .body("tags[0].id", Matchers.is(1))
-            .body("tags[0].name", Matchers.is("Red"))
-            .body("status", Matchers.is("available"));
+            .get("/pet/" + id);
+    DOGGIE.check(response, id);
 }
 
     /**
@@ -84,7 +151,7 @@ public void getFindPetById() {
 @Test
 public void getFindPetByIdNotFound() {
     RestAssured
-            .given()
+            .given(spec)
             .when()
             .get("/pet/1000")
             .then().statusCode(404);
@@ -97,9 +164,9 @@ public void getFindPetByIdNotFound() {
      */
     @Test
     public void postAddANewPetToTheStoreBadRequestWithInvalidEndpoint() {
-        String requestBody = "{\"id\":1,\"category\":{\"_id\":1,\"name\":\"Dog\"},\"name\":\"Doggie\",\"photoUrls\":[\"www.testurl.com\"],\"tags\":[{\"id\":1,\"name\":\"Red\"}],\"status\":\"available\"}";
+        String requestBody = petBody(1);
         RestAssured
-                .given()
+                .given(spec)
                 .body(requestBody)
                 .when()
                 .post("/pet1")
@@ -113,9 +180,9 @@ public void getFindPetByIdNotFound() {
      */
     @Test
     public void postAddANewPetToTheStoreBadRequestWithInvalidBody() {
-        String requestBody = "{\"id\":1}";
+        String requestBody = org.example.model.Pet.builder().id(TestIds.next()).build().toJson();
         RestAssured
-                .given()
+                .given(spec)
                 .body(requestBody)
                 .when().post("/pet")
                 .then().statusCode(400);
@@ -123,74 +190,77 @@ public void getFindPetByIdNotFound() {
 
     /**
      * This test method is used to update an existing pet in the store.
-     * It creates a JSON request body with the updated pet details and sends a PUT request to the "/pet" endpoint.
+     * It adds a pet with a fresh ID, then creates a JSON request body with the updated pet details and sends a PUT request to the "/pet" endpoint.
      * It then validates the response to ensure that the pet was updated correctly.
      */
     @Test
     public void putUpdateAnExistentPet() {
-        String requestBody = "{\"id\":1,\"category\":{\"id\":1,\"name\":\"Dog Update\"},\"name\":\"Doggie Update\"}";
-        RestAssured
-                .given()
+        int id = TestIds.next();
+        givenAnExistingPet(id);
+        String requestBody = org.example.model.Pet.builder()
+                .id(id)
+                .category(1, "Dog Update")
+                .name("Doggie Update")
+                .build()
+                .toJson();
+        Response response = RestAssured
+                .given(spec)
                 .body(requestBody)
                 .when()
-                .put("/pet")
-                .then()
-                .statusCode(200)
-                .body("id", Matchers.is(1))
-                .body("category.id", Matchers.is(1))
-                .body("category.name", Matchers.is("Dog Update"))
-                .body("name", Matchers.is("Doggie Update"));
+                .put("/pet");
+        DOGGIE_UPDATE.check(response, id);
     }
 
     /**
      * This test method is used to delete a pet from the store.
-     * It sends a DELETE request to the "/pet/1" endpoint and validates the response to ensure that a 200 status code is returned.
+     * It adds a pet with a fresh ID and sends a DELETE request to the "/pet/{id}" endpoint and validates the response to ensure that a 200 status code is returned.
      */
     @Test
     public void deleteDeletePet() {
+        int id = TestIds.next();
+        givenAnExistingPet(id);
         RestAssured
-                .given()
+                .given(spec)
                 .when()
-                .delete("/pet/1")
+                .delete("/pet/" + id)
                 .then()
                 .statusCode(200);
     }
 
     /**
      * This test method is used to add a new pet to the store with an existing ID.
-     * It creates a JSON request body with the pet details and sends a POST request to the "/pet" endpoint.
+     * It adds a pet with a fresh ID, then creates a JSON request body with the pet details and sends a POST request to the "/pet" endpoint.
      * It then validates the response to ensure that the pet was added correctly.
      */
     @Test
     public void postAddANewPetWithExistentId() {
-        String requestBody = "{\"id\":1,\"category\":{\"id\":1,\"name\":\"Dog\"},\"name\":\"Doggie\",\"photoUrls\":[\"www.testurl.com\"],\"tags\":[{\"id\":1,\"name\":\"Red\"}],\"status\":\"available\"}";
-        RestAssured
-                .given()
+        int id = TestIds.next();
+        givenAnExistingPet(id);
+        String requestBody = petBody(id);
+        Response response = RestAssured
+                .given(spec)
                 .body(requestBody)
                 .when()
-                .post("/pet")
-                .then()
-                .statusCode(200)
-                .body("id", Matchers.is(1))
-                .body("category.id", Matchers.is(1))
-                .body("category.name", Matchers.is("Dog"))
-                .body("name", Matchers.is("Doggie"))
-                .body("photoUrls[0]", Matchers.is("www.testurl.com"))
-                .body("tags[0].id", Matchers.is(1))
-                .body("tags[0].name", Matchers.is("Red"))
-                .body("status", Matchers.is("available"));
+                .post("/pet");
+        DOGGIE.check(response, id);
     }
 
     /**
      * This test method is used to handle the scenario when a new pet is added to the store with an existing ID.
      * It creates a JSON request body with the pet details and sends a POST request to the "/pet" endpoint.
      * It then validates the response to ensure that a 400 status code is returned, indicating a bad request.
+     * This sends exactly the same request as postAddANewPetWithExistentId, which expects 200, so at most one of the two
+     * can pass against any backend; Petstore v3 and the in-process server both overwrite the existing pet.
+     * postAddANewPetWithExistentIdConcurrently accepts either behaviour, as long as the backend sticks to one of them.
      */
     @Test
+    @Ignore("Contradicts postAddANewPetWithExistentId: Petstore v3 answers 200 when adding a pet with an existing ID")
     public void postAddANewPetWithExistentIdBadRequest() {
-        String requestBody = "{\"id\":1,\"category\":{\"id\":1,\"name\":\"Dog\"},\"name\":\"Doggie\",\"photoUrls\":[\"www.testurl.com\"],\"tags\":[{\"id\":1,\"name\":\"Red\"}],\"status\":\"available\"}";
+        int id = TestIds.next();
+        givenAnExistingPet(id);
+        String requestBody = petBody(id);
         RestAssured
-                .given()
+                .given(spec)
                 .body(requestBody)
                 .when()
                 .post("/pet")
@@ -200,21 +270,30 @@ public void getFindPetByIdNotFound() {
 
     /**
      * This test method is used to find pets by their status.
-     * It iterates over an array of statuses and for each status, it sends a GET request to the "/pet/findByStatus" endpoint with the status as a query parameter.
-     * It then validates the response to ensure that a 200 status code is returned, indicating a successful request.
+     * For each status of an array of statuses, it sends a GET request to the "/pet/findByStatus" endpoint with the status as a query parameter.
+     * The requests are sent concurrently, and every response is validated to ensure that a 200 status code is returned;
+     * the statuses whose request failed are all reported together.
      */
     @Test
     public void getFindPetByStatus() {
-        String[] statuses = {"available", "pending", "sold"};
-
-        for (String status : statuses) {
-            RestAssured
-                    .given()
-                    .queryParam("status", status)
-                    .when()
-                    .get("/pet/findByStatus")
-                    .then()
-                    .statusCode(200);
+        List<String> statuses = List.of("available", "pending", "sold");
+
+        FIND.get(statuses, status -> "/pet/findByStatus?status=" + status, FOUND).join().assertAllPassed();
+    }
+
+    /**
+     * This test method is used to check every pet found by status, however many the store holds.
+     * It sends a GET request to the "/pet/findByStatus" endpoint with the status "available" and reads the response as a stream,
+     * validating each pet as it arrives, so the result never has to fit in memory as a whole.
+     * It then validates that a 200 status code is returned and that every pet found has an ID and the status "available".
+     */
+    @Test
+    public void getFindPetByStatusStreamed() throws IOException {
+        HttpResponse<InputStream> response = CLIENT.stream("/pet/findByStatus?status=available");
+
+        try (InputStream body = response.body()) {
+            MatcherAssert.assertThat(response.statusCode(), Matchers.is(200));
+            ArrayStream.check(body, AVAILABLE_PET).assertAllPassed();
         }
     }
 
@@ -226,7 +305,7 @@ public void getFindPetByIdNotFound() {
     @Test
     public void getFindPetByStatusNotFound() {
         RestAssured
-                .given()
+                .given(spec)
                 .when()
                 .get("/pet/findByStatus?status=notavailable")
                 .then()
@@ -241,7 +320,7 @@ public void getFindPetByIdNotFound() {
     @Test
     public void getFindPetByStatusBadRequest() {
         RestAssured
-                .given()
+                .given(spec)
                 .when()
                 .get("/pet/findByStatus?status=")
                 .then()
@@ -250,22 +329,15 @@ public void getFindPetByIdNotFound() {
 
     /**
      * This test method is used to find pets by their tags.
-     * It iterates over an array of tags and for each tag, it sends a GET request to the "/pet/findByTags" endpoint with the tag as a query parameter.
-     * It then validates the response to ensure that a 200 status code is returned, indicating a successful request.
+     * For each tag of an array of tags, it sends a GET request to the "/pet/findByTags" endpoint with the tag as a query parameter.
+     * The requests are sent concurrently, and every response is validated to ensure that a 200 status code is returned;
+     * the tags whose request failed are all reported together.
      */
     @Test
     public void getFindsPetsByTags() {
-        String[] tags = {"tag1", "tag2", "tag3"};
-
-        for (String tag : tags) {
-            RestAssured
-                    .given()
-                    .queryParam("tags", tag)
-                    .when()
-                    .get("/pet/findByTags")
-                    .then()
-                    .statusCode(200);
-        }
+        List<String> tags = List.of("tag1", "tag2", "tag3");
+
+        FIND.get(tags, tag -> "/pet/findByTags?tags=" + tag, FOUND).join().assertAllPassed();
     }
 
     /**
@@ -276,7 +348,7 @@ public void getFindPetByIdNotFound() {
     @Test
     public void getFindsPetsByTagsNotFound() {
         RestAssured
-                .given()
+                .given(spec)
                 .when()
                 .get("/pet/findByTags?tags=notag")
                 .then()
@@ -291,10 +363,55 @@ public void getFindPetByIdNotFound() {
     @Test
     public void getFindsPetsByTagsBadRequest() {
         RestAssured
-                .given()
+                .given(spec)
                 .when()
                 .get("/pet/findByTags?tags=")
                 .then()
                 .statusCode(400);
     }
+
+    /**
+     * This test method adds, finds, updates and deletes a pet as one workflow, passing the created pet from step to step.
+     * Eight pets go through it at once on the engine's bounded pool; every failed step is reported.
+     */
+    @Test
+    public void petLifecycle() throws InterruptedException {
+        try (ScenarioEngine engine = ScenarioEngine.fromSystemProperties(CLIENT)) {
+            engine.run(Workflows.PET_LIFECYCLE, 8, TestIds::next).assertAllPassed();
+        }
+    }
+
+    /**
+     * This test method adds pets with the same new ID from several threads at once, released together by a barrier.
+     * Either every add succeeds and the last one wins, as Petstore v3 does when an ID exists, or exactly one succeeds and
+     * the others get 400; the stored pet must be exactly one successful add. See Races.SAME_PET_ID.
+     */
+    @Test
+    public void postAddANewPetWithExistentIdConcurrently() throws InterruptedException {
+        try (RaceRunner races = RaceRunner.fromSystemProperties(CLIENT)) {
+            races.run(Races.SAME_PET_ID, TestIds::next).assertHolds();
+        }
+    }
+
+    /**
+     * This test method races updates of an existing pet against deletes of it.
+     * The pet must end up either deleted or holding exactly one successful update.
+     */
+    @Test
+    public void putAndDeleteAnExistentPetConcurrently() throws InterruptedException {
+        try (RaceRunner races = RaceRunner.fromSystemProperties(CLIENT)) {
+            races.run(Races.UPDATE_DELETE_PET, TestIds::next).assertHolds();
+        }
+    }
+
+    /**
+     * This test method fires schema-derived malformed and boundary variants of every pet request, such as a missing
+     * name, a tag ID past int64 or a thousand photo URLs. Whatever the backend accepts or rejects, it must not answer 5xx.
+     */
+    @Test
+    public void fuzzPetRequests() throws InterruptedException {
+        ApiSchema schema = ApiSchema.bundled();
+        CaseGenerator cases = CaseGenerator.fromSystemProperties(schema, schema.operations("/pet"), TestIds::next);
+        FuzzRunner.fromSystemProperties(CLIENT).run(cases).assertNoServerErrors();
+    }
 }
@@ -0,0 +1,50 @@
+import org.example.client.ConnectionPool;
+import org.example.client.PetstoreClient;
+import org.example.seed.SeedReport;
+import org.example.seed.Seeder;
+import org.example.server.PetstoreServer;
+
+/**
+ * Seeds the Petstore once per JVM before the first suite runs, so the suites work against a realistically sized store.
+ * The sizes come from "petstore.seed.users", "petstore.seed.pets" and "petstore.seed.orders". Against the in-process
+ * server users default to 1000 and pets, which take one request each, to 250; against a configured base URI nothing is seeded unless asked for.
+ * Orders default to 0 everywhere because they change the /store/inventory totals Store checks.
+ * Seeded IDs start at 3 billion, above every ID TestIds hands out.
+ */
+public final class SeedFixture {
+
+    private static final long FIRST_ID = 3_000_000_000L;
+
+    private static boolean seeded;
+
+    private SeedFixture() {
+    }
+
+    public static synchronized void seedOnce(String baseUri) {
+        if (seeded) {
+            return;
+        }
+        seeded = true;
+        boolean embedded = System.getProperty(PetstoreServer.BASE_URI_PROPERTY, System.getenv(PetstoreServer.BASE_URI_ENV)) == null;
+        int users = Integer.getInteger("petstore.seed.users", embedded ? 1000 : 0);
+        int pets = Integer.getInteger("petstore.seed.pets", embedded ? 250 : 0);
+        int orders = Integer.getInteger("petstore.seed.orders", 0);
+        if (users + pets + orders == 0) {
+            return;
+        }
+        Seeder seeder = Seeder.fromSystemProperties(new PetstoreClient(baseUri, ConnectionPool.shared().javaHttpClient()));
+        check(seeder.users(FIRST_ID, users));
+        check(seeder.pets(FIRST_ID, pets));
+        check(seeder.orders(FIRST_ID, orders, FIRST_ID, pets));
+    }
+
+    private static void check(SeedReport report) {
+        if (report.seeded() + report.failed() == 0) {
+            return;
+        }
+        System.out.println(report);
+        if (report.failed() > 0) {
+            throw new IllegalStateException("Seeding failed: " + report);
+        }
+    }
+}
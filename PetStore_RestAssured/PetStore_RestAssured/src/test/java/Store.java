@@ -1,25 +1,83 @@
 import io.restassured.RestAssured;
-import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.Filter;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.example.client.PetstoreClient;
+import org.example.fuzz.ApiSchema;
+import org.example.fuzz.CaseGenerator;
+import org.example.fuzz.FuzzRunner;
+import org.example.logging.ExchangeRecorder;
+import org.example.model.Order;
+import org.example.scenario.ScenarioEngine;
+import org.example.scenario.Workflows;
+import org.example.stress.RaceRunner;
+import org.example.stress.Races;
+import org.example.validation.ResponsePlan;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
-import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TestRule;
 
 public class Store {
+    private final ExchangeRecorder exchanges = SuiteContext.get().exchanges();
+
+    @Rule
+    public final TestRule dumpExchangesOnFailure = exchanges.dumpOnFailure();
+
+    /**
+     * What every test expects back for an order built by orderBody, checked in one pass over the response body.
+     * The order's ID is passed with each check.
+     */
+    private static final ResponsePlan PLACED_ORDER = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .body("petId", Matchers.is(0))
+            .body("quantity", Matchers.is(1))
+            .body("status", Matchers.is("placed"))
+            .body("complete", Matchers.is(true))
+            .build();
+
+    private static final ResponsePlan INVENTORY = ResponsePlan.builder()
+            .statusCode(200)
+            .body("approved", CoreMatchers.notNullValue())
+            .body("placed", CoreMatchers.notNullValue())
+            .body("delivered", Matchers.is(50))
+            .build();
+
+    private static final PetstoreClient CLIENT = SuiteContext.get().client();
+
+    private final RequestSpecification spec = SuiteContext.get().spec();
+
     public Store() {
     }
 
-    @Before
-    public void setup() {
-        RestAssured.baseURI = "http://localhost:8080/";
-        RestAssured.basePath = "/api/v3";
-        RestAssured.filters(new RequestLoggingFilter(), new Filter[]{new ResponseLoggingFilter()});
-        RestAssured.requestSpecification = (new RequestSpecBuilder()).setContentType("application/json").build();
+    /**
+     * Builds the shared suite context before the first test, seeding the store and warming up once per JVM; see SuiteContext.
+     */
+    @BeforeClass
+    public static void bootstrap() {
+        SuiteContext.get();
+    }
+
+    private static String orderBody(int id) {
+        return Order.builder()
+                .id(id)
+                .petId(0)
+                .quantity(1)
+                .shipDate("2021-07-01T12:00:00.000Z")
+                .status("placed")
+                .complete(true)
+                .build()
+                .toJson();
+    }
+
+    /**
+     * Places an order with the given ID, for tests that need one to exist beforehand.
+     */
+    private void givenAPlacedOrder(int id) {
+        RestAssured.given(spec).body(orderBody(id)).when().post("/store/order").then().statusCode(200);
     }
 
     /**
@@ -31,14 +89,10 @@ public class Store {
      */
     @Test
     public void returnsPetInventoriesByStatus() {
-        RestAssured.given()
+        Response response = RestAssured.given(spec)
                 .when()
-                .get("/store/inventory")
-                .then()
-                .statusCode(200)
-                .body("approved", CoreMatchers.notNullValue())
-                .body("placed", CoreMatchers.notNullValue())
-                .body("delivered", Matchers.is(50));
+                .get("/store/inventory");
+        INVENTORY.check(response);
     }
 
     /**
@@ -48,47 +102,49 @@ public class Store {
      */
     @Test
     public void placeAnOrderForAPet() {
-        String body = "{ \"id\": 1, \"petId\": 0, \"quantity\": 1, \"shipDate\": \"2021-07-01T12:00:00.000Z\", \"status\": \"placed\", \"complete\": true }";
-        RestAssured.given()
+        int id = TestIds.next();
+        String body = orderBody(id);
+        Response response = RestAssured.given(spec)
                 .body(body)
                 .when()
-                .post("/store/order")
-                .then().statusCode(200)
-                .body("id", Matchers.is(1))
-                .body("petId", Matchers.is(0))
-                .body("quantity", Matchers.is(1))
-                .body("status", Matchers.is("placed"))
-                .body("complete", Matchers.is(true));
+                .post("/store/order");
+        PLACED_ORDER.check(response, id);
     }
 
     /**
      * This test method is used to find a purchase order by its ID.
-     * It sends a GET request to the "/store/order/1" endpoint.
+     * It places an order with a fresh ID and sends a GET request to the "/store/order/{id}" endpoint.
      * The response is then validated to ensure that the correct order details are returned.
      */
     @Test
     public void findPurchaseOrderById() {
-        Response response = RestAssured.given().when().get("/store/order/1");
-        if (response.getStatusCode() == 200) {
-            response.then()
-                    .body("id", Matchers.is(1))
-                    .body("petId", Matchers.is(0))
-                    .body("quantity", Matchers.is(1))
-                    .body("status", Matchers.is("placed"))
-                    .body("complete", Matchers.is(true));
-        } else {
-            MatcherAssert.assertThat(response.getBody().asString(), CoreMatchers.containsString("Order not found"));
-        }
+        int id = TestIds.next();
+        givenAPlacedOrder(id);
+        Response response = RestAssured.given(spec).when().get("/store/order/" + id);
+        PLACED_ORDER.check(response, id);
+    }
+
+    /**
+     * This test method is used to handle the scenario when a purchase order is not found by its ID.
+     * It sends a GET request for an ID no test has used and checks the "Order not found" message.
+     */
+    @Test
+    public void findPurchaseOrderByIdNotFound() {
+        Response response = RestAssured.given(spec).when().get("/store/order/" + TestIds.next());
+        response.then().statusCode(404);
+        MatcherAssert.assertThat(response.getBody().asString(), CoreMatchers.containsString("Order not found"));
     }
 
     /**
      * This test method is used to delete a purchase order by its ID.
-     * It sends a DELETE request to the "/store/order/1" endpoint.
+     * It places an order with a fresh ID and sends a DELETE request to the "/store/order/{id}" endpoint.
      * The response is then validated to ensure that the order was deleted correctly.
      */
     @Test
     public void deletePurchaseOrderById() {
-        RestAssured.given().when().delete("/store/order/1").then().statusCode(200);
+        int id = TestIds.next();
+        givenAPlacedOrder(id);
+        RestAssured.given(spec).when().delete("/store/order/" + id).then().statusCode(200);
     }
 
     /**
@@ -98,8 +154,16 @@ public class Store {
      */
     @Test
     public void placeAnOrderForAPetWithInvalidData() {
-        String body = "{ \"id\": 0, \"petId\": 0, \"quantity\": 0, \"shipDate\": \"2021-07-01T12\", \"status\": \"placed\", \"complete\": true }";
-        RestAssured.given().body(body).when().post("/store/order").then().statusCode(400);
+        String body = Order.builder()
+                .id(0)
+                .petId(0)
+                .quantity(0)
+                .shipDate("2021-07-01T12")
+                .status("placed")
+                .complete(true)
+                .build()
+                .toJson();
+        RestAssured.given(spec).body(body).when().post("/store/order").then().statusCode(400);
     }
 
     /**
@@ -109,6 +173,39 @@ public class Store {
      */
     @Test
     public void deletePurchaseOrderByIdWithInvalidId() {
-        RestAssured.given().when().delete("/store/order/0").then().statusCode(404);
+        RestAssured.given(spec).when().delete("/store/order/0").then().statusCode(404);
+    }
+
+    /**
+     * This test method places, finds and deletes an order as one workflow, passing the placed order from step to step.
+     * Eight orders run through it concurrently, each under its own ID.
+     */
+    @Test
+    public void orderLifecycle() throws InterruptedException {
+        try (ScenarioEngine engine = ScenarioEngine.fromSystemProperties(CLIENT)) {
+            engine.run(Workflows.ORDER_LIFECYCLE, 8, TestIds::next).assertAllPassed();
+        }
+    }
+
+    /**
+     * This test method places orders for the same pet from several threads at once.
+     * Every order must be accepted and stored under its own ID, and the pet must be left unchanged.
+     */
+    @Test
+    public void placeOrdersForTheSamePetConcurrently() throws InterruptedException {
+        try (RaceRunner races = RaceRunner.fromSystemProperties(CLIENT)) {
+            races.run(Races.SAME_PET_ORDERS, TestIds::next).assertHolds();
+        }
+    }
+
+    /**
+     * This test method fuzzes the order endpoints from the schema: wrong-typed quantities, order IDs at and past the
+     * int64 limits and malformed ship dates among others. No order request may end in a server error.
+     */
+    @Test
+    public void fuzzStoreRequests() throws InterruptedException {
+        ApiSchema schema = ApiSchema.bundled();
+        CaseGenerator cases = CaseGenerator.fromSystemProperties(schema, schema.operations("/store"), TestIds::next);
+        FuzzRunner.fromSystemProperties(CLIENT).run(cases).assertNoServerErrors();
     }
 }
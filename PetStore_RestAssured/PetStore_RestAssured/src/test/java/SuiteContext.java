@@ -0,0 +1,171 @@
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.specification.RequestSpecification;
+import org.example.cache.CachingFilter;
+import org.example.cache.ResponseCache;
+import org.example.client.ConnectionPool;
+import org.example.client.PetstoreClient;
+import org.example.logging.ExchangeRecorder;
+import org.example.policy.ClientPolicy;
+import org.example.replay.RecordingProxy;
+import org.example.replay.ReplayServer;
+import org.example.replay.TrafficLog;
+import org.example.server.PetstoreServer;
+import org.example.timing.RequestTimer;
+import org.example.validation.ResponsePlan;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the Pet, Store and User suites share: the base URI, the request specification with its filters and the
+ * java.net.http client. It is built once per JVM (so once per Surefire fork), the first time a suite asks for it,
+ * after the store is seeded; building the spec is not repeated before every test.
+ *
+ * <p>The spec is never modified after it is built, and RestAssured.given(spec) copies it, so every test thread can
+ * start its requests from it. Its last filter hands each exchange to the ExchangeRecorder of the thread that sends it:
+ * a test method runs on one thread, and the recorder's rule empties it when the test finishes, so one recorder per
+ * thread is reused by all the tests that run on it. Behind it, with "petstore.policy.enabled=true", the ClientPolicy
+ * applies per-endpoint timeouts, retries idempotent requests, hedges slow reads of a pet and opens a circuit on an
+ * endpoint that keeps failing; the filters before it see each request once. It is off by default, so a failing backend
+ * fails the suites instead of being retried into a pass.
+ *
+ * <p>When "petstore.warmup.rounds" is above 0, that many rounds of reads are sent through the RestAssured stack and the
+ * client before the first test, to load and compile the Groovy, RestAssured and HTTP client code paths and open the
+ * pooled connections. Warm-up requests skip the response cache and the request timer, so they show up in neither the
+ * cache statistics nor the latency reports.
+ *
+ * <p>With "petstore.record.file" set, every request of the suites goes through a RecordingProxy in front of the
+ * Petstore and is appended to that traffic log; with "petstore.replay.file" set, the suites run against a
+ * ReplayServer serving such a log, with its latencies scaled by "petstore.replay.speed" (1 by default), and no
+ * Petstore at all. The second and later forks add their worker number to the file name. For every request of a
+ * replay to have been recorded, both runs must hand out the same IDs in the same order, so run them serially with
+ * "-Dpetstore.parallel=none".
+ */
+public final class SuiteContext {
+
+    public static final String WARMUP_ROUNDS_PROPERTY = "petstore.warmup.rounds";
+
+    private static final ResponsePlan OK = ResponsePlan.builder().statusCode(200).build();
+
+    private final String baseUri;
+    private final RequestSpecification spec;
+    private final PetstoreClient client;
+    private final ThreadLocal<ExchangeRecorder> exchanges = ThreadLocal.withInitial(ExchangeRecorder::fromSystemProperties);
+
+    private static final class Holder {
+        static final SuiteContext INSTANCE = create();
+    }
+
+    private SuiteContext(String baseUri) {
+        this.baseUri = baseUri;
+        Filter threadExchanges = (request, response, ctx) -> exchanges().filter(request, response, ctx);
+        this.spec = base()
+                .addFilter(CachingFilter.shared())
+                .addFilter(RequestTimer.shared())
+                .addFilter(ConnectionPool.shared().releaseConnections())
+                .addFilter(threadExchanges)
+                .addFilter(ClientPolicy.shared())
+                .build();
+        this.client = new PetstoreClient(baseUri, ConnectionPool.shared().javaHttpClient(), ResponseCache.shared());
+    }
+
+    /**
+     * The context of this JVM, created by the first caller.
+     */
+    public static SuiteContext get() {
+        return Holder.INSTANCE;
+    }
+
+    private static SuiteContext create() {
+        String baseUri = resolveBaseUri();
+        SeedFixture.seedOnce(baseUri);
+        SuiteContext context = new SuiteContext(baseUri);
+        context.warmUp(Integer.getInteger(WARMUP_ROUNDS_PROPERTY, 0));
+        return context;
+    }
+
+    /**
+     * The configured Petstore, or the replay server or recording proxy in front of it.
+     */
+    private static String resolveBaseUri() {
+        String replayFile = System.getProperty(ReplayServer.FILE_PROPERTY, "");
+        if (!replayFile.isBlank()) {
+            ReplayServer replay = ReplayServer.start(forWorker(replayFile), Double.parseDouble(System.getProperty(ReplayServer.SPEED_PROPERTY, "1")));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                replay.close();
+                System.out.println(replay);
+            }, "replay-shutdown"));
+            return replay.baseUri();
+        }
+        String recordFile = System.getProperty(RecordingProxy.FILE_PROPERTY, "");
+        if (!recordFile.isBlank()) {
+            TrafficLog log = TrafficLog.create(forWorker(recordFile));
+            RecordingProxy proxy = RecordingProxy.start(PetstoreServer.resolveBaseUri(), ConnectionPool.shared().javaHttpClient(), log);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                proxy.close();
+                System.out.printf("Recorded %d exchanges (%d bytes) to %s%n", log.records(), log.bytes(), log.file());
+            }, "recording-shutdown"));
+            return proxy.baseUri();
+        }
+        return PetstoreServer.resolveBaseUri();
+    }
+
+    private static Path forWorker(String file) {
+        int worker = Integer.getInteger("petstore.worker", 1);
+        return Path.of(worker <= 1 ? file : file + "." + worker);
+    }
+
+    public String baseUri() {
+        return baseUri;
+    }
+
+    /**
+     * The spec every suite request starts from: base URI, base path "/api/v3", JSON content type, the shared
+     * keep-alive connection pool, and the cache, timing, connection release, exchange recording and client policy
+     * filters.
+     */
+    public RequestSpecification spec() {
+        return spec;
+    }
+
+    /**
+     * The client for the tooling the suites drive (fan-out, workflows, races, fuzzing). It shares the response cache
+     * with the spec, so its writes invalidate what RestAssured reads cached and the other way round.
+     */
+    public PetstoreClient client() {
+        return client;
+    }
+
+    /**
+     * The recorder of the calling thread, which captures the exchanges that thread sends through {@link #spec()}.
+     */
+    public ExchangeRecorder exchanges() {
+        return exchanges.get();
+    }
+
+    private RequestSpecBuilder base() {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setBasePath(PetstoreServer.BASE_PATH)
+                .setContentType("application/json")
+                .setConfig(ConnectionPool.shared().restAssuredConfig());
+    }
+
+    private void warmUp(int rounds) {
+        if (rounds <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        RequestSpecification untimed = base().addFilter(ConnectionPool.shared().releaseConnections()).build();
+        for (int i = 0; i < rounds; i++) {
+            RestAssured.given(untimed).when().get("/store/inventory").then().statusCode(200);
+            RestAssured.given(untimed).when().get("/pet/findByStatus?status=available").then().statusCode(200);
+            HttpResponse<byte[]> response = client.send("GET", "/store/inventory", null, HttpResponse.BodyHandlers.ofByteArray());
+            OK.check(response.statusCode(), response.body());
+        }
+        System.out.printf("Warmed up with %d round(s) in %d ms%n", rounds, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
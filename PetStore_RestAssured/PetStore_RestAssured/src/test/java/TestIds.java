@@ -0,0 +1,31 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out entity IDs that are unique per test, so tests never share pets, orders or users and can run in parallel.
+ * Every Surefire fork gets its own namespace of 10 million IDs, taken from the "petstore.worker" system property,
+ * and the threads inside a fork draw from one shared counter.
+ */
+public final class TestIds {
+
+    private static final int NAMESPACE_SIZE = 10_000_000;
+    private static final int WORKER = Integer.getInteger("petstore.worker", 1);
+    private static final AtomicInteger NEXT = new AtomicInteger();
+
+    private TestIds() {
+    }
+
+    /**
+     * Returns the next ID in this worker's namespace. IDs always fit in an int, so they compare equal
+     * to the Integer values RestAssured reads back from JSON bodies.
+     */
+    public static int next() {
+        return (WORKER % 200 + 1) * NAMESPACE_SIZE + NEXT.incrementAndGet() % NAMESPACE_SIZE;
+    }
+
+    /**
+     * Returns a username that is unique to this worker and call.
+     */
+    public static String username(String prefix) {
+        return prefix + "-" + next();
+    }
+}
@@ -1,25 +1,82 @@
 import io.restassured.RestAssured;
-import io.restassured.builder.RequestSpecBuilder;
-import io.restassured.filter.Filter;
-import io.restassured.filter.log.RequestLoggingFilter;
-import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.response.Response;
-import org.hamcrest.CoreMatchers;
+import io.restassured.specification.RequestSpecification;
+import org.example.client.PetstoreClient;
+import org.example.fuzz.ApiSchema;
+import org.example.fuzz.CaseGenerator;
+import org.example.fuzz.FuzzRunner;
+import org.example.logging.ExchangeRecorder;
+import org.example.scenario.ScenarioEngine;
+import org.example.scenario.Workflows;
+import org.example.stress.RaceRunner;
+import org.example.stress.Races;
+import org.example.validation.ResponsePlan;
 import org.hamcrest.MatcherAssert;
-import org.hamcrest.core.Is;
-import org.junit.Before;
+import org.hamcrest.Matchers;
+import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TestRule;
+
+import java.util.Arrays;
 
 public class User {
+    private final ExchangeRecorder exchanges = SuiteContext.get().exchanges();
+
+    @Rule
+    public final TestRule dumpExchangesOnFailure = exchanges.dumpOnFailure();
+
+    /**
+     * What updateUser expects back when it reads the user under its new username, which is passed with each check.
+     */
+    private static final ResponsePlan RENAMED_USER = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("username")
+            .body("lastName", Matchers.is("Doe"))
+            .body("email", Matchers.is("john.doe@xample.com"))
+            .build();
+
+    private static final PetstoreClient CLIENT = SuiteContext.get().client();
+
+    private final RequestSpecification spec = SuiteContext.get().spec();
+
     public User() {
     }
 
-    @Before
-    public void setup() {
-        RestAssured.baseURI = "http://localhost:8080/";
-        RestAssured.basePath = "/api/v3";
-        RestAssured.filters(new RequestLoggingFilter(), new Filter[]{new ResponseLoggingFilter()});
-        RestAssured.requestSpecification = (new RequestSpecBuilder()).setContentType("application/json").build();
+    /**
+     * Builds the shared suite context before the first test, seeding the store and warming up once per JVM; see SuiteContext.
+     */
+    @BeforeClass
+    public static void bootstrap() {
+        SuiteContext.get();
+    }
+
+    /**
+     * The model is named with its package because this test class is called User too.
+     */
+    private static org.example.model.User.Builder user(int id, String username) {
+        return org.example.model.User.builder()
+                .id(id)
+                .username(username)
+                .firstName("John")
+                .lastName("James")
+                .email("john@email.com")
+                .password("12345")
+                .phone("12345")
+                .userStatus(1);
+    }
+
+    private static String userBody(int id, String username) {
+        return user(id, username).build().toJson();
+    }
+
+    /**
+     * Creates a user with a fresh ID and username, for tests that need one to exist beforehand.
+     */
+    private String givenAnExistingUser() {
+        String username = TestIds.username("user");
+        RestAssured.given(spec).body(userBody(TestIds.next(), username)).when().post("/user").then().statusCode(200);
+        return username;
     }
 
     /**
@@ -29,8 +86,8 @@ public class User {
      */
     @Test
     public void createUser() {
-        String body = "{\"id\": 10,\"username\": \"theUser\",\"firstName\": \"John\",\"lastName\": \"James\",\"email\": \"john@email.com\",\"password\": \"12345\",\"phone\": \"12345\",\"userStatus\": 1}";
-        RestAssured.given().body(body).when().post("/user").then().statusCode(200);
+        String body = userBody(TestIds.next(), TestIds.username("theUser"));
+        RestAssured.given(spec).body(body).when().post("/user").then().statusCode(200);
     }
 
     /**
@@ -40,51 +97,99 @@ public class User {
      */
     @Test
     public void createUsersWithList() {
-        String body = "[{\"id\": 10,\"username\": \"user1\"},{\"id\": 20,\"username\": \"user2\"}]";
-        RestAssured.given().body(body).when().post("/user/createWithList").then().statusCode(200);
+        String body = org.example.model.User.toJson(Arrays.asList(
+                org.example.model.User.builder().id(TestIds.next()).username(TestIds.username("user")).build(),
+                org.example.model.User.builder().id(TestIds.next()).username(TestIds.username("user")).build()));
+        RestAssured.given(spec).body(body).when().post("/user/createWithList").then().statusCode(200);
     }
 
     @Test
     public void logsUserIntoTheSystem() {
         String body = "username=user1&password=password1";
-        RestAssured.given().body(body).when().get("/user/login").then().statusCode(200);
+        RestAssured.given(spec).body(body).when().get("/user/login").then().statusCode(200);
     }
 
     @Test
     public void logsOutCurrentLoggedInUserSession() {
-        RestAssured.given().when().get("/user/logout").then().statusCode(200);
+        RestAssured.given(spec).when().get("/user/logout").then().statusCode(200);
     }
 
     @Test
     public void getUserByName() {
-        RestAssured.given().when().get("/user/user1").then().statusCode(200);
+        String username = givenAnExistingUser();
+        RestAssured.given(spec).when().get("/user/" + username).then().statusCode(200);
     }
 
     /**
      * This test method is used to update a user.
-     * It creates a JSON request body with the updated user details and sends a PUT request to the "/user/{username}" endpoint with the username as a path parameter.
-     * The response is then validated to ensure that the user was updated correctly.
+     * It creates a user with a fresh username, then a JSON request body with the updated user details, and sends a PUT request to the "/user/{username}" endpoint with the username as a path parameter.
+     * The body renames the user, so the response is validated and the user is read back under the new username to check the new values were stored.
      */
     @Test
     public void updateUser() {
-        String body = "{\"id\": 10,\"username\": \"user1.1\",\"firstName\": \"John\",\"lastName\": \"Doe\",\"email\": \"john.doe@xample.com\",\"password\": \"12345\",\"phone\": \"12345\",\"userStatus\": 1}";
-        int statusCode = RestAssured.given().body(body).when().put("/user/user1").getStatusCode();
-        if (statusCode == 200) {
-            System.out.println("User updated successfully");
-        } else if (statusCode == 404) {
-            System.out.println("User not found");
-        } else {
-            System.out.println("An error occurred");
-        }
+        String username = givenAnExistingUser();
+        String renamed = username + ".1";
+        String body = user(TestIds.next(), renamed)
+                .lastName("Doe")
+                .email("john.doe@xample.com")
+                .build()
+                .toJson();
+        RestAssured.given(spec).body(body).when().put("/user/" + username).then().statusCode(200);
+        Response response = RestAssured.given(spec).when().get("/user/" + renamed);
+        RENAMED_USER.check(response, renamed);
+        RestAssured.given(spec).when().get("/user/" + username).then().statusCode(404);
     }
 
     /**
      * This test method is used to delete a user.
-     * It sends a DELETE request to the "/user/{username}" endpoint with the username as a path parameter.
+     * It creates a user with a fresh username and sends a DELETE request to the "/user/{username}" endpoint with the username as a path parameter.
      * The response is then validated to ensure that the user was deleted correctly.
      */
     @Test
     public void deleteUser() {
-        RestAssured.given().when().delete("/user/user1", new Object[0]).then().statusCode(200);
+        String username = givenAnExistingUser();
+        RestAssured.given(spec).when().delete("/user/" + username, new Object[0]).then().statusCode(200);
+    }
+
+    /**
+     * This test method creates a user, logs in, updates the email and deletes the user as one workflow.
+     */
+    @Test
+    public void userLifecycle() throws InterruptedException {
+        try (ScenarioEngine engine = ScenarioEngine.fromSystemProperties(CLIENT)) {
+            engine.run(Workflows.USER_LIFECYCLE, 8, TestIds::next).assertAllPassed();
+        }
+    }
+
+    /**
+     * This test method updates the same user from several threads at once.
+     * Every update must succeed, and the stored user must hold the last name and email of one and the same update.
+     */
+    @Test
+    public void updateUserConcurrently() throws InterruptedException {
+        try (RaceRunner races = RaceRunner.fromSystemProperties(CLIENT)) {
+            races.run(Races.USER_UPDATES, TestIds::next).assertHolds();
+        }
+    }
+
+    /**
+     * This test method deletes the same user from several threads at once; exactly one delete may succeed.
+     */
+    @Test
+    public void deleteUserConcurrently() throws InterruptedException {
+        try (RaceRunner races = RaceRunner.fromSystemProperties(CLIENT)) {
+            races.run(Races.USER_DELETES, TestIds::next).assertHolds();
+        }
+    }
+
+    /**
+     * This test method fuzzes the user endpoints, e.g. a username of the wrong type or a user status past int32.
+     * Server errors fail it; accepted invalid input is only reported.
+     */
+    @Test
+    public void fuzzUserRequests() throws InterruptedException {
+        ApiSchema schema = ApiSchema.bundled();
+        CaseGenerator cases = CaseGenerator.fromSystemProperties(schema, schema.operations("/user"), TestIds::next);
+        FuzzRunner.fromSystemProperties(CLIENT).run(cases).assertNoServerErrors();
     }
 }
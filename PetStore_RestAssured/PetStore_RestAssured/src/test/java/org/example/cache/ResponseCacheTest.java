@@ -0,0 +1,88 @@
+package org.example.cache;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.example.client.PetstoreClient;
+import org.example.model.ModelGenerator;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.net.http.HttpClient;
+import java.util.Map;
+
+public class ResponseCacheTest {
+
+    /**
+     * Repeated GETs are served from the cache until a write to the pet family drops them, inventory included.
+     */
+    @Test
+    public void servesRepeatedGetsAndInvalidatesOnWrites() {
+        ResponseCache cache = new ResponseCache(16, 1024 * 1024, 60_000);
+        try (PetstoreServer server = PetstoreServer.start()) {
+            RequestSpecification spec = new RequestSpecBuilder()
+                    .setBaseUri(server.baseUri())
+                    .setBasePath(PetstoreServer.BASE_PATH)
+                    .setContentType("application/json")
+                    .addFilter(new CachingFilter(cache))
+                    .build();
+
+            for (int i = 0; i < 3; i++) {
+                RestAssured.given(spec).queryParam("status", "available").get("/pet/findByStatus")
+                        .then().statusCode(200).body("[0].status", Matchers.is("available"));
+            }
+            RestAssured.given(spec).get("/store/inventory").then().statusCode(200);
+            MatcherAssert.assertThat(cache.hits(), Matchers.is(2L));
+            MatcherAssert.assertThat(cache.misses(), Matchers.is(2L));
+
+            RestAssured.given(spec).body(new ModelGenerator(1).pet(7_000_000_001L).toBuilder().status("available").build().toJson())
+                    .post("/pet").then().statusCode(200);
+            MatcherAssert.assertThat(cache.invalidations(), Matchers.is(2L));
+            RestAssured.given(spec).queryParam("status", "available").get("/pet/findByStatus")
+                    .then().statusCode(200).body("id", Matchers.hasItem(7_000_000_001L));
+            MatcherAssert.assertThat(cache.misses(), Matchers.is(3L));
+        }
+    }
+
+    /**
+     * Without a time-to-live every reuse costs a round-trip, but only a 304 without the body.
+     */
+    @Test
+    public void revalidatesExpiredEntriesWithTheirEtag() {
+        ResponseCache cache = new ResponseCache(16, 1024 * 1024, 0);
+        try (PetstoreServer server = PetstoreServer.start()) {
+            PetstoreClient client = new PetstoreClient(server.baseUri(), HttpClient.newHttpClient(), cache);
+
+            String first = client.get("/user/user1").body();
+            String second = client.get("/user/user1").body();
+
+            MatcherAssert.assertThat(second, Matchers.is(first));
+            MatcherAssert.assertThat(cache.misses(), Matchers.is(1L));
+            MatcherAssert.assertThat(cache.revalidations(), Matchers.is(1L));
+            MatcherAssert.assertThat(cache.hits(), Matchers.is(0L));
+        }
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedEntriesBeyondItsBounds() {
+        ResponseCache cache = new ResponseCache(2, 10, 60_000);
+        Map<String, String> headers = Map.of("Content-Type", "application/json");
+        cache.store("GET /pet/1", cache.version(), 200, headers::get, new byte[4]);
+        cache.store("GET /pet/2", cache.version(), 200, headers::get, new byte[4]);
+        cache.fresh("GET /pet/1");
+        cache.store("GET /pet/3", cache.version(), 200, headers::get, new byte[4]);
+
+        MatcherAssert.assertThat(cache.fresh("GET /pet/1"), Matchers.notNullValue());
+        MatcherAssert.assertThat(cache.fresh("GET /pet/2"), Matchers.nullValue());
+        cache.store("GET /pet/4", cache.version(), 200, headers::get, new byte[8]);
+        MatcherAssert.assertThat(cache.size(), Matchers.is(1));
+        MatcherAssert.assertThat(cache.evictions(), Matchers.is(3L));
+
+        long before = cache.version();
+        cache.invalidate("/user/theUser");
+        cache.store("GET /user/theUser", before, 200, headers::get, new byte[1]);
+        MatcherAssert.assertThat(cache.fresh("GET /user/theUser"), Matchers.nullValue());
+    }
+}
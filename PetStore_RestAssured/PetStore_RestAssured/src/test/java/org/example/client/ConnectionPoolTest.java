@@ -0,0 +1,80 @@
+package org.example.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+public class ConnectionPoolTest {
+
+    /**
+     * Sequential requests over one route share a single kept-alive connection.
+     */
+    @Test
+    public void reusesKeptAliveConnections() {
+        try (ConnectionPool pool = new ConnectionPool(4, 8, 30, 10, false)) {
+            RequestSpecification spec = new RequestSpecBuilder()
+                    .setBaseUri(PetstoreServer.resolveBaseUri())
+                    .setBasePath(PetstoreServer.BASE_PATH)
+                    .setConfig(pool.restAssuredConfig())
+                    .addFilter(pool.releaseConnections())
+                    .build();
+            for (int i = 0; i < 5; i++) {
+                RestAssured.given(spec).get("/store/inventory").then().statusCode(200);
+            }
+
+            MatcherAssert.assertThat(pool.leases(), Matchers.is(5L));
+            MatcherAssert.assertThat(pool.created(), Matchers.is(1L));
+            MatcherAssert.assertThat(pool.reused(), Matchers.is(4L));
+            MatcherAssert.assertThat(pool.waits(), Matchers.is(0L));
+        }
+    }
+
+    /**
+     * A connection is not reused past the {@code Keep-Alive} timeout the server announced, although the pool's own
+     * limit is longer.
+     */
+    @Test
+    public void honorsTheKeepAliveTimeoutOfTheServer() throws IOException, InterruptedException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getResponseHeaders().add("Keep-Alive", "timeout=1");
+                exchange.sendResponseHeaders(200, 2);
+                exchange.getResponseBody().write(new byte[]{'{', '}'});
+            }
+        });
+        stub.start();
+        try (ConnectionPool pool = new ConnectionPool(4, 8, 30, 10, false)) {
+            RequestSpecification spec = new RequestSpecBuilder()
+                    .setBaseUri("http://127.0.0.1:" + stub.getAddress().getPort())
+                    .setConfig(pool.restAssuredConfig())
+                    .addFilter(pool.releaseConnections())
+                    .build();
+            RestAssured.given(spec).get("/").then().statusCode(200);
+            RestAssured.given(spec).get("/").then().statusCode(200);
+            Thread.sleep(1500);
+            RestAssured.given(spec).get("/").then().statusCode(200);
+
+            MatcherAssert.assertThat(pool.created(), Matchers.is(2L));
+            MatcherAssert.assertThat(pool.reused(), Matchers.is(1L));
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    @Test
+    public void handsOutOneJavaHttpClient() {
+        try (ConnectionPool pool = new ConnectionPool(4, 8, 30, 10, false)) {
+            MatcherAssert.assertThat(pool.javaHttpClient(), Matchers.sameInstance(pool.javaHttpClient()));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.client;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.server.PetstoreServer;
+import org.example.validation.ResponsePlan;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FanOutTest {
+
+    private static final ResponsePlan FOUND = ResponsePlan.builder().statusCode(200).build();
+
+    /**
+     * Hundreds of generated tags go out concurrently, but never more than the limit at once.
+     */
+    @Test
+    public void keepsAtMostTheConfiguredNumberOfRequestsInFlight() throws IOException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger served = new AtomicInteger();
+        HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        stub.createContext("/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try (exchange) {
+                Thread.sleep(2);
+                byte[] body = "[]".getBytes();
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                served.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        stub.setExecutor(executor);
+        stub.start();
+        try {
+            List<String> tags = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                tags.add("tag" + i);
+            }
+            FanOut fanOut = new FanOut(new PetstoreClient("http://127.0.0.1:" + stub.getAddress().getPort()), 8);
+
+            FanOutResult<String> result = fanOut.get(tags, tag -> "/pet/findByTags?tags=" + tag, FOUND).join();
+
+            result.assertAllPassed();
+            MatcherAssert.assertThat(result.size(), Matchers.is(300));
+            MatcherAssert.assertThat(served.get(), Matchers.is(300));
+            MatcherAssert.assertThat(maxInFlight.get(), Matchers.lessThanOrEqualTo(8));
+        } finally {
+            stub.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A failed check is recorded against its element and the rest still run.
+     */
+    @Test
+    public void reportsTheFailuresOfEveryElement() {
+        try (PetstoreServer server = PetstoreServer.start()) {
+            FanOut fanOut = new FanOut(new PetstoreClient(server.baseUri()), 2);
+            List<String> statuses = List.of("available", "unknown", "pending", "", "sold");
+
+            FanOutResult<String> result = fanOut.get(statuses, status -> "/pet/findByStatus?status=" + status, FOUND).join();
+
+            MatcherAssert.assertThat(result.passed(), Matchers.is(false));
+            MatcherAssert.assertThat(result.failures().keySet(), Matchers.contains("unknown", ""));
+            try {
+                result.assertAllPassed();
+                throw new IllegalStateException("Expected the failures to be reported");
+            } catch (AssertionError e) {
+                MatcherAssert.assertThat(e.getMessage(), Matchers.startsWith("2 of 5 requests failed:"));
+                MatcherAssert.assertThat(e.getSuppressed().length, Matchers.is(2));
+            }
+        }
+    }
+}
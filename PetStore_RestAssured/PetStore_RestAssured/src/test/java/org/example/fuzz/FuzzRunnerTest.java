@@ -0,0 +1,109 @@
+package org.example.fuzz;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.client.PetstoreClient;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FuzzRunnerTest {
+
+    private static final ApiSchema SCHEMA = ApiSchema.bundled();
+
+    @Test
+    public void derivesNegativeAndBoundaryCasesFromTheSchema() {
+        CaseGenerator generator = new CaseGenerator(SCHEMA, SCHEMA.operations("/pet", "/store"), new AtomicLong(1_000)::incrementAndGet, 7, 50);
+        Map<String, Boolean> valid = new HashMap<>();
+        for (int i = 0; i < generator.mutations(); i++) {
+            FuzzCase fuzz = generator.next();
+            valid.put(fuzz.endpoint() + " " + fuzz.mutation(), fuzz.valid());
+        }
+
+        MatcherAssert.assertThat(valid.size(), Matchers.is(generator.mutations()));
+        MatcherAssert.assertThat(valid, Matchers.allOf(
+                Matchers.hasEntry("POST /pet missing name", false),
+                Matchers.hasEntry("POST /pet missing id", true),
+                Matchers.hasEntry("POST /pet wrong type tags[0].id: string", false),
+                Matchers.hasEntry("POST /pet boundary id: max int64", true),
+                Matchers.hasEntry("POST /pet boundary id: int64 overflow", false),
+                Matchers.hasEntry("POST /pet oversized array photoUrls: 50 elements", true),
+                Matchers.hasEntry("POST /pet malformed body: truncated JSON", false),
+                Matchers.hasEntry("GET /pet/{id} wrong type path petId: text", false),
+                Matchers.hasEntry("GET /pet/findByStatus unknown enum value query status", false),
+                Matchers.hasEntry("POST /store/order malformed date shipDate: month 13", false),
+                Matchers.hasEntry("POST /store/order boundary date shipDate: year 9999", true),
+                Matchers.hasEntry("POST /store/order boundary quantity: int32 overflow", false)));
+    }
+
+    /**
+     * Cases repeat the catalog with fresh values, so a stub failing every request yields one finding per mutation.
+     */
+    @Test
+    public void deduplicatesEquivalentFailures() throws IOException, InterruptedException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.createContext("/", exchange -> {
+            byte[] body = ("NullPointerException at request " + exchange.getRequestURI().getPath().hashCode()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(500, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.start();
+        try {
+            CaseGenerator generator = new CaseGenerator(SCHEMA, SCHEMA.operations("/user"), new AtomicLong()::incrementAndGet, 7, 10);
+            FuzzReport report = new FuzzRunner(new PetstoreClient("http://127.0.0.1:" + stub.getAddress().getPort() + "/"), 8,
+                    3 * generator.mutations()).run(generator);
+
+            MatcherAssert.assertThat(report.cases(), Matchers.is(3L * generator.mutations()));
+            MatcherAssert.assertThat(report.findings(FuzzReport.Kind.SERVER_ERROR).size(), Matchers.is(generator.mutations()));
+            MatcherAssert.assertThat(report.findings().get(0).count(), Matchers.is(3L));
+            MatcherAssert.assertThat(report.findings().get(0).message(), Matchers.is("NullPointerException at request #"));
+            AssertionError failure = null;
+            try {
+                report.assertNoServerErrors();
+            } catch (AssertionError e) {
+                failure = e;
+            }
+            MatcherAssert.assertThat(failure, Matchers.notNullValue());
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    @Test
+    public void theInProcessServerAnswersEveryCaseAndIsLeftClean() throws InterruptedException {
+        try (PetstoreServer server = PetstoreServer.start()) {
+            int pets = server.data().pets().size();
+            int orders = server.data().orders().size();
+            int users = server.data().users().size();
+            CaseGenerator generator = new CaseGenerator(SCHEMA, SCHEMA.operations(), new AtomicLong(5_000_000)::incrementAndGet, 7, 100);
+            FuzzReport report = new FuzzRunner(new PetstoreClient(server.baseUri()), 16, 2 * generator.mutations()).run(generator);
+
+            report.assertNoServerErrors();
+            List<String> accepted = new ArrayList<>();
+            for (FuzzReport.Finding finding : report.findings(FuzzReport.Kind.ACCEPTED_INVALID)) {
+                accepted.add(finding.endpoint() + " " + finding.mutation());
+            }
+            MatcherAssert.assertThat(accepted, Matchers.not(Matchers.anyOf(
+                    Matchers.hasItem("POST /pet boundary id: int64 overflow"),
+                    Matchers.hasItem("PUT /pet boundary id: int64 overflow"),
+                    Matchers.hasItem("POST /store/order boundary id: int64 overflow"))));
+            MatcherAssert.assertThat(report.cleanups(), Matchers.greaterThan(0L));
+            MatcherAssert.assertThat(server.data().pets().size(), Matchers.is(pets));
+            MatcherAssert.assertThat(server.data().orders().size(), Matchers.is(orders));
+            MatcherAssert.assertThat(server.data().users().size(), Matchers.is(users));
+        }
+    }
+}
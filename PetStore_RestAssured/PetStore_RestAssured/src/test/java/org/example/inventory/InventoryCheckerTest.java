@@ -0,0 +1,68 @@
+package org.example.inventory;
+
+import org.example.client.PetstoreClient;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class InventoryCheckerTest {
+
+    private static final List<String> STATUSES = List.of("available", "pending", "sold");
+
+    @Test
+    public void findsNoDriftWhenEveryPetAndOrderIsCounted() throws InterruptedException {
+        try (PetstoreServer server = PetstoreServer.start()) {
+            InventoryChecker checker = new InventoryChecker(new PetstoreClient(server.baseUri()), 8);
+
+            InventoryReport report = checker.check(STATUSES, 1, 200);
+
+            MatcherAssert.assertThat(report.drifts(), Matchers.empty());
+            MatcherAssert.assertThat(report.stable(), Matchers.is(true));
+            MatcherAssert.assertThat(report.pets("available"), Matchers.is(6L));
+            MatcherAssert.assertThat(report.orderQuantity("delivered"), Matchers.is(50L));
+            MatcherAssert.assertThat(report.ordersFound(), Matchers.is(3L));
+            MatcherAssert.assertThat(report.errors(), Matchers.is(0L));
+        }
+    }
+
+    /**
+     * Orders outside the probed range and pets with a status nobody asked for show up as drift.
+     */
+    @Test
+    public void reportsDriftPerStatus() throws InterruptedException {
+        try (PetstoreServer server = PetstoreServer.start()) {
+            server.data().pets().put(999L, new LinkedHashMap<>(Map.of("id", 999L, "name", "Ghost", "status", "lost")));
+            InventoryChecker checker = new InventoryChecker(new PetstoreClient(server.baseUri()), 8);
+
+            InventoryReport report = checker.check(STATUSES, 101, 2);
+
+            MatcherAssert.assertThat(report.drift("delivered"), Matchers.is(50L));
+            MatcherAssert.assertThat(report.drift("lost"), Matchers.is(1L));
+            MatcherAssert.assertThat(report.drifts(), Matchers.containsInAnyOrder(
+                    Matchers.startsWith("delivered: inventory 50, counted 0 pets + 0 ordered, drift +50"),
+                    Matchers.startsWith("lost: inventory 1")));
+        }
+    }
+
+    @Test
+    public void countsWithoutBoxingAndRejectsTooManyStatuses() {
+        StatusCounters counters = new StatusCounters(2);
+        counters.add("available", 3);
+        counters.add("sold", 1);
+        counters.add("available", 2);
+
+        MatcherAssert.assertThat(counters.get("available"), Matchers.is(5L));
+        MatcherAssert.assertThat(counters.get("pending"), Matchers.is(0L));
+        try {
+            counters.add("pending", 1);
+            throw new AssertionError("Expected the third status to be rejected");
+        } catch (IllegalStateException e) {
+            MatcherAssert.assertThat(e.getMessage(), Matchers.is("More than 2 distinct statuses"));
+        }
+    }
+}
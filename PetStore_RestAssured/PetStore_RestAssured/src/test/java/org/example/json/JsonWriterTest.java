@@ -0,0 +1,48 @@
+package org.example.json;
+
+import org.example.model.ModelGenerator;
+import org.example.model.Pet;
+import org.example.model.User;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class JsonWriterTest {
+
+    @Test
+    public void leavesUnsetFieldsOut() {
+        String json = Pet.builder().id(7).name("Doggie").photoUrl("a").photoUrl("b").build().toJson();
+
+        MatcherAssert.assertThat(json, Matchers.is("{\"id\":7,\"name\":\"Doggie\",\"photoUrls\":[\"a\",\"b\"]}"));
+    }
+
+    @Test
+    public void escapesStringsAndEncodesUtf8() {
+        String name = "quote\" slash\\ tab\t bell\u0007 é € 🐶";
+        String json = User.toJson(Arrays.asList(User.builder().username(name).build(), User.builder().id(Long.MIN_VALUE).build()));
+
+        MatcherAssert.assertThat(json, Matchers.is("[{\"username\":\"quote\\\" slash\\\\ tab\\t bell\\u0007 é € 🐶\"},{\"id\":-9223372036854775808}]"));
+        List<?> parsed = (List<?>) Json.parse(json);
+        MatcherAssert.assertThat(((Map<?, ?>) parsed.get(0)).get("username"), Matchers.is(name));
+    }
+
+    /**
+     * A reused writer produces the same JSON as the reference writer for every generated model.
+     */
+    @Test
+    public void generatedModelsRoundTrip() {
+        ModelGenerator generator = new ModelGenerator(1);
+        JsonWriter out = new JsonWriter(8);
+        for (int id = 0; id < 1_000; id++) {
+            Pet pet = generator.pet(id);
+            pet.writeTo(out.reset());
+
+            MatcherAssert.assertThat(out.toString(), Matchers.is(Json.write(Json.parse(pet.toJson()))));
+            MatcherAssert.assertThat(Json.at(Json.parse(out.toString()), "id"), Matchers.is((long) id));
+        }
+    }
+}
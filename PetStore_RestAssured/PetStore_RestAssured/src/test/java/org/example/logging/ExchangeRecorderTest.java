@@ -0,0 +1,81 @@
+package org.example.logging;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.example.server.PetstoreServer;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+public class ExchangeRecorderTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private RequestSpecification specWith(ExchangeRecorder recorder) {
+        return new RequestSpecBuilder()
+                .setBaseUri(PetstoreServer.resolveBaseUri())
+                .setBasePath(PetstoreServer.BASE_PATH)
+                .addFilter(recorder)
+                .build();
+    }
+
+    /**
+     * Passing exchanges are only kept in memory, and the ring keeps the most recent ones.
+     */
+    @Test
+    public void keepsTheMostRecentExchangesWithoutPrinting() {
+        ExchangeRecorder recorder = new ExchangeRecorder(2, 1024 * 1024, 1.0, 0, new PrintStream(output));
+        RequestSpecification spec = specWith(recorder);
+        for (String status : new String[]{"available", "pending", "sold"}) {
+            RestAssured.given(spec).queryParam("status", status).get("/pet/findByStatus").then().statusCode(200);
+        }
+
+        MatcherAssert.assertThat(recorder.size(), Matchers.is(2));
+        MatcherAssert.assertThat(output.size(), Matchers.is(0));
+
+        recorder.dump();
+        String dump = output.toString();
+        MatcherAssert.assertThat(dump, CoreMatchers.not(CoreMatchers.containsString("status=available")));
+        MatcherAssert.assertThat(dump, CoreMatchers.containsString("status=pending"));
+        MatcherAssert.assertThat(dump, CoreMatchers.containsString("status=sold"));
+        MatcherAssert.assertThat(recorder.size(), Matchers.is(0));
+    }
+
+    /**
+     * A dump prints the bodies of the newest exchanges up to the byte cap and only the status of the older ones.
+     */
+    @Test
+    public void printsTheNewestBodiesUnderTheByteCap() {
+        ExchangeRecorder recorder = new ExchangeRecorder(16, 150, 1.0, 0, new PrintStream(output));
+        RequestSpecification spec = specWith(recorder);
+        for (int i = 0; i < 5; i++) {
+            RestAssured.given(spec).get("/store/inventory").then().statusCode(200);
+        }
+        MatcherAssert.assertThat(recorder.size(), Matchers.is(5));
+
+        recorder.dump();
+        String[] lines = output.toString().split("\\R");
+        int full = 0;
+        int statusOnly = 0;
+        for (String line : lines) {
+            full += line.startsWith("Request URI:") ? 1 : 0;
+            statusOnly += line.contains("(bodies over 150 bytes not printed) -> 200") ? 1 : 0;
+        }
+        MatcherAssert.assertThat(full, Matchers.allOf(Matchers.greaterThan(0), Matchers.lessThan(5)));
+        MatcherAssert.assertThat(full + statusOnly, Matchers.is(5));
+        MatcherAssert.assertThat(lines[1], CoreMatchers.startsWith("  (bodies over 150 bytes not printed)"));
+    }
+
+    @Test
+    public void capturesNothingWhenTheSampleRateIsZero() {
+        ExchangeRecorder recorder = new ExchangeRecorder(4, 1024 * 1024, 0.0, 0, new PrintStream(output));
+        RestAssured.given(specWith(recorder)).get("/store/inventory").then().statusCode(200);
+
+        MatcherAssert.assertThat(recorder.size(), Matchers.is(0));
+    }
+}
@@ -0,0 +1,234 @@
+package org.example.policy;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.example.client.ConnectionPool;
+import org.example.timing.LatencyReport;
+import org.example.timing.RequestTimer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ClientPolicyTest {
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private ConnectionPool pool;
+
+    /**
+     * {@code /flaky} fails twice before it answers, {@code /down} always fails and {@code /slow} sleeps through its
+     * first call.
+     */
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/v3/", exchange -> {
+            String path = exchange.getRequestURI().getPath().substring("/api/v3".length());
+            int call = calls.computeIfAbsent(exchange.getRequestMethod() + " " + path, key -> new AtomicInteger()).incrementAndGet();
+            int status = 200;
+            if (path.startsWith("/flaky") && call <= 2 || path.startsWith("/down")) {
+                status = 503;
+            } else if (path.startsWith("/slow") && call == 1) {
+                try {
+                    Thread.sleep(2000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.setExecutor(executor);
+        server.start();
+        pool = new ConnectionPool(4, 8, 30, 10, false);
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    @Test
+    public void retriesIdempotentRequestsOnly() {
+        try (ClientPolicy policy = policy("*=backoff:1", 10)) {
+            RestAssured.given(spec(policy)).get("/flaky").then().statusCode(200);
+            MatcherAssert.assertThat(policy.retries(), Matchers.is(2L));
+
+            RestAssured.given(spec(policy)).post("/flaky").then().statusCode(503);
+            MatcherAssert.assertThat(policy.retries(), Matchers.is(2L));
+            MatcherAssert.assertThat(calls.get("POST /flaky").get(), Matchers.is(1));
+        }
+    }
+
+    @Test
+    public void stopsRetryingWhenTheBudgetIsSpent() {
+        try (ClientPolicy policy = policy("*=backoff:1,breaker:0", 1)) {
+            RestAssured.given(spec(policy)).get("/down").then().statusCode(503);
+            MatcherAssert.assertThat(policy.retries(), Matchers.is(1L));
+            MatcherAssert.assertThat(policy.refused(), Matchers.is(1L));
+            MatcherAssert.assertThat(calls.get("GET /down").get(), Matchers.is(2));
+        }
+    }
+
+    /**
+     * The third request is answered by the open circuit and never reaches the server.
+     */
+    @Test
+    public void opensTheCircuitAfterFailuresInARow() {
+        try (ClientPolicy policy = policy("*=retries:0,breaker:2,open:60000", 10)) {
+            RestAssured.given(spec(policy)).get("/down/1").then().statusCode(503);
+            RestAssured.given(spec(policy)).get("/down/2").then().statusCode(503);
+            Response rejected = RestAssured.given(spec(policy)).get("/down/3");
+
+            MatcherAssert.assertThat(rejected.getStatusCode(), Matchers.is(503));
+            MatcherAssert.assertThat(rejected.getHeader(ClientPolicy.HEADER), Matchers.is("circuit-open"));
+            MatcherAssert.assertThat(policy.circuit("GET /down/{id}"), Matchers.is(CircuitBreaker.State.OPEN));
+            MatcherAssert.assertThat(policy.opened(), Matchers.is(1L));
+            MatcherAssert.assertThat(policy.rejected(), Matchers.is(1L));
+            MatcherAssert.assertThat(calls.containsKey("GET /down/3"), Matchers.is(false));
+        }
+    }
+
+    /**
+     * A probe that fails with something other than an I/O error opens the circuit again instead of leaving it
+     * half-open, so the next probe still gets through once the open time is up.
+     */
+    @Test
+    public void reopensTheCircuitWhenTheProbeThrows() throws InterruptedException {
+        try (ClientPolicy policy = policy("*=retries:0,breaker:1,open:50", 10)) {
+            RestAssured.given(spec(policy)).get("/down/1").then().statusCode(503);
+            Thread.sleep(100);
+            RequestSpecification failing = builder().addFilter(pool.releaseConnections()).addFilter(policy)
+                    .addFilter((requestSpec, responseSpec, ctx) -> {
+                        throw new IllegalStateException("probe failed");
+                    })
+                    .build();
+            IllegalStateException failure = null;
+            try {
+                RestAssured.given(failing).get("/down/1");
+            } catch (IllegalStateException e) {
+                failure = e;
+            }
+
+            MatcherAssert.assertThat(failure, Matchers.notNullValue());
+            MatcherAssert.assertThat(policy.circuit("GET /down/{id}"), Matchers.is(CircuitBreaker.State.OPEN));
+            MatcherAssert.assertThat(policy.opened(), Matchers.is(2L));
+            Thread.sleep(100);
+            Response probe = RestAssured.given(spec(policy)).get("/down/1");
+            MatcherAssert.assertThat(probe.getHeader(ClientPolicy.HEADER), Matchers.nullValue());
+            MatcherAssert.assertThat(calls.get("GET /down/1").get(), Matchers.is(2));
+        }
+    }
+
+    @Test
+    public void retriesAfterAReadTimeout() {
+        try (ClientPolicy policy = policy("*=read:200,backoff:1", 10)) {
+            RestAssured.given(spec(policy)).get("/slow").then().statusCode(200);
+
+            MatcherAssert.assertThat(policy.timeouts(), Matchers.is(1L));
+            MatcherAssert.assertThat(policy.retries(), Matchers.is(1L));
+        }
+    }
+
+    /**
+     * The short read timeout of {@code /fast} must not stay on the pooled connection {@code /slow} is sent over next.
+     */
+    @Test
+    public void restoresTheReadTimeoutOfThePooledConnection() {
+        try (ClientPolicy policy = policy("GET /fast=read:200;*=read:0,retries:0", 10)) {
+            RestAssured.given(spec(policy)).get("/fast").then().statusCode(200);
+            RestAssured.given(spec(policy)).get("/slow").then().statusCode(200);
+
+            MatcherAssert.assertThat(pool.reused(), Matchers.is(1L));
+            MatcherAssert.assertThat(policy.timeouts(), Matchers.is(0L));
+        }
+    }
+
+    /**
+     * The phases of the hedge that answered reach the request timer, which runs on the caller's thread.
+     */
+    @Test
+    public void hedgesAGetThatIsNotAnsweredInTime() {
+        RequestTimer timer = new RequestTimer();
+        try (ClientPolicy policy = policy("GET /slow=hedge:50", 10)) {
+            long start = System.nanoTime();
+            RestAssured.given(spec(timer, policy)).get("/slow").then().statusCode(200);
+
+            MatcherAssert.assertThat((System.nanoTime() - start) / 1_000_000, Matchers.lessThan(1500L));
+            MatcherAssert.assertThat(policy.hedges(), Matchers.is(1L));
+            MatcherAssert.assertThat(policy.hedgesWon(), Matchers.is(1L));
+            MatcherAssert.assertThat(policy.retries(), Matchers.is(0L));
+            LatencyReport report = timer.report();
+            MatcherAssert.assertThat(report.histogram("GET /slow", LatencyReport.TTFB).getTotalCount(), Matchers.is(1L));
+            MatcherAssert.assertThat(report.histogram("GET /slow", LatencyReport.CONNECT).getTotalCount(), Matchers.is(1L));
+        }
+    }
+
+    @Test
+    public void budgetRefillsWithRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        MatcherAssert.assertThat(budget.tryRetry(), Matchers.is(true));
+        MatcherAssert.assertThat(budget.tryRetry(), Matchers.is(false));
+        budget.request();
+        MatcherAssert.assertThat(budget.tryRetry(), Matchers.is(false));
+        budget.request();
+        budget.request();
+        MatcherAssert.assertThat(budget.tryRetry(), Matchers.is(true));
+        MatcherAssert.assertThat(budget.tryRetry(), Matchers.is(false));
+    }
+
+    @Test
+    public void endpointRulesOverrideTheDefaultsTheyName() {
+        PolicyRules rules = PolicyRules.parse("GET /pet/{id}=read:500,hedge:100;*=read:3000,retries:1");
+
+        MatcherAssert.assertThat(rules.forEndpoint("GET /pet/{id}").toString(), Matchers.is("connect:2000,read:500,retries:1,backoff:50,hedge:100,breaker:5,open:1000"));
+        MatcherAssert.assertThat(rules.forEndpoint("PUT /pet").toString(), Matchers.is("connect:2000,read:3000,retries:1,backoff:50,hedge:0,breaker:5,open:1000"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownSettings() {
+        PolicyRules.parse("*=deadline:100");
+    }
+
+    private static ClientPolicy policy(String rules, int reserve) {
+        return new ClientPolicy(true, PolicyRules.parse(rules), new RetryBudget(0, reserve));
+    }
+
+    private RequestSpecification spec(ClientPolicy policy) {
+        return builder().addFilter(pool.releaseConnections()).addFilter(policy).build();
+    }
+
+    private RequestSpecification spec(RequestTimer timer, ClientPolicy policy) {
+        return builder().addFilter(timer).addFilter(pool.releaseConnections()).addFilter(policy).build();
+    }
+
+    private RequestSpecBuilder builder() {
+        return new RequestSpecBuilder()
+                .setBaseUri("http://localhost:" + server.getAddress().getPort())
+                .setBasePath("/api/v3")
+                .setConfig(pool.restAssuredConfig());
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.replay;
+
+import org.example.client.PetstoreClient;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ReplayServerTest {
+
+    private static final String PET = "{\"id\":7001,\"name\":\"Rex\",\"photoUrls\":[],\"status\":\"sold\"}";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * A recorded run is answered identically with the Petstore gone, repeated requests in the order they were recorded.
+     */
+    @Test
+    public void replaysARecordedRunWithoutTheBackend() throws IOException {
+        Path file = folder.newFile("traffic.log").toPath();
+        List<String> recorded = new ArrayList<>();
+        try (PetstoreServer server = PetstoreServer.start();
+             RecordingProxy proxy = RecordingProxy.start(server.baseUri(), HttpClient.newHttpClient(), TrafficLog.create(file))) {
+            recorded.addAll(run(new PetstoreClient(proxy.baseUri())));
+            MatcherAssert.assertThat(proxy.log().records(), Matchers.is(5L));
+        }
+
+        try (ReplayServer replay = ReplayServer.start(file, 0)) {
+            List<String> replayed = run(new PetstoreClient(replay.baseUri()));
+
+            MatcherAssert.assertThat(replayed, Matchers.is(recorded));
+            MatcherAssert.assertThat(replayed.get(1), Matchers.startsWith("200 "));
+            MatcherAssert.assertThat(replayed.get(4), Matchers.startsWith("404 "));
+            MatcherAssert.assertThat(replay.hits(), Matchers.is(5L));
+            MatcherAssert.assertThat(replay.fingerprints(), Matchers.is(4));
+            MatcherAssert.assertThat(new PetstoreClient(replay.baseUri()).get("/pet/7002").statusCode(), Matchers.is(501));
+            MatcherAssert.assertThat(replay.misses(), Matchers.is(1L));
+        }
+    }
+
+    @Test
+    public void readsRecordsSpanningManyRegions() throws IOException {
+        Path file = folder.newFile("regions.log").toPath();
+        try (TrafficLog log = TrafficLog.create(file, 256)) {
+            for (int i = 0; i < 1000; i++) {
+                byte[] body = new byte[i % 3 == 0 ? 600 : 40];
+                body[0] = (byte) i;
+                log.append(new RecordedExchange(i, i, i * 1000L, "GET", "/api/v3/pet/" + i, 200, Map.of("Content-Type", "application/json"), body));
+            }
+        }
+        List<RecordedExchange> read = new ArrayList<>();
+
+        long records = TrafficLog.read(file, read::add);
+
+        MatcherAssert.assertThat(records, Matchers.is(1000L));
+        MatcherAssert.assertThat(read.get(999).target(), Matchers.is("/api/v3/pet/999"));
+        MatcherAssert.assertThat(read.get(999).body()[0], Matchers.is((byte) 999));
+        MatcherAssert.assertThat(read.get(999).headers().get("Content-Type"), Matchers.is("application/json"));
+        MatcherAssert.assertThat(read.get(300).body().length, Matchers.is(600));
+    }
+
+    /**
+     * Responses are held back for their recorded latency divided by the speed.
+     */
+    @Test
+    public void scalesTheRecordedLatency() throws IOException {
+        Path file = folder.newFile("slow.log").toPath();
+        String target = PetstoreServer.BASE_PATH + "/store/inventory";
+        try (TrafficLog log = TrafficLog.create(file)) {
+            log.append(new RecordedExchange(Fingerprint.of("GET", target, null, null), 0, 400_000_000L, "GET", target, 200, Map.of(), "{}".getBytes()));
+        }
+
+        try (ReplayServer replay = ReplayServer.start(file, 2)) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = new PetstoreClient(replay.baseUri()).get("/store/inventory");
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            MatcherAssert.assertThat(response.body(), Matchers.is("{}"));
+            MatcherAssert.assertThat(millis, Matchers.greaterThanOrEqualTo(190L));
+        }
+    }
+
+    private static List<String> run(PetstoreClient client) {
+        List<String> responses = new ArrayList<>();
+        for (HttpResponse<String> response : List.of(
+                client.post("/pet", PET),
+                client.get("/pet/7001"),
+                client.get("/store/inventory"),
+                client.delete("/pet/7001"),
+                client.get("/pet/7001"))) {
+            responses.add(response.statusCode() + " " + response.body());
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.scenario;
+
+import org.example.client.PetstoreClient;
+import org.example.load.Scenarios;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ScenarioEngineTest {
+
+    @Test
+    public void runsEveryLifecycleConcurrentlyWithoutFailures() throws InterruptedException {
+        try (PetstoreServer server = PetstoreServer.start();
+             ScenarioEngine engine = new ScenarioEngine(new PetstoreClient(server.baseUri()), 4)) {
+            AtomicLong ids = new AtomicLong(1_000);
+            for (Scenario workflow : Workflows.byName().values()) {
+                ScenarioResult result = engine.run(workflow, 20, ids::incrementAndGet);
+
+                result.assertAllPassed();
+                MatcherAssert.assertThat(result.instances(), Matchers.is(20));
+            }
+            MatcherAssert.assertThat(server.data().pets().containsKey(1_001L), Matchers.is(false));
+        }
+    }
+
+    /**
+     * The failed step is named, later steps never run, and the value stored by the first step reaches the second.
+     */
+    @Test
+    public void reportsTheStepThatFailed() throws InterruptedException {
+        AtomicInteger laterSteps = new AtomicInteger();
+        Scenario scenario = Scenario.named("broken")
+                .step("store", context -> context.put("id", context.id()))
+                .step("check", context -> {
+                    if (context.<Long>get("id") % 2 == 0) {
+                        throw new AssertionError("even");
+                    }
+                })
+                .step("after", context -> laterSteps.incrementAndGet())
+                .build();
+        try (ScenarioEngine engine = new ScenarioEngine(null, 2)) {
+            AtomicLong ids = new AtomicLong();
+            ScenarioResult result = engine.run(scenario, 10, ids::incrementAndGet);
+
+            MatcherAssert.assertThat(result.failures(), Matchers.hasSize(5));
+            MatcherAssert.assertThat(result.failuresByStep().get("check"), Matchers.is(5));
+            MatcherAssert.assertThat(result.failuresByStep().get("store"), Matchers.is(0));
+            MatcherAssert.assertThat(result.failures().get(0).getMessage(), Matchers.is("broken #2 failed at 'check': even"));
+            MatcherAssert.assertThat(laterSteps.get(), Matchers.is(5));
+        }
+    }
+
+    @Test
+    public void runsNoMoreInstancesAtOnceThanItsParallelism() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Scenario scenario = Scenario.named("slow")
+                .step("sleep", context -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                })
+                .build();
+        try (ScenarioEngine engine = new ScenarioEngine(null, 3)) {
+            engine.run(scenario, 30, () -> 1).assertAllPassed();
+        }
+
+        MatcherAssert.assertThat(maxRunning.get(), Matchers.lessThanOrEqualTo(3));
+    }
+
+    /**
+     * A workflow in a load mix runs all its steps per arrival, and fails at its first step once the server is gone.
+     */
+    @Test
+    public void isALoadWorkload() {
+        PetstoreClient client;
+        try (PetstoreServer server = PetstoreServer.start()) {
+            client = new PetstoreClient(server.baseUri());
+
+            Scenarios.byName().get("order-lifecycle").execute(client, 5_000);
+
+            MatcherAssert.assertThat(server.data().orders().containsKey(5_000L), Matchers.is(false));
+        }
+        ScenarioFailure failure = null;
+        try {
+            Scenarios.byName().get("pet-lifecycle").execute(client, 5_001);
+        } catch (ScenarioFailure e) {
+            failure = e;
+        }
+        MatcherAssert.assertThat(failure, Matchers.notNullValue());
+        MatcherAssert.assertThat(failure.step(), Matchers.is("add pet"));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.seed;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.client.PetstoreClient;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SeederTest {
+
+    @Test
+    public void seedsUsersInBatchesAndPetsAndOrdersOneByOne() {
+        try (PetstoreServer server = PetstoreServer.start()) {
+            Seeder seeder = new Seeder(new PetstoreClient(server.baseUri()), 25, 4, 3, 10, 1);
+
+            SeedReport users = seeder.users(5_000_000_000L, 110);
+            SeedReport pets = seeder.pets(5_000_000_000L, 40);
+            SeedReport orders = seeder.orders(5_000_000_000L, 30, 5_000_000_000L, 40);
+
+            MatcherAssert.assertThat(users.seeded(), Matchers.is(110L));
+            MatcherAssert.assertThat(users.requests(), Matchers.is(5L));
+            MatcherAssert.assertThat(users.singlePosts(), Matchers.is(false));
+            MatcherAssert.assertThat(pets.seeded(), Matchers.is(40L));
+            MatcherAssert.assertThat(pets.singlePosts(), Matchers.is(true));
+            MatcherAssert.assertThat(orders.seeded(), Matchers.is(30L));
+            MatcherAssert.assertThat(server.data().users().containsKey("user5000000109"), Matchers.is(true));
+            MatcherAssert.assertThat(server.data().pets().containsKey(5_000_000_039L), Matchers.is(true));
+            MatcherAssert.assertThat(server.data().orders().get(5_000_000_029L).get("petId"), Matchers.is(5_000_000_029L));
+        }
+    }
+
+    /**
+     * Against an API without /user/createWithList whose first answers are 503s, users fall back to single posts
+     * and the failed requests are retried.
+     */
+    @Test
+    public void fallsBackToSinglePostsAndRetriesFailures() throws IOException {
+        AtomicInteger unavailable = new AtomicInteger(3);
+        Map<String, Integer> hits = new ConcurrentHashMap<>();
+        HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            hits.merge(path, 1, Integer::sum);
+            int status = path.endsWith("/createWithList") ? 404 : unavailable.getAndDecrement() > 0 ? 503 : 200;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        stub.start();
+        try {
+            Seeder seeder = new Seeder(new PetstoreClient("http://127.0.0.1:" + stub.getAddress().getPort() + "/"), 10, 2, 3, 1, 1);
+
+            SeedReport users = seeder.users(1, 20);
+
+            MatcherAssert.assertThat(users.singlePosts(), Matchers.is(true));
+            MatcherAssert.assertThat(users.seeded(), Matchers.is(20L));
+            MatcherAssert.assertThat(users.failed(), Matchers.is(0L));
+            MatcherAssert.assertThat(users.retries(), Matchers.is(3L));
+            MatcherAssert.assertThat(hits.get("/api/v3/user/createWithList"), Matchers.is(1));
+            MatcherAssert.assertThat(hits.get("/api/v3/user"), Matchers.is(23));
+        } finally {
+            stub.stop(0);
+        }
+    }
+}
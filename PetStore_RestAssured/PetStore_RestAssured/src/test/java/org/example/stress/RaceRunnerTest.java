@@ -0,0 +1,60 @@
+package org.example.stress;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.client.PetstoreClient;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RaceRunnerTest {
+
+    @Test
+    public void theInProcessServerKeepsEveryInvariant() throws InterruptedException {
+        try (PetstoreServer server = PetstoreServer.start();
+             RaceRunner runner = new RaceRunner(new PetstoreClient(server.baseUri()), 8, 3)) {
+            AtomicLong ids = new AtomicLong(5_000);
+            for (Race race : Races.byName().values()) {
+                runner.run(race, ids::incrementAndGet).assertHolds();
+            }
+
+            RaceReport creates = runner.run(Races.SAME_PET_ID, ids::incrementAndGet);
+            RaceReport deletes = runner.run(Races.USER_DELETES, ids::incrementAndGet);
+
+            MatcherAssert.assertThat(creates.statuses(), Matchers.is(Map.of("POST", Map.of(200, 24))));
+            MatcherAssert.assertThat(deletes.statuses(), Matchers.is(Map.of("DELETE", Map.of(200, 3, 404, 21))));
+            MatcherAssert.assertThat(server.data().orders().keySet(), Matchers.everyItem(Matchers.lessThan(10_000_000_000L)));
+        }
+    }
+
+    /**
+     * A backend that lets every delete of the same user succeed is caught by the status distribution.
+     */
+    @Test
+    public void reportsTheBrokenInvariantsOfEveryRound() throws IOException, InterruptedException {
+        HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.createContext("/", exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().readAllBytes();
+                exchange.sendResponseHeaders(exchange.getRequestMethod().equals("GET") ? 404 : 200, -1);
+            }
+        });
+        stub.start();
+        try (RaceRunner runner = new RaceRunner(new PetstoreClient("http://127.0.0.1:" + stub.getAddress().getPort() + "/"), 4, 2)) {
+            RaceReport report = runner.run(Races.USER_DELETES, new AtomicLong()::incrementAndGet);
+
+            MatcherAssert.assertThat(report.violations(), Matchers.contains(
+                    "round 1 (#1): 4 deletes of the same user succeeded",
+                    "round 2 (#2): 4 deletes of the same user succeeded"));
+            MatcherAssert.assertThat(report.statuses().get("DELETE").get(200), Matchers.is(8));
+        } finally {
+            stub.stop(0);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.timing;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+import org.HdrHistogram.Histogram;
+import org.example.client.ConnectionPool;
+import org.example.server.PetstoreServer;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class RequestTimerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mapsPathsToEndpointTemplates() {
+        MatcherAssert.assertThat(EndpointTemplates.of("GET", "/pet/101"), Matchers.is("GET /pet/{id}"));
+        MatcherAssert.assertThat(EndpointTemplates.of("POST", "/pet/101/uploadImage"), Matchers.is("POST /pet/{id}/uploadImage"));
+        MatcherAssert.assertThat(EndpointTemplates.of("GET", "/pet/findByStatus?status=sold"), Matchers.is("GET /pet/findByStatus"));
+        MatcherAssert.assertThat(EndpointTemplates.of("DELETE", "/store/order/7"), Matchers.is("DELETE /store/order/{id}"));
+        MatcherAssert.assertThat(EndpointTemplates.of("PUT", "/user/theUser"), Matchers.is("PUT /user/{username}"));
+        MatcherAssert.assertThat(EndpointTemplates.of("GET", "/user/login"), Matchers.is("GET /user/login"));
+    }
+
+    /**
+     * One connection is opened for two kept-alive requests, so only the first records DNS and connect.
+     */
+    @Test
+    public void recordsPhasesPerEndpointAndRoundTripsThroughJson() throws IOException {
+        RequestTimer timer = new RequestTimer();
+        try (ConnectionPool pool = new ConnectionPool(4, 8, 30, 10, false)) {
+            RequestSpecification spec = new RequestSpecBuilder()
+                    .setBaseUri(PetstoreServer.resolveBaseUri())
+                    .setBasePath(PetstoreServer.BASE_PATH)
+                    .setConfig(pool.restAssuredConfig())
+                    .addFilter(timer)
+                    .addFilter(pool.releaseConnections())
+                    .build();
+            RestAssured.given(spec).get("/store/inventory").then().statusCode(200);
+            RestAssured.given(spec).get("/store/inventory").then().statusCode(200);
+        }
+
+        LatencyReport report = timer.report();
+        MatcherAssert.assertThat(report.endpoints(), Matchers.contains("GET /store/inventory"));
+        MatcherAssert.assertThat(report.histogram("GET /store/inventory", LatencyReport.TOTAL).getTotalCount(), Matchers.is(2L));
+        MatcherAssert.assertThat(report.histogram("GET /store/inventory", LatencyReport.TTFB).getTotalCount(), Matchers.is(2L));
+        MatcherAssert.assertThat(report.histogram("GET /store/inventory", LatencyReport.CONNECT).getTotalCount(), Matchers.is(1L));
+
+        Path dir = folder.getRoot().toPath();
+        timer.write(dir, RequestTimer.reportName("run2", 1));
+        timer.write(dir, RequestTimer.reportName("run2", 2));
+        timer.write(dir, RequestTimer.reportName("run1", 3));
+        LatencyReport merged = LatencyCheck.merge(dir, "run2");
+        MatcherAssert.assertThat(merged.histogram("GET /store/inventory", LatencyReport.TOTAL).getTotalCount(), Matchers.is(4L));
+        MatcherAssert.assertThat(Files.readAllLines(dir.resolve("latency-run2-1.csv")).get(0), Matchers.startsWith("endpoint,phase,count,p50_ms"));
+    }
+
+    @Test
+    public void reportsEveryExceededLimit() {
+        LatencyReport report = new LatencyReport();
+        Histogram slow = new Histogram(3);
+        slow.recordValue(300_000_000L);
+        report.add("GET /pet/{id}", LatencyReport.TOTAL, slow);
+        report.add("GET /store/inventory", LatencyReport.TOTAL, slow);
+
+        MatcherAssert.assertThat(LatencyBudget.parse("").violations(report), Matchers.empty());
+        MatcherAssert.assertThat(LatencyBudget.parse("GET /pet/{id}=p99:500;*=p50:100").violations(report),
+                Matchers.contains(Matchers.startsWith("GET /store/inventory: p50 is 300.")));
+        MatcherAssert.assertThat(LatencyBudget.parse("*=p99:250,ttfb.p95:1").violations(report), Matchers.hasSize(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownPhases() {
+        LatencyBudget.parse("*=queue.p99:100");
+    }
+}
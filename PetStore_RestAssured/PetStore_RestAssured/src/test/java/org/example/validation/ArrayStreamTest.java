@@ -0,0 +1,101 @@
+package org.example.validation;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+public class ArrayStreamTest {
+
+    private static final ResponsePlan AVAILABLE = ResponsePlan.builder()
+            .body("id", Matchers.notNullValue())
+            .body("status", Matchers.is("available"))
+            .build();
+
+    /**
+     * Half a million pets are produced on the fly and checked without ever being in memory together.
+     */
+    @Test
+    public void checksHugeArraysOneElementAtATime() throws IOException {
+        ArrayReport report = ArrayStream.check(new PetArray(500_000), AVAILABLE);
+
+        MatcherAssert.assertThat(report.elements(), Matchers.is(500_000L));
+        MatcherAssert.assertThat(report.failed(), Matchers.is(500L));
+        MatcherAssert.assertThat(report.mismatches(), Matchers.hasSize(ArrayStream.KEPT_MISMATCHES));
+        MatcherAssert.assertThat(report.mismatches().get(0), Matchers.startsWith("[999] JSON path status doesn't match."));
+        MatcherAssert.assertThat(report.largestElement(), Matchers.lessThan(200));
+        MatcherAssert.assertThat(report.bytes(), Matchers.greaterThan(30_000_000L));
+    }
+
+    @Test
+    public void splitsOnlyOnTopLevelCommas() throws IOException {
+        String body = " [ {\"id\":1,\"status\":\"available\",\"name\":\"a, [b] \\\"}\"} ,\n{\"id\":2,\"tags\":[{\"name\":\"x\"}],\"status\":\"available\"}]\n";
+        ArrayReport report = ArrayStream.check(stream(body), AVAILABLE);
+
+        report.assertAllPassed();
+        MatcherAssert.assertThat(report.elements(), Matchers.is(2L));
+        CRC32C crc = new CRC32C();
+        crc.update(body.getBytes(StandardCharsets.UTF_8));
+        MatcherAssert.assertThat(report.checksum(), Matchers.is(crc.getValue()));
+
+        MatcherAssert.assertThat(ArrayStream.check(stream("[]"), AVAILABLE).elements(), Matchers.is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBodiesThatAreNotArrays() throws IOException {
+        ArrayStream.check(stream("{\"code\":400}"), AVAILABLE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedArrays() throws IOException {
+        ArrayStream.check(stream("[{\"id\":1,\"status\":\"available\"},"), AVAILABLE);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A findByStatus body of {@code count} pets, generated as it is read; every 1000th pet is sold.
+     */
+    private static final class PetArray extends InputStream {
+        private final int count;
+        private int next;
+        private byte[] pending = "[".getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        PetArray(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (position == pending.length) {
+                if (next > count) {
+                    return -1;
+                }
+                String status = next % 1000 == 999 ? "sold" : "available";
+                pending = (next == count ? "]" : (next == 0 ? "" : ",")
+                        + "{\"id\":" + next + ",\"name\":\"pet" + next + "\",\"photoUrls\":[\"url\"],\"status\":\"" + status + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                next++;
+            }
+            int n = Math.min(length, pending.length - position);
+            System.arraycopy(pending, position, buffer, offset, n);
+            position += n;
+            return n;
+        }
+    }
+}
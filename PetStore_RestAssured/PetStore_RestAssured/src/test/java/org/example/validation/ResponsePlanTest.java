@@ -0,0 +1,120 @@
+package org.example.validation;
+
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class ResponsePlanTest {
+
+    private static final byte[] PET = ("{\"id\": 10, \"category\": {\"id\": 1, \"name\": \"Dog\"}, \"name\": \"Doggie\","
+            + " \"photoUrls\": [\"a\", \"b\"], \"tags\": [{\"id\": 1, \"name\": \"Red\"}, {\"id\": 2, \"name\": \"Blue\"}],"
+            + " \"extra\": {\"deep\": [[{\"x\": \"}]\\\"\"}]]}, \"big\": 12345678901, \"ratio\": 0.5, \"status\": \"available\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static final ResponsePlan PLAN = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .body("category.name", Matchers.is("Dog"))
+            .body("photoUrls[1]", Matchers.is("b"))
+            .body("tags[1].name", Matchers.is("Blue"))
+            .body("big", Matchers.is(12345678901L))
+            .body("ratio", Matchers.is(0.5f))
+            .body("status", Matchers.is("available"))
+            .build();
+
+    @Test
+    public void passesWhenEveryExpectationMatches() {
+        PLAN.check(200, PET, 10L);
+    }
+
+    @Test
+    public void reportsEveryMismatchTogether() {
+        List<String> mismatches = PLAN.mismatches(201, PET, 11);
+
+        MatcherAssert.assertThat(mismatches.size(), Matchers.is(2));
+        MatcherAssert.assertThat(mismatches.get(0), Matchers.is("Expected status code <200> but was <201>."));
+        MatcherAssert.assertThat(mismatches.get(1), CoreMatchers.containsString("JSON path id doesn't match."));
+    }
+
+    @Test
+    public void matchesMissingValuesAsNullAndWholeSubtrees() {
+        ResponsePlan plan = ResponsePlan.builder()
+                .body("category", Matchers.hasEntry("name", "Dog"))
+                .body("category.id", Matchers.is(1))
+                .body("tags", Matchers.hasSize(2))
+                .body("tags[5].name", Matchers.nullValue())
+                .body("missing.path", Matchers.nullValue())
+                .build();
+
+        MatcherAssert.assertThat(plan.mismatches(200, PET), Matchers.is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void readsArrayBodiesAndEscapedKeys() {
+        byte[] body = "[{\"st\\u0061tus\": \"sold\"}, {\"status\": \"pending\"}]".getBytes(StandardCharsets.UTF_8);
+        ResponsePlan plan = ResponsePlan.builder()
+                .body("[0].status", Matchers.is("sold"))
+                .body("[1].status", Matchers.is("pending"))
+                .body("", Matchers.hasSize(2))
+                .build();
+
+        MatcherAssert.assertThat(plan.mismatches(200, body), Matchers.is(Collections.<String>emptyList()));
+    }
+
+    @Test
+    public void reportsInvalidJson() {
+        List<String> mismatches = PLAN.mismatches(200, "{\"id\": 10,".getBytes(StandardCharsets.UTF_8), 10);
+
+        MatcherAssert.assertThat(mismatches, Matchers.hasItem(CoreMatchers.startsWith("Response body is not valid JSON")));
+    }
+
+    @Test
+    public void reportsEveryTruncationOfTheBodyAsInvalidJson() {
+        ResponsePlan plan = ResponsePlan.builder().body("extra.deep[0][0].x", Matchers.anything()).build();
+        for (int length = 0; length < PET.length; length++) {
+            MatcherAssert.assertThat(plan.mismatches(200, Arrays.copyOf(PET, length)),
+                    Matchers.contains(CoreMatchers.startsWith("Response body is not valid JSON")));
+        }
+        MatcherAssert.assertThat(plan.mismatches(200, "{\"extra\": {\"deep\": [[{\"x\": \"\\u00\"}]]}}".getBytes(StandardCharsets.UTF_8)),
+                Matchers.contains(CoreMatchers.startsWith("Response body is not valid JSON: Truncated unicode escape")));
+    }
+
+    /**
+     * Decimals are read back the way RestAssured's JSON path returns them: as floats unless a float cannot hold them.
+     */
+    @Test
+    public void readsDecimalsAsFloatsUnlessTheyNeedADouble() {
+        byte[] body = "{\"ratio\": 0.1, \"huge\": 1e300}".getBytes(StandardCharsets.UTF_8);
+        ResponsePlan plan = ResponsePlan.builder()
+                .body("ratio", Matchers.is(0.1f))
+                .body("huge", Matchers.is(1e300))
+                .bodyEqualTo("ratio")
+                .build();
+
+        MatcherAssert.assertThat(plan.mismatches(200, body, 0.1), Matchers.empty());
+        MatcherAssert.assertThat(plan.mismatches(200, body, 0.2), Matchers.hasSize(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTheWrongNumberOfExpectedValues() {
+        PLAN.mismatches(200, PET);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMalformedPaths() {
+        ResponsePlan.builder().body("tags[x].name", Matchers.anything()).build();
+    }
+
+    @Test
+    public void findsValuesInNestedArraysPastEscapedQuotes() {
+        ResponsePlan plan = ResponsePlan.builder().bodyEqualTo("tags[0].name").bodyEqualTo("extra.deep[0][0].x").build();
+
+        MatcherAssert.assertThat(plan.mismatches(200, PET, Arrays.asList("Red", "}]\"").toArray()), Matchers.empty());
+    }
+}
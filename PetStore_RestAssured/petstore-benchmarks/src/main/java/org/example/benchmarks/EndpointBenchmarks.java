@@ -0,0 +1,229 @@
+package org.example.benchmarks;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.example.client.ConnectionPool;
+import org.example.model.Order;
+import org.example.model.Pet;
+import org.example.model.User;
+import org.example.server.PetstoreServer;
+import org.example.validation.ResponsePlan;
+import org.hamcrest.Matchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Client-side latency and throughput of every operation the Pet, Store and User suites exercise.
+ * Each benchmark sends the same request and runs the same status and body checks as its suite counterpart,
+ * so the numbers include RestAssured's serialization, connection handling and validation costs. Every check goes
+ * through a {@link ResponsePlan}, so the validation cost is of the same kind for all endpoints.
+ *
+ * <p>The requests go to the in-process Petstore server unless {@code -Dpetstore.baseUri=...} points elsewhere.
+ * Build with {@code mvn package} and run {@code java -jar target/benchmarks.jar}.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndpointBenchmarks {
+
+    private static final int SEEDED_PET_ID = 900_000_001;
+
+    private static final ResponsePlan ADDED_PET = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .body("category.name", Matchers.is("Dog"))
+            .body("name", Matchers.is("Doggie"))
+            .body("photoUrls[0]", Matchers.is("www.testurl.com"))
+            .body("tags[0].name", Matchers.is("Red"))
+            .body("status", Matchers.is("available"))
+            .build();
+
+    private static final ResponsePlan SEEDED_PET = ResponsePlan.builder()
+            .statusCode(200)
+            .body("id", Matchers.is(SEEDED_PET_ID))
+            .body("category.name", Matchers.is("Dog"))
+            .body("name", Matchers.is("Doggie"))
+            .body("status", Matchers.is("available"))
+            .build();
+
+    private static final ResponsePlan UPDATED_PET = ResponsePlan.builder()
+            .statusCode(200)
+            .body("id", Matchers.is(SEEDED_PET_ID))
+            .body("name", Matchers.is("Doggie"))
+            .build();
+
+    private static final ResponsePlan INVENTORY = ResponsePlan.builder()
+            .statusCode(200)
+            .body("placed", Matchers.notNullValue())
+            .body("delivered", Matchers.notNullValue())
+            .build();
+
+    private static final ResponsePlan OK = ResponsePlan.builder().statusCode(200).build();
+
+    private static final ResponsePlan PLACED_ORDER = ResponsePlan.builder()
+            .statusCode(200)
+            .bodyEqualTo("id")
+            .body("quantity", Matchers.is(1))
+            .body("status", Matchers.is("placed"))
+            .body("complete", Matchers.is(true))
+            .build();
+
+    @State(Scope.Benchmark)
+    public static class Petstore {
+        /**
+         * "pooled" sends requests through the shared keep-alive {@link ConnectionPool}, "per-request" uses
+         * RestAssured's default of a new client and connection per request.
+         */
+        @Param({"pooled", "per-request"})
+        public String connections;
+
+        RequestSpecification spec;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            RequestSpecBuilder builder = new RequestSpecBuilder()
+                    .setBaseUri(PetstoreServer.resolveBaseUri())
+                    .setBasePath(PetstoreServer.BASE_PATH)
+                    .setContentType("application/json");
+            if (connections.equals("pooled")) {
+                builder.setConfig(ConnectionPool.shared().restAssuredConfig())
+                        .addFilter(ConnectionPool.shared().releaseConnections());
+            }
+            spec = builder.build();
+            RestAssured.given(spec).body(petBody(SEEDED_PET_ID, "Doggie")).post("/pet").then().statusCode(200);
+        }
+    }
+
+    /**
+     * Gives each benchmark thread its own range of IDs, so concurrent runs never write the same entity.
+     */
+    @State(Scope.Thread)
+    public static class Ids {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            next = 800_000_000 + THREADS.incrementAndGet() * 1_000_000;
+        }
+
+        int next() {
+            return next++;
+        }
+    }
+
+    static String petBody(int id, String name) {
+        return Pet.builder()
+                .id(id)
+                .category(1, "Dog")
+                .name(name)
+                .photoUrl("www.testurl.com")
+                .tag(1, "Red")
+                .status("available")
+                .build()
+                .toJson();
+    }
+
+    @Benchmark
+    public Response addPet(Petstore petstore, Ids ids) {
+        int id = ids.next();
+        Response response = RestAssured.given(petstore.spec)
+                .body(petBody(id, "Doggie"))
+                .when()
+                .post("/pet");
+        ADDED_PET.check(response, id);
+        return response;
+    }
+
+    @Benchmark
+    public Response getPetById(Petstore petstore) {
+        Response response = RestAssured.given(petstore.spec)
+                .when()
+                .get("/pet/" + SEEDED_PET_ID);
+        SEEDED_PET.check(response);
+        return response;
+    }
+
+    @Benchmark
+    public Response updatePet(Petstore petstore) {
+        Response response = RestAssured.given(petstore.spec)
+                .body(petBody(SEEDED_PET_ID, "Doggie"))
+                .when()
+                .put("/pet");
+        UPDATED_PET.check(response);
+        return response;
+    }
+
+    @Benchmark
+    public Response findPetsByStatus(Petstore petstore) {
+        Response response = RestAssured.given(petstore.spec)
+                .queryParam("status", "pending")
+                .when()
+                .get("/pet/findByStatus");
+        OK.check(response);
+        return response;
+    }
+
+    @Benchmark
+    public Response placeOrder(Petstore petstore, Ids ids) {
+        int id = ids.next();
+        String body = Order.builder()
+                .id(id)
+                .petId(0)
+                .quantity(1)
+                .shipDate("2021-07-01T12:00:00.000Z")
+                .status("placed")
+                .complete(true)
+                .build()
+                .toJson();
+        Response response = RestAssured.given(petstore.spec)
+                .body(body)
+                .when()
+                .post("/store/order");
+        PLACED_ORDER.check(response, id);
+        return response;
+    }
+
+    @Benchmark
+    public Response getInventory(Petstore petstore) {
+        Response response = RestAssured.given(petstore.spec)
+                .when()
+                .get("/store/inventory");
+        INVENTORY.check(response);
+        return response;
+    }
+
+    @Benchmark
+    public Response createUsersWithList(Petstore petstore, Ids ids) {
+        int first = ids.next();
+        int second = ids.next();
+        String body = User.toJson(Arrays.asList(
+                User.builder().id(first).username("bench" + first).build(),
+                User.builder().id(second).username("bench" + second).build()));
+        Response response = RestAssured.given(petstore.spec)
+                .body(body)
+                .when()
+                .post("/user/createWithList");
+        OK.check(response);
+        return response;
+    }
+}